@@ -0,0 +1,76 @@
+package com.microservices.tool_app.jmh;
+
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.entity.Tool;
+import com.microservices.tool_app.entity.User;
+import com.microservices.tool_app.mapper.ToolMapper;
+import com.microservices.tool_app.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversions in {@link ToolMapper} and {@link UserMapper}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Tool tool;
+    private ToolDto toolDto;
+    private User user;
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setUserId(1L);
+        user.setName("Alice Johnson");
+        user.setEmail("alice@example.com");
+        user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+
+        tool = new Tool();
+        tool.setToolId(1L);
+        tool.setToolName("Hammer");
+        tool.setToolType("Hand Tool");
+        tool.setUser(user);
+
+        toolDto = ToolMapper.mapToToolsDto(tool);
+        userDto = UserMapper.mapToUsersDto(user);
+    }
+
+    @Benchmark
+    public ToolDto toolToDto() {
+        return ToolMapper.mapToToolsDto(tool);
+    }
+
+    @Benchmark
+    public Tool dtoToTool() {
+        return ToolMapper.mapToTools(toolDto, new Tool(), user);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return UserMapper.mapToUsersDto(user);
+    }
+
+    @Benchmark
+    public User dtoToUser() {
+        return UserMapper.mapToUsers(userDto, new User());
+    }
+}
@@ -0,0 +1,71 @@
+package com.microservices.tool_app.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.PaginatedResponseDto;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization of the response DTOs, using the same builder defaults Spring MVC applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ToolDto toolDto;
+    private UserDto userDto;
+    private PaginatedResponseDto<ToolDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        toolDto = new ToolDto(1L, "Hammer", "Hand Tool", 1L);
+        userDto = new UserDto(1L, "Alice Johnson", "alice@example.com", LocalDate.of(1990, 1, 1));
+
+        List<ToolDto> content = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new ToolDto(id, "Tool " + id, "Hand Tool", 1L))
+                .toList();
+        page = new PaginatedResponseDto<>(content, 0, pageSize, 100_000, 100_000 / pageSize, false);
+    }
+
+    @Benchmark
+    public byte[] toolDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toolDto);
+    }
+
+    @Benchmark
+    public byte[] userDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userDto);
+    }
+
+    @Benchmark
+    public byte[] paginatedTools() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
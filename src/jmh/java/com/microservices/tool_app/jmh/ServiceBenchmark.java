@@ -0,0 +1,124 @@
+package com.microservices.tool_app.jmh;
+
+import com.microservices.tool_app.ToolAppApplication;
+import com.microservices.tool_app.dto.CursorPaginatedResponseDto;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.service.IToolService;
+import com.microservices.tool_app.service.IUserService;
+import com.microservices.tool_app.service_impl.ToolCounts;
+import com.microservices.tool_app.service_impl.ToolIndexer;
+import com.microservices.tool_app.support.SeedData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IToolService} and {@link IUserService} against an in-memory H2 seeded with {@code rows}
+ * tools (ten per user) through {@link SeedData}. Caching is off so every call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private IToolService toolService;
+    private IUserService userService;
+    private int users;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(ToolAppApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line style so these win over any application.properties on the classpath
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.flyway.locations=classpath:db/migration",
+                        "--spring.cache.type=none",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=warn");
+        toolService = context.getBean(IToolService.class);
+        userService = context.getBean(IUserService.class);
+
+        users = Math.max(1, rows / 10);
+        SeedData.insert(context.getBean(JdbcTemplate.class), users, rows / users);
+        // The seed bypasses the services, so the in-memory indexes and counts pick it up here
+        context.getBean(ToolIndexer.class).catchUpNow();
+        context.getBean(ToolCounts.class).reconcile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomToolId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1L);
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1L);
+    }
+
+    @Benchmark
+    public ToolDto getToolById() {
+        return toolService.getToolById(randomToolId());
+    }
+
+    @Benchmark
+    public List<ToolDto> getToolsByUserId() {
+        return toolService.getToolsByUserId(randomUserId());
+    }
+
+    @Benchmark
+    public Page<ToolDto> getToolsOffsetMiddlePage() {
+        return toolService.getAllTools(rows / PAGE_SIZE / 2, PAGE_SIZE, "toolId");
+    }
+
+    @Benchmark
+    public CursorPaginatedResponseDto<ToolDto> getToolsCursorFirstPage() {
+        return toolService.getAllTools(null, PAGE_SIZE, "toolName", false);
+    }
+
+    @Benchmark
+    public UserDto getUserById() {
+        return userService.getUserById(randomUserId());
+    }
+
+    @Benchmark
+    public UserDto getUserByEmail() {
+        return userService.getUserByEmail("load" + randomUserId() + "@example.com");
+    }
+
+    @Benchmark
+    public Page<UserDto> getUsersFirstPage() {
+        return userService.getAllUsers(0, PAGE_SIZE, "userId");
+    }
+}
@@ -2,8 +2,10 @@ package com.microservices.tool_app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is wired by ReactiveDatabaseConfig; the auto-configured ConnectionFactory would replace the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class ToolAppApplication {
 
 	public static void main(String[] args) {
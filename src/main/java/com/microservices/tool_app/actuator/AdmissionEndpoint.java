@@ -0,0 +1,29 @@
+package com.microservices.tool_app.actuator;
+
+import com.microservices.tool_app.admission.AdmissionControlRegistry;
+import com.microservices.tool_app.dto.RouteAdmissionDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/admission} lists each route's current concurrency limit, requests in
+ * flight, and how many were admitted or rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "admission.enabled", matchIfMissing = true)
+@Endpoint(id = "admission")
+@RequiredArgsConstructor
+public class AdmissionEndpoint {
+
+    private final AdmissionControlRegistry registry;
+
+    @ReadOperation
+    public List<RouteAdmissionDto> routes() {
+        return registry.snapshot();
+    }
+}
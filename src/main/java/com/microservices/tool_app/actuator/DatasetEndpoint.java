@@ -0,0 +1,44 @@
+package com.microservices.tool_app.actuator;
+
+import com.microservices.tool_app.constants.DatasetConstants;
+import com.microservices.tool_app.dto.DatasetRequestDto;
+import com.microservices.tool_app.dto.DatasetStatusDto;
+import com.microservices.tool_app.service.IDatasetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code POST /actuator/dataset} starts a background load of synthetic users and tools;
+ * {@code GET /actuator/dataset} reports its progress.
+ */
+@Component
+@Endpoint(id = "dataset")
+@RequiredArgsConstructor
+public class DatasetEndpoint {
+
+    private final IDatasetService datasetService;
+
+    @ReadOperation
+    public DatasetStatusDto status() {
+        return datasetService.getStatus();
+    }
+
+    @WriteOperation
+    public DatasetStatusDto generate(long users, long tools, @Nullable Double zipfExponent, @Nullable Long seed) {
+        DatasetRequestDto request = new DatasetRequestDto(users, tools,
+                zipfExponent != null ? zipfExponent : DatasetConstants.DEFAULT_ZIPF_EXPONENT, seed);
+        try {
+            return datasetService.startGeneration(request);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        } catch (IllegalStateException e) {
+            // Already running: report the job in progress rather than failing
+            return datasetService.getStatus();
+        }
+    }
+}
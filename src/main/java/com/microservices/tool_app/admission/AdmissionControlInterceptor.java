@@ -0,0 +1,73 @@
+package com.microservices.tool_app.admission;
+
+import com.microservices.tool_app.exceptions.ServiceOverloadedException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Admits a request only while its route is under its concurrency limit, and otherwise fails
+ * it fast with {@link ServiceOverloadedException}. The slot is held until the response
+ * completes, including the async part of streaming and reactive responses.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionControlInterceptor.class.getName() + ".admitted";
+    private static final String STARTED_AT = AdmissionControlInterceptor.class.getName() + ".startedAt";
+
+    private final AdmissionControlRegistry registry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Admitted on the initial dispatch; the slot is still held
+            return true;
+        }
+
+        String route = route(request, handler);
+        GradientConcurrencyLimiter limiter = registry.limiterFor(route);
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many concurrent requests for " + route,
+                    registry.getRetryAfterSeconds());
+        }
+
+        request.setAttribute(ADMITTED, limiter);
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Method and mapping pattern, plus any {@code params} condition so that mappings sharing a
+     * path (e.g. {@code GET /api/tools} and {@code GET /api/tools?ids}) are limited separately.
+     */
+    private String route(HttpServletRequest request, Object handler) {
+        String route = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(),
+                    RequestMapping.class);
+            if (mapping != null && mapping.params().length > 0) {
+                route += "?" + String.join("&", mapping.params());
+            }
+        }
+        return route;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(ADMITTED) instanceof GradientConcurrencyLimiter limiter)) {
+            return;
+        }
+        request.removeAttribute(ADMITTED);
+
+        long rtt = System.nanoTime() - (long) request.getAttribute(STARTED_AT);
+        limiter.release(rtt, ex == null && response.getStatus() < 500);
+    }
+}
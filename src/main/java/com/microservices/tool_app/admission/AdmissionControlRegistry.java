@@ -0,0 +1,48 @@
+package com.microservices.tool_app.admission;
+
+import com.microservices.tool_app.dto.RouteAdmissionDto;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link GradientConcurrencyLimiter} per route, created on first use, so an expensive
+ * endpoint backing up only lowers its own limit. Routes are keyed by method and mapping
+ * pattern, e.g. {@code GET /api/tools/{id}}.
+ */
+public class AdmissionControlRegistry {
+
+    private final ConcurrentHashMap<String, GradientConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlRegistry(int initialLimit, int minLimit, int maxLimit, long retryAfterSeconds) {
+        // Fail at startup on bad settings rather than on the first request
+        GradientConcurrencyLimiter.validate(initialLimit, minLimit, maxLimit);
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public GradientConcurrencyLimiter limiterFor(String route) {
+        return limiters.computeIfAbsent(route,
+                key -> new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit));
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public List<RouteAdmissionDto> snapshot() {
+        return limiters.entrySet().stream()
+                .map(entry -> new RouteAdmissionDto(entry.getKey(), entry.getValue().getLimit(),
+                        entry.getValue().getInflight(), entry.getValue().getAccepted(),
+                        entry.getValue().getRejected()))
+                .sorted(Comparator.comparing(RouteAdmissionDto::getRoute))
+                .toList();
+    }
+}
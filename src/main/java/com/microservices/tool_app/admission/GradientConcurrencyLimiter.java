@@ -0,0 +1,109 @@
+package com.microservices.tool_app.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency, after the gradient algorithm in Netflix's
+ * concurrency-limits. A slow-moving average of response times is the no-load baseline; while
+ * each new sample stays within {@link #TOLERANCE} of it the limit grows by about its square
+ * root, and once samples exceed it the limit shrinks in proportion, down to half per update.
+ * Samples taken while less than half the limit is in use say nothing about capacity and only
+ * feed the baseline.
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int BASELINE_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+
+    // Guarded by this
+    private double baselineRttNanos;
+    private int samples;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        validate(initialLimit, minLimit, maxLimit);
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    static void validate(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+    }
+
+    /**
+     * @return true if the caller may proceed and must later call {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos time the request held its slot
+     * @param sample   false for failed requests, whose latency says little about capacity
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inflightBeforeRelease = inflight.getAndDecrement();
+        if (sample && rttNanos > 0) {
+            update(rttNanos, inflightBeforeRelease);
+        }
+    }
+
+    private synchronized void update(long rttNanos, int inflightBeforeRelease) {
+        if (samples < BASELINE_WINDOW) {
+            samples++;
+        }
+        // Plain mean over the first samples, then an exponential average over the window
+        baselineRttNanos += (rttNanos - baselineRttNanos) / samples;
+        if (baselineRttNanos / rttNanos > 2) {
+            // Latency has fallen well below the baseline; let the baseline catch up quickly
+            baselineRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        if (inflightBeforeRelease < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineRttNanos / rttNanos));
+        double proposed = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - SMOOTHING) + proposed * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,42 @@
+package com.microservices.tool_app.config;
+
+import com.microservices.tool_app.admission.AdmissionControlInterceptor;
+import com.microservices.tool_app.admission.AdmissionControlRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Applies per-route adaptive concurrency limits to the API. Actuator and static resources are
+ * not limited. Tune with {@code admission.*}; set {@code admission.enabled=false} to turn off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    @Value("${admission.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${admission.min-limit:2}")
+    private int minLimit;
+
+    @Value("${admission.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${admission.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Bean
+    public AdmissionControlRegistry admissionControlRegistry() {
+        return new AdmissionControlRegistry(initialLimit, minLimit, maxLimit, retryAfterSeconds);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionControlInterceptor(admissionControlRegistry()))
+                .addPathPatterns("/api/**");
+    }
+}
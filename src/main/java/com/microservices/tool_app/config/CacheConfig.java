@@ -0,0 +1,34 @@
+package com.microservices.tool_app.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the read-through entity caches used by the service layer.
+ * Size, TTL and stats recording are configured through {@code spring.cache.*}.
+ * <p>
+ * The cache manager is made transaction-aware: puts and evicts issued inside a transaction
+ * wait for it to commit, so a rolled back write is never cached and an evicted row can't be
+ * cached again from a read that ran before the write committed.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public static BeanPostProcessor transactionAwareCachePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof CacheManager cacheManager) || bean instanceof TransactionAwareCacheManagerProxy) {
+                    return bean;
+                }
+                return new TransactionAwareCacheManagerProxy(cacheManager);
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.microservices.tool_app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Bounds database concurrency by permits rather than by request threads, which matters once
+ * {@code spring.threads.virtual.enabled=true} removes the Tomcat thread cap. Permits default to
+ * the Hikari pool size and the wait to the pool's connection timeout; override them with
+ * {@code db.bulkhead.max-concurrency} and {@code db.bulkhead.acquire-timeout}.
+ * <p>
+ * Off unless {@code db.bulkhead.enabled=true}; application.properties ties it to virtual threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                // Hikari leaves an unset pool size at -1 until the pool starts, then uses 10
+                int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+                int maxConcurrency = environment.getProperty("db.bulkhead.max-concurrency", Integer.class, poolSize);
+                Duration acquireTimeout = environment.getProperty("db.bulkhead.acquire-timeout", Duration.class,
+                        Duration.ofMillis(hikari.getConnectionTimeout()));
+                return new BulkheadDataSource(hikari, maxConcurrency, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BulkheadDataSource bulkhead) {
+                bulkhead.bindTo(registry);
+            }
+        };
+    }
+}
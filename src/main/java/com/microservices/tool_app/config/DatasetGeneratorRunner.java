@@ -0,0 +1,50 @@
+package com.microservices.tool_app.config;
+
+import com.microservices.tool_app.constants.DatasetConstants;
+import com.microservices.tool_app.dto.DatasetRequestDto;
+import com.microservices.tool_app.dto.DatasetStatusDto;
+import com.microservices.tool_app.service.IDatasetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point for the dataset generator, active only when {@code dataset.tools} is set:
+ * <pre>
+ * java -jar tool-app.jar --dataset.users=1000000 --dataset.tools=10000000 \
+ *      [--dataset.zipf-exponent=1.0] [--dataset.seed=42] [--spring.main.web-application-type=none]
+ * </pre>
+ * Without a web server the application exits once the load finishes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dataset.tools")
+@RequiredArgsConstructor
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private final IDatasetService datasetService;
+
+    @Value("${dataset.users:0}")
+    private long users;
+
+    @Value("${dataset.tools}")
+    private long tools;
+
+    @Value("${dataset.zipf-exponent:" + DatasetConstants.DEFAULT_ZIPF_EXPONENT + "}")
+    private double zipfExponent;
+
+    @Value("${dataset.seed:#{null}}")
+    private Long seed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Generating dataset: {} users, {} tools, zipf exponent {}", users, tools, zipfExponent);
+        DatasetStatusDto status = datasetService.generate(new DatasetRequestDto(users, tools, zipfExponent, seed));
+        log.info("Dataset generated: {} users, {} tools in {} ms",
+                status.getUsersInserted(), status.getToolsInserted(), status.getElapsedMillis());
+    }
+}
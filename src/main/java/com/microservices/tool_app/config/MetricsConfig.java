@@ -0,0 +1,20 @@
+package com.microservices.tool_app.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Backs {@code @Timed} on the service layer. Controllers and repositories are timed by
+ * Spring Boot ({@code http.server.requests}, {@code spring.data.repository.invocations});
+ * percentiles for all three are configured through {@code management.metrics.*}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
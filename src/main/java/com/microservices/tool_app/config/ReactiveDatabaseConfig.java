@@ -0,0 +1,54 @@
+package com.microservices.tool_app.config;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC access to the same in-memory H2 database the JDBC pool uses, for the reactive read path.
+ * The URL comes from the bound {@link DataSourceProperties} so both pools open one database even
+ * when the name is generated. The pool is deliberately not exposed as a {@code ConnectionFactory}
+ * bean; one would make the JDBC DataSource auto-configuration back off.
+ */
+@Configuration
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+    private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+
+    @Value("${reactive.pool.max-size:10}")
+    private int maxPoolSize;
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(DataSourceProperties dataSourceProperties) {
+        String jdbcUrl = dataSourceProperties.determineUrl();
+        if (jdbcUrl == null || !jdbcUrl.startsWith(JDBC_H2_PREFIX)) {
+            throw new IllegalStateException("The reactive read path supports H2 only, not " + jdbcUrl);
+        }
+
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+                .url(jdbcUrl.substring(JDBC_H2_PREFIX.length()))
+                .username(dataSourceProperties.determineUsername())
+                .password(dataSourceProperties.determinePassword())
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuration))
+                .maxSize(maxPoolSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -13,4 +13,15 @@ public final class BaseConstants {
 
     public static final String MESSAGE_200 = "Request processed successfully";
     public static final String MESSAGE_500 = "An internal error occurred. Please try again or contact the Dev team";
+
+    // Rows per JDBC fetch, and per persistence-context clear, when streaming exports
+    public static final int EXPORT_BATCH_SIZE = 500;
+
+    // Multi-get: ids accepted per request, and ids per IN query for cache misses
+    public static final int MULTI_GET_MAX_IDS = 1_000;
+    public static final int MULTI_GET_CHUNK_SIZE = 500;
+
+    // Delta sync: changes per response unless the client asks for fewer, and the most it may ask for
+    public static final int CHANGES_DEFAULT_LIMIT = 500;
+    public static final int CHANGES_MAX_LIMIT = 5_000;
 }
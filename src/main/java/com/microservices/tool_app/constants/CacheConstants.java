@@ -0,0 +1,10 @@
+package com.microservices.tool_app.constants;
+
+public final class CacheConstants {
+
+    private CacheConstants() {}
+
+    public static final String TOOLS = "tools";
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+}
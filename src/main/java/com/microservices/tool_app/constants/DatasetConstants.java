@@ -0,0 +1,25 @@
+package com.microservices.tool_app.constants;
+
+public final class DatasetConstants {
+
+    private DatasetConstants() {}
+
+    // Rows per JDBC batch and per transaction while generating
+    public static final int INSERT_BATCH_SIZE = 10_000;
+
+    // Concurrent insert workers; leaves most of the default 10-connection pool to the application
+    public static final int MAX_INSERT_WORKERS = 4;
+
+    public static final double DEFAULT_ZIPF_EXPONENT = 1.0;
+
+    // The owner sampler holds one double per user
+    public static final long MAX_USERS = 20_000_000;
+
+    // The database is in memory, and the tool indexes hold every tool
+    public static final long MAX_TOOLS = 100_000_000;
+
+    // Matches the allocationSize of the entity sequence generators
+    public static final int SEQUENCE_BLOCK_SIZE = 50;
+
+    public static final String EMAIL_DOMAIN = "@dataset.example";
+}
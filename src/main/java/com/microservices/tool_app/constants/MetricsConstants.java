@@ -0,0 +1,12 @@
+package com.microservices.tool_app.constants;
+
+public final class MetricsConstants {
+
+    private MetricsConstants() {}
+
+    public static final String SERVICE_INVOCATIONS = "service.invocations";
+    public static final String HANDLED_EXCEPTIONS = "api.exceptions.handled";
+    public static final String COALESCED_LOOKUPS = "service.lookups.coalesced";
+    public static final String DB_BULKHEAD_AVAILABLE = "db.bulkhead.available";
+    public static final String DB_BULKHEAD_WAITING = "db.bulkhead.waiting";
+}
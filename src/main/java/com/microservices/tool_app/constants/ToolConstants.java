@@ -21,4 +21,21 @@ public final class ToolConstants {
 
     public static final String MESSAGE_404 = "Tool does not exist.";
     public static final String MESSAGE_400 = "Invalid tool Id.";
+
+    public static final String MESSAGE_400_NAME = "Tool name cannot be null or empty";
+    public static final String MESSAGE_400_TYPE = "Tool type cannot be null or empty";
+    public static final String MESSAGE_400_USER = "User ID cannot be null";
+    public static final String MESSAGE_404_USER = "User does not exist.";
+
+    public static final int MAX_BATCH_SIZE = 50_000;
+
+    // Rows persisted between flush/clear cycles in a batch create
+    public static final int BATCH_FLUSH_SIZE = 1_000;
+
+    // Cursor pagination: the most rows a page may ask for
+    public static final int MAX_PAGE_SIZE = 1_000;
+
+    // Search: matches per response unless the client asks for fewer, and the most it may ask for
+    public static final int SEARCH_DEFAULT_LIMIT = 50;
+    public static final int SEARCH_MAX_LIMIT = 500;
 }
@@ -0,0 +1,51 @@
+package com.microservices.tool_app.controllers;
+
+import com.microservices.tool_app.exceptions.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags from row versions and table change sequences. The tag is read before
+ * the body, so a racing write can only make a tag older than its body, which costs
+ * the client one extra download and never hides a change.
+ */
+final class ETags {
+
+    private ETags() {}
+
+    static String of(Long value) {
+        return value == null ? null : "\"" + value + "\"";
+    }
+
+    // 304 without loading or serializing the body when If-None-Match matches the tag
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
+
+    /**
+     * The version an If-Match header requires, or null when the header is absent or "*".
+     * If-Match uses strong comparison, so weak or foreign tags can never match.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the rejection below
+            }
+        }
+        throw new PreconditionFailedException("If-Match must be * or an ETag returned by a GET");
+    }
+}
@@ -0,0 +1,34 @@
+package com.microservices.tool_app.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows pushed by a service as newline-delimited JSON, one row at a
+ * time, so an export never holds the full result set in memory.
+ */
+final class NdjsonStreams {
+
+    private NdjsonStreams() {}
+
+    static <T> StreamingResponseBody of(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return out -> {
+            try {
+                source.accept(row -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(row));
+                        out.write('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+    }
+}
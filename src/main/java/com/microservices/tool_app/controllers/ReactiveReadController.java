@@ -0,0 +1,49 @@
+package com.microservices.tool_app.controllers;
+
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.exceptions.ResourceNotFoundException;
+import com.microservices.tool_app.service.IReactiveReadService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterparts of the read endpoints in {@link ToolController} and
+ * {@link UserController}, served from R2DBC. Collections are written as a JSON array, or
+ * streamed one element per line under {@code Accept: application/x-ndjson}; when streaming,
+ * the next row is only requested once the previous one has been written to the client.
+ */
+@RestController
+@RequestMapping(path = "/api/reactive", produces = MediaType.APPLICATION_JSON_VALUE)
+@AllArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReactiveReadController {
+
+    private final IReactiveReadService readService;
+
+    @GetMapping(path = "/tools", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ToolDto> getAllTools() {
+        return readService.getAllTools();
+    }
+
+    @GetMapping("/tools/{id}")
+    public Mono<ToolDto> getToolById(@PathVariable Long id) {
+        return readService.getToolById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Tool not found with ID: " + id)));
+    }
+
+    @GetMapping("/users/{id}")
+    public Mono<UserDto> getUserById(@PathVariable Long id) {
+        return readService.getUserById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found with ID: " + id)));
+    }
+
+    @GetMapping(path = "/users/{id}/tools", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ToolDto> getToolsForUser(@PathVariable Long id) {
+        return readService.getToolsByUserId(id);
+    }
+}
@@ -1,19 +1,29 @@
 package com.microservices.tool_app.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.tool_app.constants.BaseConstants;
 import com.microservices.tool_app.constants.ToolConstants;
+import com.microservices.tool_app.dto.BatchResponseDto;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.dto.CursorPaginatedResponseDto;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
 import com.microservices.tool_app.dto.PaginatedResponseDto;
 import com.microservices.tool_app.dto.ResponseDto;
 import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.ToolFacetsDto;
 import com.microservices.tool_app.exceptions.ResourceNotFoundException;
 import com.microservices.tool_app.service.IToolService;
 import com.microservices.tool_app.service.IUserService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -26,6 +36,7 @@ public class ToolController {
 
     private final IToolService toolService;
     private final IUserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/tools")
     public ResponseEntity<ResponseDto> createTool(@Valid @RequestBody ToolDto toolDto) {
@@ -48,52 +59,124 @@ public class ToolController {
                 ));
     }
 
+    @PostMapping("/tools/batch")
+    public ResponseEntity<BatchResponseDto> createTools(@RequestBody List<ToolDto> toolDtos) {
+
+        BatchResponseDto response = toolService.createTools(toolDtos);
+
+        // Per-item outcomes are in the body; 207 flags that some of them failed
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping("/tools")
-    public ResponseEntity<List<ToolDto>> getAllTools() {
-        return ResponseEntity.ok(toolService.getAllTools());
+    public ResponseEntity<List<ToolDto>> getAllTools(WebRequest request) {
+        return ETags.ifNoneMatch(request, ETags.of(toolService.getToolsChangeCount()), toolService::getAllTools);
+    }
+
+    @GetMapping(path = "/tools", params = "ids")
+    public ResponseEntity<MultiGetResponseDto<ToolDto>> getToolsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(toolService.getToolsByIds(ids));
+    }
+
+    // Same lookup for id sets too long for a query string
+    @PostMapping("/tools/lookup")
+    public ResponseEntity<MultiGetResponseDto<ToolDto>> lookupTools(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(toolService.getToolsByIds(ids));
+    }
+
+    // Incremental refresh: rows created, updated or deleted since the token from the previous call
+    @GetMapping("/tools/changes")
+    public ResponseEntity<ChangeSetDto<ToolDto>> getToolChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + BaseConstants.CHANGES_DEFAULT_LIMIT) int limit) {
+
+        return ResponseEntity.ok(toolService.getToolChanges(since, limit));
+    }
+
+    // Substring of the name or type, ignoring case, optionally narrowed to one type and/or owner
+    @GetMapping("/tools/search")
+    public ResponseEntity<List<ToolDto>> searchTools(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "" + ToolConstants.SEARCH_DEFAULT_LIMIT) int limit) {
+
+        return ResponseEntity.ok(toolService.searchTools(q, type, userId, limit));
+    }
+
+    // Tool counts in total and per type, kept current in memory rather than aggregated per request
+    @GetMapping("/tools/facets")
+    public ResponseEntity<ToolFacetsDto> getToolFacets() {
+        return ResponseEntity.ok(toolService.getToolFacets());
+    }
+
+    @GetMapping(path = "/tools/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTools() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonStreams.of(objectMapper, toolService::streamAllTools));
     }
 
     @GetMapping("/tools/paginated")
     public ResponseEntity<PaginatedResponseDto<ToolDto>> getAllToolsPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "toolId") String sortBy) {
-
-        Page<ToolDto> toolsPage = toolService.getAllTools(page, size, sortBy);
+            @RequestParam(defaultValue = "toolId") String sortBy,
+            WebRequest request) {
+
+        return ETags.ifNoneMatch(request, ETags.of(toolService.getToolsChangeCount()), () -> {
+            Page<ToolDto> toolsPage = toolService.getAllTools(page, size, sortBy);
+
+            return new PaginatedResponseDto<>(
+                    toolsPage.getContent(),
+                    toolsPage.getNumber(),
+                    toolsPage.getSize(),
+                    toolsPage.getTotalElements(),
+                    toolsPage.getTotalPages(),
+                    toolsPage.isLast()
+            );
+        });
+    }
 
-        PaginatedResponseDto<ToolDto> response = new PaginatedResponseDto<>(
-                toolsPage.getContent(),
-                toolsPage.getNumber(),
-                toolsPage.getSize(),
-                toolsPage.getTotalElements(),
-                toolsPage.getTotalPages(),
-                toolsPage.isLast()
-        );
+    @GetMapping("/tools/paginated/cursor")
+    public ResponseEntity<CursorPaginatedResponseDto<ToolDto>> getAllToolsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "toolId") String sortBy,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
 
-        return ResponseEntity.ok(response);
+        return ETags.ifNoneMatch(request, ETags.of(toolService.getToolsChangeCount()),
+                () -> toolService.getAllTools(cursor, size, sortBy, includeTotal));
     }
 
     @GetMapping("/users/{id}/tools")
-    public ResponseEntity<List<ToolDto>> getToolsForUser(@Valid @PathVariable Long id) {
-        return ResponseEntity.ok(toolService.getToolsByUserId(id));
+    public ResponseEntity<List<ToolDto>> getToolsForUser(@Valid @PathVariable Long id, WebRequest request) {
+        return ETags.ifNoneMatch(request, ETags.of(toolService.getToolsChangeCount()),
+                () -> toolService.getToolsByUserId(id));
     }
 
     @GetMapping("/tools/{id}")
-    public ResponseEntity<ToolDto> getToolById(@Valid @PathVariable Long id) {
+    public ResponseEntity<ToolDto> getToolById(@Valid @PathVariable Long id, WebRequest request) {
 
+        // Cached projection: the version comes with it, so a 304 never loads the entity
         ToolDto tool = toolService.getToolById(id);
 
         if (tool == null) {
             throw new ResourceNotFoundException("Tool not found with ID: " + id);
         }
 
-        return ResponseEntity.ok(tool);
+        return ETags.ifNoneMatch(request, ETags.of(tool.getVersion()), () -> tool);
     }
 
     @PutMapping("/tools")
-    public ResponseEntity<ResponseDto> updateTool(@Valid @RequestBody ToolDto toolDto) {
+    public ResponseEntity<ResponseDto> updateTool(
+            @Valid @RequestBody ToolDto toolDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        boolean isUpdated = toolService.updateTool(toolDto);
+        boolean isUpdated = toolService.updateTool(toolDto, ETags.expectedVersion(ifMatch));
 
         if (!isUpdated) {
             throw new ResourceNotFoundException("Tool not found with ID: " + toolDto.getToolId());
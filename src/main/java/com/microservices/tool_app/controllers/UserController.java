@@ -1,17 +1,26 @@
 package com.microservices.tool_app.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.tool_app.constants.BaseConstants;
 import com.microservices.tool_app.constants.UserConstants;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
+import com.microservices.tool_app.dto.PaginatedResponseDto;
 import com.microservices.tool_app.dto.ResponseDto;
 import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.dto.UserSummaryDto;
 import com.microservices.tool_app.exceptions.ResourceNotFoundException;
 import com.microservices.tool_app.service.IUserService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.time.LocalDate;
@@ -24,6 +33,7 @@ import java.util.List;
 public class UserController {
 
     private final IUserService iUsersService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/users")
     public ResponseEntity<ResponseDto> createUser(@Valid @RequestBody UserDto userDto) {
@@ -42,20 +52,94 @@ public class UserController {
 
 
     @GetMapping("/users")
-    public ResponseEntity<List<UserDto>> getUsers() {
-        return ResponseEntity.ok(iUsersService.getAllUsers());
+    public ResponseEntity<List<UserDto>> getUsers(WebRequest request) {
+        return ETags.ifNoneMatch(request, ETags.of(iUsersService.getUsersChangeCount()), iUsersService::getAllUsers);
+    }
+
+    @GetMapping(path = "/users", params = "ids")
+    public ResponseEntity<MultiGetResponseDto<UserDto>> getUsersByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean includeToolCount) {
+
+        MultiGetResponseDto<UserDto> users = iUsersService.getUsersByIds(ids);
+        if (includeToolCount) {
+            users.setItems(users.getItems().stream().map(iUsersService::withToolCount).toList());
+        }
+        return ResponseEntity.ok(users);
+    }
+
+    // Same lookup for id sets too long for a query string
+    @PostMapping("/users/lookup")
+    public ResponseEntity<MultiGetResponseDto<UserDto>> lookupUsers(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(iUsersService.getUsersByIds(ids));
+    }
+
+    // Incremental refresh: rows created, updated or deleted since the token from the previous call
+    @GetMapping("/users/changes")
+    public ResponseEntity<ChangeSetDto<UserDto>> getUserChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + BaseConstants.CHANGES_DEFAULT_LIMIT) int limit) {
+
+        return ResponseEntity.ok(iUsersService.getUserChanges(since, limit));
+    }
+
+    @GetMapping(path = "/users/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonStreams.of(objectMapper, iUsersService::streamAllUsers));
     }
 
     @GetMapping("/users/{id}")
-    public ResponseEntity<UserDto> getUserById(@Valid @PathVariable Long id) {
+    public ResponseEntity<UserDto> getUserById(@Valid @PathVariable Long id,
+                                               @RequestParam(defaultValue = "false") boolean includeToolCount,
+                                               WebRequest request) {
 
+        // Cached projection: the version comes with it, so a 304 never loads the entity
         UserDto user = iUsersService.getUserById(id);
 
         if (user == null) {
             throw new ResourceNotFoundException("User not found with ID: " + id);
         }
 
-        return ResponseEntity.ok(user);
+        // The count changes without the user's version, so that body gets no ETag
+        if (includeToolCount) {
+            return ResponseEntity.ok(iUsersService.withToolCount(user));
+        }
+        return ETags.ifNoneMatch(request, ETags.of(user.getVersion()), () -> user);
+    }
+
+    // The user, their tools and per-type counts in one call instead of /users/{id} plus /users/{id}/tools
+    @GetMapping("/users/{id}/summary")
+    public ResponseEntity<UserSummaryDto> getUserSummary(@Valid @PathVariable Long id) {
+
+        UserSummaryDto summary = iUsersService.getUserSummary(id);
+
+        if (summary == null) {
+            throw new ResourceNotFoundException("User not found with ID: " + id);
+        }
+
+        return ResponseEntity.ok(summary);
+    }
+
+    @GetMapping("/users/summary")
+    public ResponseEntity<PaginatedResponseDto<UserSummaryDto>> getUserSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "userId") String sortBy) {
+
+        Page<UserSummaryDto> summaries = iUsersService.getUserSummaries(page, size, sortBy);
+
+        PaginatedResponseDto<UserSummaryDto> response = new PaginatedResponseDto<>(
+                summaries.getContent(),
+                summaries.getNumber(),
+                summaries.getSize(),
+                summaries.getTotalElements(),
+                summaries.getTotalPages(),
+                summaries.isLast()
+        );
+
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/users/email/{email}")
@@ -89,9 +173,10 @@ public class UserController {
     @PutMapping("/users/{id}")
     public ResponseEntity<ResponseDto> updateUserDetails(
             @Valid @PathVariable Long id,
-            @Valid @RequestBody UserDto userDto) {
+            @Valid @RequestBody UserDto userDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        boolean isUpdated = iUsersService.updateUser(id, userDto);
+        boolean isUpdated = iUsersService.updateUser(id, userDto, ETags.expectedVersion(ifMatch));
 
         if (!isUpdated) {
             throw new ResourceNotFoundException("User not found with ID: " + id);
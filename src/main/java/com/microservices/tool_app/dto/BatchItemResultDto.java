@@ -0,0 +1,15 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResultDto {
+
+    // Position of the item in the request body
+    private int index;
+    private Long toolId;
+    private String statusCode;
+    private String statusMsg;
+}
@@ -0,0 +1,14 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchResponseDto {
+
+    private int created;
+    private int failed;
+    private List<BatchItemResultDto> results;
+}
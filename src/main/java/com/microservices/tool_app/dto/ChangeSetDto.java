@@ -0,0 +1,25 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSetDto<T> {
+
+    // Rows created or updated since the token, current state only
+    private List<T> upserts;
+
+    // IDs of rows deleted since the token
+    private List<Long> deletedIds;
+
+    // Pass back as since= on the next call; unchanged when nothing has changed
+    private String nextToken;
+
+    // More changes are already waiting; call again straight away
+    private boolean hasMore;
+}
@@ -0,0 +1,18 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPaginatedResponseDto<T> {
+
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;
+
+    // Null unless the client asked for it with includeTotal=true
+    private Long totalElements;
+    private boolean lastPage;
+}
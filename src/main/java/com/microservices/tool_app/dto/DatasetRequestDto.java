@@ -0,0 +1,20 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetRequestDto {
+
+    private long users;
+    private long tools;
+
+    // 0 spreads tools evenly; 1.0 and above concentrates them on a few heavy owners
+    private double zipfExponent;
+
+    // Fixed seed for a reproducible dataset; null picks a random one
+    private Long seed;
+}
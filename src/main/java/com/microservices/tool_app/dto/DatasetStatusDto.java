@@ -0,0 +1,21 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetStatusDto {
+
+    public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+    private State state;
+    private long requestedUsers;
+    private long requestedTools;
+    private long usersInserted;
+    private long toolsInserted;
+    private long elapsedMillis;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiGetResponseDto<T> {
+
+    // Found items in the order their ids were requested; repeated ids appear once
+    private List<T> items;
+
+    // Requested ids with no matching row, in request order
+    private List<Long> missingIds;
+}
@@ -0,0 +1,16 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteAdmissionDto {
+    private String route;
+    private int limit;
+    private int inflight;
+    private long accepted;
+    private long rejected;
+}
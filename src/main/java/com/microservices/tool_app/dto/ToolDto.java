@@ -1,10 +1,15 @@
 package com.microservices.tool_app.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ToolDto {
     private Long toolId;
 
@@ -16,4 +21,12 @@ public class ToolDto {
 
     @NotNull(message = "User ID cannot be null")
     private Long userId;
+
+    // Row version; travels as the ETag header rather than in the body
+    @JsonIgnore
+    private Long version;
+
+    public ToolDto(Long toolId, String toolName, String toolType, Long userId) {
+        this(toolId, toolName, toolType, userId, null);
+    }
 }
@@ -0,0 +1,17 @@
+package com.microservices.tool_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToolFacetsDto {
+    private long totalTools;
+
+    // Tool count per tool type, ordered by type; types without tools are left out
+    private Map<String, Long> toolTypeCounts;
+}
@@ -1,14 +1,19 @@
 package com.microservices.tool_app.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class UserDto {
     private Long userId;
 
@@ -22,4 +27,25 @@ public class UserDto {
     @JsonFormat(pattern = "yyyy-MM-dd")
     @NotNull(message = "Date of birth must not be null and in format: yyyy-mm-dd")
     private LocalDate dateOfBirth;
+
+    // Row version; travels as the ETag header rather than in the body
+    @JsonIgnore
+    private Long version;
+
+    // Only with includeToolCount=true; never read from a request
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long toolCount;
+
+    public UserDto(Long userId, String name, String email, LocalDate dateOfBirth) {
+        this(userId, name, email, dateOfBirth, null);
+    }
+
+    public UserDto(Long userId, String name, String email, LocalDate dateOfBirth, Long version) {
+        this.userId = userId;
+        this.name = name;
+        this.email = email;
+        this.dateOfBirth = dateOfBirth;
+        this.version = version;
+    }
 }
@@ -0,0 +1,28 @@
+package com.microservices.tool_app.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+    private Long userId;
+    private String name;
+    private String email;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dateOfBirth;
+
+    // Ordered by toolId
+    private List<ToolDto> tools;
+
+    // Tool count per tool type, ordered by type
+    private Map<String, Long> toolTypeCounts;
+}
@@ -3,11 +3,13 @@ package com.microservices.tool_app.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -20,4 +22,15 @@ public class BaseEntity {
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    // Delta-sync position: the table's change sequence taken by this row's last write
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    // Checked and incremented by every entity UPDATE; a concurrent change fails the commit
+    @Version
+    private Long version;
+}
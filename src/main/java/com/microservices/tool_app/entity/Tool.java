@@ -13,14 +13,18 @@ import lombok.*;
 public class Tool extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tools_seq")
+    @SequenceGenerator(name = "tools_seq", sequenceName = "tools_seq", allocationSize = 50)
     @Column(name = "tool_id")
     private Long toolId;
 
     @Column(nullable = false)
     private String toolName;
 
-    @Column(nullable = false)
+    // A tool_types key in the table; the dictionary's shared name instance in memory
+    @Convert(converter = ToolTypeConverter.class)
+    @Column(name = "tool_type_id", nullable = false)
     private String toolType;
 
     @ManyToOne(fetch = FetchType.LAZY)
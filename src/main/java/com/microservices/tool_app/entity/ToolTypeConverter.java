@@ -0,0 +1,43 @@
+package com.microservices.tool_app.entity;
+
+import com.microservices.tool_app.repository.ToolTypeDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a tool's type as its tool_types key and reads it back as the dictionary's canonical
+ * String. Instantiated through Spring, so the dictionary is injected.
+ */
+@Converter
+public class ToolTypeConverter implements AttributeConverter<String, Integer> {
+
+    // Matches no row: an unresolved name fails the foreign key on write and matches nothing in a query
+    private static final int UNKNOWN = -1;
+
+    private final ToolTypeDictionary toolTypes;
+
+    public ToolTypeConverter(ToolTypeDictionary toolTypes) {
+        this.toolTypes = toolTypes;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = toolTypes.idOf(name);
+        return id != null ? id : UNKNOWN;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name = toolTypes.nameOf(id);
+        if (name == null) {
+            throw new IllegalStateException("Unknown tool type " + id);
+        }
+        return name;
+    }
+}
@@ -1,7 +1,12 @@
 package com.microservices.tool_app.exceptions;
 
+import com.microservices.tool_app.constants.MetricsConstants;
 import com.microservices.tool_app.dto.ErrorResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,9 +19,17 @@ import java.time.LocalDateTime;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDto> handleValidationErrors(MethodArgumentNotValidException ex) {
 
+        countHandled(ex);
+
         String message = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -37,6 +50,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorResponseDto> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
 
+        countHandled(ex);
+
         ErrorResponseDto error = new ErrorResponseDto(
                 "Type Mismatch",
                 HttpStatus.BAD_REQUEST,
@@ -50,6 +65,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponseDto> handleIllegalArgument(IllegalArgumentException ex) {
 
+        countHandled(ex);
+
         ErrorResponseDto error = new ErrorResponseDto(
                 "Validation Error",
                 HttpStatus.BAD_REQUEST,
@@ -63,6 +80,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleResourceNotFound(ResourceNotFoundException ex) {
 
+        countHandled(ex);
+
         ErrorResponseDto error = new ErrorResponseDto(
                 "Resource Not Found",
                 HttpStatus.NOT_FOUND,
@@ -76,6 +95,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleEntityNotFound(EntityNotFoundException ex) {
 
+        countHandled(ex);
+
         ErrorResponseDto error = new ErrorResponseDto(
                 "Resource Not Found",
                 HttpStatus.NOT_FOUND,
@@ -86,9 +107,77 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    // Unique and foreign key constraints from the schema migrations surface here
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDto> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+
+        countHandled(ex);
+
+        ErrorResponseDto error = new ErrorResponseDto(
+                "Conflict",
+                HttpStatus.CONFLICT,
+                "Request conflicts with existing data",
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    // If-Match named a version that is no longer current
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponseDto> handlePreconditionFailed(PreconditionFailedException ex) {
+
+        countHandled(ex);
+
+        ErrorResponseDto error = new ErrorResponseDto(
+                "Precondition Failed",
+                HttpStatus.PRECONDITION_FAILED,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Another transaction updated or deleted the row between our read and our versioned UPDATE
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+
+        countHandled(ex);
+
+        ErrorResponseDto error = new ErrorResponseDto(
+                "Conflict",
+                HttpStatus.CONFLICT,
+                "The resource was modified concurrently; fetch it again and retry",
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    // Admission control rejected the request before it reached the controller
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceOverloaded(ServiceOverloadedException ex) {
+
+        countHandled(ex);
+
+        ErrorResponseDto error = new ErrorResponseDto(
+                "Service Unavailable",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponseDto> handleRuntime(RuntimeException ex) {
 
+        countHandled(ex);
+
         ErrorResponseDto error = new ErrorResponseDto(
                 "Internal Error",
                 HttpStatus.INTERNAL_SERVER_ERROR,
@@ -98,4 +187,9 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private void countHandled(Exception ex) {
+        meterRegistry.counter(MetricsConstants.HANDLED_EXCEPTIONS, "exception", ex.getClass().getSimpleName())
+                .increment();
+    }
 }
@@ -0,0 +1,7 @@
+package com.microservices.tool_app.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,277 @@
+package com.microservices.tool_app.index;
+
+import com.microservices.tool_app.dto.ToolDto;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory adjacency index from owner to the ids of the tools they own, held entirely in
+ * primitive arrays so that neither ids nor map entries are boxed.
+ * <p>
+ * Owners live in an open-addressing table with linear probing: {@code long} keys, each with a
+ * {@code long[]} of tool ids sorted ascending and its used length. New tools have the highest
+ * ids, so they are nearly always appended, growing the array by half when full. The owner of
+ * each tool, needed to move or drop it, is kept in pages of 64K {@code long}s indexed by tool
+ * id, which suits the dense ids handed out by the tool sequence.
+ * <p>
+ * Memory: 8 bytes per tool in its owner's array (up to half as much again in growth slack
+ * until {@link #trimToSize}), 8 per tool id below the highest one in the owner pages, and
+ * about 50 bytes per owner for table slots and the array header, so about 20 bytes per tool at
+ * ten tools per owner. {@link #footprintBytes} reports the current figure.
+ * <p>
+ * Time: a lookup is one probe sequence plus a copy of the owner's ids; an update is O(1)
+ * amortized for an append and O(k) otherwise, for an owner with k tools.
+ */
+public class ToolOwnerIndex {
+
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final long[] NO_TOOLS = new long[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock. A slot is free while its tool array is null.
+    private long[] owners = new long[64];
+    private long[][] tools = new long[64][];
+    private int[] lengths = new int[64];
+    private int size;
+    // Owner of each tool id, 0 for none
+    private long[][] ownerPages = new long[0][];
+    private long toolCount;
+
+    /**
+     * Applies one page of changes in order: tools created, updated or reassigned, then tools deleted.
+     */
+    public void apply(List<ToolDto> upserts, List<Long> deletedIds) {
+        lock.writeLock().lock();
+        try {
+            for (ToolDto tool : upserts) {
+                long toolId = tool.getToolId();
+                long previous = ownerOf(toolId);
+                if (previous == tool.getUserId()) {
+                    continue;
+                }
+                if (previous != 0) {
+                    removeTool(previous, toolId);
+                }
+                addTool(tool.getUserId(), toolId);
+                setOwner(toolId, tool.getUserId());
+            }
+            for (long toolId : deletedIds) {
+                long previous = ownerOf(toolId);
+                if (previous != 0) {
+                    removeTool(previous, toolId);
+                    setOwner(toolId, 0);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the ids of the owner's tools, ascending; empty if they own none
+     */
+    public long[] toolIdsOf(long userId) {
+        lock.readLock().lock();
+        try {
+            int slot = find(userId);
+            return slot < 0 ? NO_TOOLS : Arrays.copyOf(tools[slot], lengths[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the growth slack of every owner's array, e.g. once a bulk load has finished.
+     */
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            for (int slot = 0; slot < tools.length; slot++) {
+                if (tools[slot] != null && tools[slot].length != lengths[slot]) {
+                    tools[slot] = Arrays.copyOf(tools[slot], lengths[slot]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return toolCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return bytes held by the index's arrays, assuming compressed references and 16-byte array headers
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 3 * 16L + owners.length * (8L + 4 + 4);
+            for (long[] ids : tools) {
+                if (ids != null) {
+                    bytes += 16 + ids.length * 8L;
+                }
+            }
+            bytes += 16 + ownerPages.length * 4L;
+            for (long[] page : ownerPages) {
+                if (page != null) {
+                    bytes += 16 + page.length * 8L;
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addTool(long userId, long toolId) {
+        int slot = find(userId);
+        if (slot < 0) {
+            slot = insertOwner(userId);
+        }
+        long[] ids = tools[slot];
+        int length = lengths[slot];
+        int at = length == 0 || ids[length - 1] < toolId ? length : Arrays.binarySearch(ids, 0, length, toolId);
+        if (at >= 0 && at < length) {
+            return;
+        }
+        at = at < 0 ? -at - 1 : at;
+
+        if (length == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(4, length + (length >> 1)));
+            tools[slot] = ids;
+        }
+        System.arraycopy(ids, at, ids, at + 1, length - at);
+        ids[at] = toolId;
+        lengths[slot] = length + 1;
+        toolCount++;
+    }
+
+    private void removeTool(long userId, long toolId) {
+        int slot = find(userId);
+        if (slot < 0) {
+            return;
+        }
+        long[] ids = tools[slot];
+        int length = lengths[slot];
+        int at = Arrays.binarySearch(ids, 0, length, toolId);
+        if (at < 0) {
+            return;
+        }
+        toolCount--;
+        if (length == 1) {
+            deleteOwner(slot);
+            return;
+        }
+
+        System.arraycopy(ids, at + 1, ids, at, length - at - 1);
+        lengths[slot] = length - 1;
+    }
+
+    private int find(long userId) {
+        int mask = owners.length - 1;
+        for (int slot = hash(userId) & mask; tools[slot] != null; slot = (slot + 1) & mask) {
+            if (owners[slot] == userId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int insertOwner(long userId) {
+        // Kept at most half full so probe sequences stay short
+        if ((size + 1) * 2 > owners.length) {
+            resize(owners.length * 2);
+        }
+        int mask = owners.length - 1;
+        int slot = hash(userId) & mask;
+        while (tools[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        owners[slot] = userId;
+        tools[slot] = NO_TOOLS;
+        lengths[slot] = 0;
+        size++;
+        return slot;
+    }
+
+    // Backward-shift deletion: pulls later entries of the probe sequence into the gap, so no tombstones are needed
+    private void deleteOwner(int slot) {
+        int mask = owners.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; tools[next] != null; next = (next + 1) & mask) {
+            int home = hash(owners[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                owners[gap] = owners[next];
+                tools[gap] = tools[next];
+                lengths[gap] = lengths[next];
+                gap = next;
+            }
+        }
+        tools[gap] = null;
+        lengths[gap] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldOwners = owners;
+        long[][] oldTools = tools;
+        int[] oldLengths = lengths;
+        owners = new long[capacity];
+        tools = new long[capacity][];
+        lengths = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int old = 0; old < oldTools.length; old++) {
+            if (oldTools[old] == null) {
+                continue;
+            }
+            int slot = hash(oldOwners[old]) & mask;
+            while (tools[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            owners[slot] = oldOwners[old];
+            tools[slot] = oldTools[old];
+            lengths[slot] = oldLengths[old];
+        }
+    }
+
+    private long ownerOf(long toolId) {
+        int page = (int) (toolId >>> PAGE_BITS);
+        return page < ownerPages.length && ownerPages[page] != null
+                ? ownerPages[page][(int) (toolId & (PAGE_SIZE - 1))]
+                : 0;
+    }
+
+    private void setOwner(long toolId, long userId) {
+        int page = (int) (toolId >>> PAGE_BITS);
+        if (page >= ownerPages.length) {
+            if (userId == 0) {
+                return;
+            }
+            ownerPages = Arrays.copyOf(ownerPages, Math.max(page + 1, ownerPages.length * 2));
+        }
+        if (ownerPages[page] == null) {
+            if (userId == 0) {
+                return;
+            }
+            ownerPages[page] = new long[PAGE_SIZE];
+        }
+        ownerPages[page][(int) (toolId & (PAGE_SIZE - 1))] = userId;
+    }
+
+    // Fibonacci hashing spreads sequential ids across the table
+    private static int hash(long userId) {
+        return (int) ((userId * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+}
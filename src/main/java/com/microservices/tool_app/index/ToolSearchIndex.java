@@ -0,0 +1,253 @@
+package com.microservices.tool_app.index;
+
+import com.microservices.tool_app.dto.ToolDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over tool name and type, for case-insensitive substring search
+ * with optional exact type and owner filters.
+ * <p>
+ * Each tool version lives in a document slot; slots are numbered in the order they are written
+ * and never reused, so every posting list is a sorted int array that only ever grows by
+ * appending. An update writes a new slot and leaves the old one dead, and once dead slots
+ * outnumber live ones the whole index is renumbered and rebuilt from the live tools, which
+ * keeps writes amortized O(trigrams per tool).
+ * <p>
+ * Memory: about 4 bytes per distinct lower-cased trigram of name and type, 8 for the type and
+ * owner postings, and the tool itself, so roughly 250-300 bytes per tool for catalogue-style
+ * names; posting arrays grow by doubling and may hold up to twice that in postings.
+ * <p>
+ * Time: a query walks the shortest of its posting lists (one per trigram of the text, plus the
+ * type and owner lists when filtered), probes the others by binary search and re-checks each
+ * candidate against the text, so it costs O(s * t * log n) for a shortest list of s entries
+ * and t lists, plus O(m * log limit) to rank m matches. Beyond the query's own trigrams it
+ * allocates only the bounded heap holding the results.
+ */
+public class ToolSearchIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private ToolDto[] docs = new ToolDto[1024];
+    private int nextDoc;
+    private final Map<Long, Integer> docByToolId = new HashMap<>();
+    private final Map<Long, Postings> byTrigram = new HashMap<>();
+    private final Map<String, Postings> byType = new HashMap<>();
+    private final Map<Long, Postings> byUser = new HashMap<>();
+    // One instance per distinct type, shared by every tool of that type
+    private final Map<String, String> types = new HashMap<>();
+
+    /**
+     * Applies one page of changes in order: tools created or updated, then tools deleted.
+     */
+    public void apply(List<ToolDto> upserts, List<Long> deletedIds) {
+        lock.writeLock().lock();
+        try {
+            for (ToolDto tool : upserts) {
+                remove(tool.getToolId());
+                add(tool);
+            }
+            for (Long toolId : deletedIds) {
+                remove(toolId);
+            }
+            if (nextDoc - docByToolId.size() > Math.max(docByToolId.size(), 1024)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByToolId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param text   substring of the tool name or type, at least {@link #MIN_QUERY_LENGTH} characters; optional
+     * @param type   exact tool type, ignoring case; optional
+     * @param userId owner; optional
+     * @return up to {@code limit} matches, names starting with the text first, then by tool id
+     */
+    public List<ToolDto> search(String text, String type, Long userId, int limit) {
+        boolean hasText = text != null && !text.isBlank();
+        boolean hasType = type != null && !type.isBlank();
+        if (!hasText && !hasType && userId == null) {
+            throw new IllegalArgumentException("Search needs at least one of q, type or userId");
+        }
+        if (hasText && text.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search text must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must not be less than one");
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            if (hasText) {
+                for (long trigram : trigrams(text)) {
+                    lists.add(byTrigram.get(trigram));
+                }
+            }
+            if (hasType) {
+                lists.add(byType.get(type.toLowerCase(Locale.ROOT)));
+            }
+            if (userId != null) {
+                lists.add(byUser.get(userId));
+            }
+            if (lists.contains(null)) {
+                return List.of();
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+
+            Comparator<ToolDto> ranking = ranking(hasText ? text : "");
+            PriorityQueue<ToolDto> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+            Postings shortest = lists.get(0);
+            for (int i = 0; i < shortest.size; i++) {
+                int doc = shortest.docs[i];
+                ToolDto tool = docs[doc];
+                if (tool == null || !inAll(lists, doc)
+                        || (hasText && !containsIgnoreCase(tool.getToolName(), text)
+                                && !containsIgnoreCase(tool.getToolType(), text))) {
+                    continue;
+                }
+                best.add(tool);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<ToolDto> results = new ArrayList<>(best);
+            results.sort(ranking);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Names starting with the text first, then by id
+    private static Comparator<ToolDto> ranking(String text) {
+        return Comparator
+                .comparing((ToolDto tool) -> !tool.getToolName().regionMatches(true, 0, text, 0, text.length()))
+                .thenComparing(ToolDto::getToolId);
+    }
+
+    private static boolean inAll(List<Postings> lists, int doc) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(ToolDto tool) {
+        String type = types.computeIfAbsent(tool.getToolType(), key -> key);
+        ToolDto stored = new ToolDto(tool.getToolId(), tool.getToolName(), type, tool.getUserId(), tool.getVersion());
+
+        if (nextDoc == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        int doc = nextDoc++;
+        docs[doc] = stored;
+        docByToolId.put(stored.getToolId(), doc);
+        index(doc, stored);
+    }
+
+    private void index(int doc, ToolDto tool) {
+        Set<Long> keys = trigrams(tool.getToolName());
+        keys.addAll(trigrams(tool.getToolType()));
+        for (long trigram : keys) {
+            byTrigram.computeIfAbsent(trigram, key -> new Postings()).add(doc);
+        }
+        byType.computeIfAbsent(tool.getToolType().toLowerCase(Locale.ROOT), key -> new Postings()).add(doc);
+        byUser.computeIfAbsent(tool.getUserId(), key -> new Postings()).add(doc);
+    }
+
+    // Postings of a removed tool stay behind until compaction; its slot is null so searches skip it
+    private void remove(Long toolId) {
+        Integer doc = docByToolId.remove(toolId);
+        if (doc != null) {
+            docs[doc] = null;
+        }
+    }
+
+    private void compact() {
+        ToolDto[] live = new ToolDto[Math.max(1024, Integer.highestOneBit(Math.max(1, docByToolId.size())) * 2)];
+        int count = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (docs[doc] != null) {
+                live[count++] = docs[doc];
+            }
+        }
+
+        docs = live;
+        nextDoc = count;
+        docByToolId.clear();
+        byTrigram.clear();
+        byType.clear();
+        byUser.clear();
+        for (int doc = 0; doc < count; doc++) {
+            docByToolId.put(docs[doc].getToolId(), doc);
+            index(doc, docs[doc]);
+        }
+    }
+
+    private static Set<Long> trigrams(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        Set<Long> keys = new LinkedHashSet<>();
+        for (int i = 0; i + MIN_QUERY_LENGTH <= lower.length(); i++) {
+            keys.add(((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2));
+        }
+        return keys;
+    }
+
+    private static boolean containsIgnoreCase(String value, String text) {
+        for (int i = 0; i + text.length() <= value.length(); i++) {
+            if (value.regionMatches(true, i, text, 0, text.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Document slots containing one trigram, type or owner, ascending.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        // Slots are handed out in increasing order, so appending keeps the array sorted
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+}
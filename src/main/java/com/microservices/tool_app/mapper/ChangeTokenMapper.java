@@ -0,0 +1,51 @@
+package com.microservices.tool_app.mapper;
+
+import com.microservices.tool_app.repository.ChangeToken;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes delta-sync positions as opaque, URL-safe tokens bound to one table.
+ */
+public class ChangeTokenMapper {
+
+    private static final String SEPARATOR = "\n";
+    private static final String INVALID_TOKEN = "Invalid change token";
+
+    private ChangeTokenMapper() {}
+
+    public static String mapToToken(String tableName, ChangeToken position) {
+        String raw = tableName
+                + SEPARATOR + position.changeSeq()
+                + SEPARATOR + position.rowId();
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken mapToChangeToken(String token, String tableName) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(INVALID_TOKEN);
+        }
+
+        String[] parts = raw.split(SEPARATOR);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException(INVALID_TOKEN);
+        }
+
+        if (!parts[0].equals(tableName)) {
+            throw new IllegalArgumentException("Change token was issued for " + parts[0]);
+        }
+
+        try {
+            return new ChangeToken(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(INVALID_TOKEN);
+        }
+    }
+}
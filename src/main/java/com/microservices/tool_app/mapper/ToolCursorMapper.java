@@ -0,0 +1,55 @@
+package com.microservices.tool_app.mapper;
+
+import com.microservices.tool_app.repository.ToolCursor;
+import com.microservices.tool_app.repository.ToolPageRow;
+import com.microservices.tool_app.repository.ToolSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursor tokens.
+ */
+public class ToolCursorMapper {
+
+    private static final String SEPARATOR = "\n";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private ToolCursorMapper() {}
+
+    public static String mapToCursorToken(ToolSortField sortField, ToolPageRow lastRow) {
+        String raw = sortField.getProperty()
+                + SEPARATOR + lastRow.tool().getToolId()
+                + SEPARATOR + lastRow.sortValue();
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ToolCursor mapToCursor(String token, ToolSortField sortField) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+
+        // Sort values (tool names) may themselves contain the separator, so they go last
+        String[] parts = raw.split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+
+        if (!parts[0].equals(sortField.getProperty())) {
+            throw new IllegalArgumentException("Cursor was issued for sortBy=" + parts[0]);
+        }
+
+        try {
+            return new ToolCursor(sortField.parse(parts[2]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+}
@@ -16,6 +16,7 @@ public class ToolMapper {
         if (tool.getUser() != null) {
             dto.setUserId(tool.getUser().getUserId());
         }
+        dto.setVersion(tool.getVersion());
 
         return dto;
     }
@@ -1,8 +1,14 @@
 package com.microservices.tool_app.mapper;
 
+import com.microservices.tool_app.dto.ToolDto;
 import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.dto.UserSummaryDto;
 import com.microservices.tool_app.entity.User;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 public class UserMapper {
 
     private UserMapper() {}
@@ -13,6 +19,7 @@ public class UserMapper {
         dto.setName(user.getName());
         dto.setEmail(user.getEmail());
         dto.setDateOfBirth(user.getDateOfBirth());
+        dto.setVersion(user.getVersion());
         return dto;
     }
 
@@ -23,4 +30,13 @@ public class UserMapper {
         user.setDateOfBirth(dto.getDateOfBirth());
         return user;
     }
+
+    public static UserSummaryDto mapToUserSummaryDto(UserDto user, List<ToolDto> tools) {
+        Map<String, Long> toolTypeCounts = new TreeMap<>();
+        for (ToolDto tool : tools) {
+            toolTypeCounts.merge(tool.getToolType(), 1L, Long::sum);
+        }
+        return new UserSummaryDto(user.getUserId(), user.getName(), user.getEmail(),
+                user.getDateOfBirth(), tools, toolTypeCounts);
+    }
 }
@@ -0,0 +1,172 @@
+package com.microservices.tool_app.readmodel;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Base of the read-model row stores. Rows are addressed by id in pages of 4096: every column
+ * is one primitive array per page, and string columns hold references into an off-heap
+ * {@link Utf8Arena}, so the stores keep a few thousand long-lived arrays however many rows
+ * they hold.
+ * <p>
+ * Each row keeps the version of the write it holds, which every update increments. A write
+ * that arrives after a newer one, e.g. a change-feed page read before a commit applied
+ * afterwards, is ignored, and a deleted row stays deleted since ids are never reused.
+ */
+abstract class RowStore {
+
+    static final int PAGE_BITS = 12;
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    // Rows with larger ids are not held; their reads go to the database
+    private static final long MAX_ID = Integer.MAX_VALUE;
+    private static final long DELETED = -1;
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    protected Utf8Arena arena = new Utf8Arena();
+    // Per row: version + 1 of the write it holds, 0 for none, DELETED once deleted
+    private long[][] versions = new long[0][];
+    private long rows;
+
+    /**
+     * Grows every column's page table to {@code pages} entries.
+     */
+    protected abstract void growPages(int pages);
+
+    protected abstract void allocatePage(int page);
+
+    /**
+     * Rewrites the string references of a live row into {@code fresh}.
+     */
+    protected abstract void relocate(int page, int offset, Utf8Arena fresh);
+
+    protected abstract void freeStrings(int page, int offset);
+
+    protected abstract long bytesPerRow();
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return bytes held by the columns and the string arena; page tables excluded
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long pages = Arrays.stream(versions).filter(page -> page != null).count();
+            return pages * PAGE_SIZE * (8 + bytesPerRow()) + arena.footprintBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    protected static int page(long id) {
+        return (int) (id >>> PAGE_BITS);
+    }
+
+    protected static int offset(long id) {
+        return (int) (id & (PAGE_SIZE - 1));
+    }
+
+    /**
+     * Caller holds the read or write lock.
+     */
+    protected final boolean isLive(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int page = page(id);
+        return page < versions.length && versions[page] != null && versions[page][offset(id)] > 0;
+    }
+
+    /**
+     * Records a write of the row at {@code version} and frees the strings it replaces. Caller
+     * holds the write lock and fills in the other columns when this returns true.
+     *
+     * @return false if the row is out of range, deleted, or holds a newer version
+     */
+    protected final boolean claim(long id, long version) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int page = page(id);
+        int offset = offset(id);
+        ensurePage(page);
+        long held = versions[page][offset];
+        if (held == DELETED || held > version + 1) {
+            return false;
+        }
+        if (held > 0) {
+            freeStrings(page, offset);
+        } else {
+            rows++;
+        }
+        versions[page][offset] = version + 1;
+        return true;
+    }
+
+    /**
+     * Caller holds the read lock and has checked the row is live.
+     */
+    protected final long version(int page, int offset) {
+        return versions[page][offset] - 1;
+    }
+
+    /**
+     * Deletes the row for good, including one not written yet. Caller holds the write lock.
+     */
+    protected final void delete(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return;
+        }
+        int page = page(id);
+        int offset = offset(id);
+        ensurePage(page);
+        if (versions[page][offset] > 0) {
+            freeStrings(page, offset);
+            rows--;
+        }
+        versions[page][offset] = DELETED;
+    }
+
+    /**
+     * Copies live strings into a fresh arena once dead ones outweigh them. Caller holds the write lock.
+     */
+    protected final void compactIfNeeded() {
+        if (!arena.needsCompaction()) {
+            return;
+        }
+        Utf8Arena fresh = new Utf8Arena();
+        for (int page = 0; page < versions.length; page++) {
+            if (versions[page] == null) {
+                continue;
+            }
+            for (int offset = 0; offset < PAGE_SIZE; offset++) {
+                if (versions[page][offset] > 0) {
+                    relocate(page, offset, fresh);
+                }
+            }
+        }
+        arena = fresh;
+    }
+
+    private void ensurePage(int page) {
+        if (page >= versions.length) {
+            int pages = Math.max(page + 1, versions.length * 2);
+            versions = Arrays.copyOf(versions, pages);
+            growPages(pages);
+        }
+        if (versions[page] == null) {
+            versions[page] = new long[PAGE_SIZE];
+            allocatePage(page);
+        }
+    }
+}
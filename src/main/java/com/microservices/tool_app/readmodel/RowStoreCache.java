@@ -0,0 +1,74 @@
+package com.microservices.tool_app.readmodel;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.LongFunction;
+
+/**
+ * Read-only {@link Cache} view of a row store, so code written against the entity caches can
+ * read from the read model instead. Puts and evictions are ignored: the store is kept current
+ * by the write path, not by its readers.
+ */
+public class RowStoreCache implements Cache {
+
+    private final String name;
+    private final LongFunction<Object> rows;
+
+    public RowStoreCache(String name, LongFunction<Object> rows) {
+        this.name = name;
+        this.rows = rows;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return rows;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = lookup(key);
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return type.cast(lookup(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        @SuppressWarnings("unchecked")
+        T value = (T) lookup(key);
+        if (value != null) {
+            return value;
+        }
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+    }
+
+    @Override
+    public void evict(Object key) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    private Object lookup(Object key) {
+        return key instanceof Long id ? rows.apply(id) : null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.microservices.tool_app.readmodel;
+
+import com.microservices.tool_app.dto.ToolDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tool rows in columns: owner id and version as {@code long}s, tool_type as an {@code int}
+ * code into a dictionary of the distinct types, and the name as a UTF-8 slice. A read builds
+ * the DTO from the columns; the type string is the dictionary's own instance, so only the
+ * DTO and its name are allocated.
+ * <p>
+ * Memory: 28 bytes per row slot plus the name's UTF-8 bytes; a slot is allocated for every
+ * id in a page that holds at least one row.
+ */
+public class ToolRowStore extends RowStore {
+
+    // Guarded by lock
+    private long[][] userIds = new long[0][];
+    private int[][] types = new int[0][];
+    private long[][] names = new long[0][];
+    // Never shrinks: there are few types and rows keep their codes
+    private final List<String> typeNames = new ArrayList<>();
+    private final Map<String, Integer> typeCodes = new HashMap<>();
+
+    /**
+     * Applies rows in order. Rows without a version are taken as new, at version 0.
+     */
+    public void put(Collection<ToolDto> tools) {
+        lock.writeLock().lock();
+        try {
+            for (ToolDto tool : tools) {
+                write(tool);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(ToolDto tool) {
+        put(List.of(tool));
+    }
+
+    public void delete(Collection<Long> toolIds) {
+        lock.writeLock().lock();
+        try {
+            toolIds.forEach(this::delete);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(long[] toolIds) {
+        lock.writeLock().lock();
+        try {
+            for (long toolId : toolIds) {
+                delete(toolId);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the tool, or null if this store does not hold it
+     */
+    public ToolDto get(long toolId) {
+        lock.readLock().lock();
+        try {
+            if (!isLive(toolId)) {
+                return null;
+            }
+            int page = page(toolId);
+            int offset = offset(toolId);
+            return new ToolDto(toolId, arena.get(names[page][offset]), typeNames.get(types[page][offset]),
+                    userIds[page][offset], version(page, offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int typeCount() {
+        lock.readLock().lock();
+        try {
+            return typeNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(ToolDto tool) {
+        long toolId = tool.getToolId();
+        if (!claim(toolId, tool.getVersion() != null ? tool.getVersion() : 0)) {
+            return;
+        }
+        int page = page(toolId);
+        int offset = offset(toolId);
+        userIds[page][offset] = tool.getUserId();
+        types[page][offset] = typeCode(tool.getToolType());
+        names[page][offset] = arena.put(tool.getToolName());
+    }
+
+    private int typeCode(String type) {
+        Integer code = typeCodes.get(type);
+        if (code == null) {
+            code = typeNames.size();
+            typeNames.add(type);
+            typeCodes.put(type, code);
+        }
+        return code;
+    }
+
+    @Override
+    protected void growPages(int pages) {
+        userIds = Arrays.copyOf(userIds, pages);
+        types = Arrays.copyOf(types, pages);
+        names = Arrays.copyOf(names, pages);
+    }
+
+    @Override
+    protected void allocatePage(int page) {
+        userIds[page] = new long[PAGE_SIZE];
+        types[page] = new int[PAGE_SIZE];
+        names[page] = new long[PAGE_SIZE];
+    }
+
+    @Override
+    protected void relocate(int page, int offset, Utf8Arena fresh) {
+        names[page][offset] = fresh.copyFrom(arena, names[page][offset]);
+    }
+
+    @Override
+    protected void freeStrings(int page, int offset) {
+        arena.free(names[page][offset]);
+    }
+
+    @Override
+    protected long bytesPerRow() {
+        return 8 + 4 + 8;
+    }
+}
@@ -0,0 +1,113 @@
+package com.microservices.tool_app.readmodel;
+
+import com.microservices.tool_app.dto.UserDto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * User rows in columns: version as a {@code long}, date of birth as an {@code int} epoch day,
+ * and name and email as UTF-8 slices.
+ * <p>
+ * Memory: 28 bytes per row slot plus the UTF-8 bytes of the name and email; a slot is
+ * allocated for every id in a page that holds at least one row.
+ */
+public class UserRowStore extends RowStore {
+
+    // Guarded by lock
+    private int[][] birthDays = new int[0][];
+    private long[][] names = new long[0][];
+    private long[][] emails = new long[0][];
+
+    /**
+     * Applies rows in order. Rows without a version are taken as new, at version 0.
+     */
+    public void put(Collection<UserDto> users) {
+        lock.writeLock().lock();
+        try {
+            for (UserDto user : users) {
+                write(user);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(UserDto user) {
+        put(List.of(user));
+    }
+
+    public void delete(Collection<Long> userIds) {
+        lock.writeLock().lock();
+        try {
+            userIds.forEach(this::delete);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the user, or null if this store does not hold them
+     */
+    public UserDto get(long userId) {
+        lock.readLock().lock();
+        try {
+            if (!isLive(userId)) {
+                return null;
+            }
+            int page = page(userId);
+            int offset = offset(userId);
+            return new UserDto(userId, arena.get(names[page][offset]), arena.get(emails[page][offset]),
+                    LocalDate.ofEpochDay(birthDays[page][offset]), version(page, offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(UserDto user) {
+        long userId = user.getUserId();
+        if (!claim(userId, user.getVersion() != null ? user.getVersion() : 0)) {
+            return;
+        }
+        int page = page(userId);
+        int offset = offset(userId);
+        birthDays[page][offset] = (int) user.getDateOfBirth().toEpochDay();
+        names[page][offset] = arena.put(user.getName());
+        emails[page][offset] = arena.put(user.getEmail());
+    }
+
+    @Override
+    protected void growPages(int pages) {
+        birthDays = Arrays.copyOf(birthDays, pages);
+        names = Arrays.copyOf(names, pages);
+        emails = Arrays.copyOf(emails, pages);
+    }
+
+    @Override
+    protected void allocatePage(int page) {
+        birthDays[page] = new int[PAGE_SIZE];
+        names[page] = new long[PAGE_SIZE];
+        emails[page] = new long[PAGE_SIZE];
+    }
+
+    @Override
+    protected void relocate(int page, int offset, Utf8Arena fresh) {
+        names[page][offset] = fresh.copyFrom(arena, names[page][offset]);
+        emails[page][offset] = fresh.copyFrom(arena, emails[page][offset]);
+    }
+
+    @Override
+    protected void freeStrings(int page, int offset) {
+        arena.free(names[page][offset]);
+        arena.free(emails[page][offset]);
+    }
+
+    @Override
+    protected long bytesPerRow() {
+        return 4 + 8 + 8;
+    }
+}
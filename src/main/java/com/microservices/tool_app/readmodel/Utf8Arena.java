@@ -0,0 +1,95 @@
+package com.microservices.tool_app.readmodel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only UTF-8 string storage in 1 MB direct (off-heap) buffers. A string is addressed
+ * by a {@code long} reference packing its chunk, offset and byte length, so a row holds its
+ * strings without holding any objects. Replaced strings are only counted as dead; the owning
+ * store copies the live ones into a fresh arena once they are outnumbered.
+ * <p>
+ * Not thread-safe: writes need the owning store's write lock. Reads only use absolute
+ * buffer access and may run concurrently under its read lock.
+ */
+final class Utf8Arena {
+
+    private static final int LENGTH_BITS = 12;
+    private static final int OFFSET_BITS = 20;
+    private static final int CHUNK_SIZE = 1 << OFFSET_BITS;
+    static final int MAX_LENGTH = (1 << LENGTH_BITS) - 1;
+
+    // Strings are decoded through a per-thread scratch array instead of a new byte[] per read
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[MAX_LENGTH]);
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    // Write position in the last chunk; starts full so the first write allocates one
+    private int position = CHUNK_SIZE;
+    private long liveBytes;
+    private long deadBytes;
+
+    long put(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes exceeds " + MAX_LENGTH);
+        }
+        return put(bytes, bytes.length);
+    }
+
+    String get(long ref) {
+        int length = length(ref);
+        byte[] scratch = SCRATCH.get();
+        chunks[chunk(ref)].get(offset(ref), scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    void free(long ref) {
+        liveBytes -= length(ref);
+        deadBytes += length(ref);
+    }
+
+    /**
+     * Copies a string from another arena without decoding it.
+     */
+    long copyFrom(Utf8Arena other, long ref) {
+        int length = length(ref);
+        byte[] scratch = SCRATCH.get();
+        other.chunks[chunk(ref)].get(offset(ref), scratch, 0, length);
+        return put(scratch, length);
+    }
+
+    boolean needsCompaction() {
+        return deadBytes > CHUNK_SIZE && deadBytes > liveBytes;
+    }
+
+    long footprintBytes() {
+        return (long) chunks.length * CHUNK_SIZE;
+    }
+
+    private long put(byte[] bytes, int length) {
+        if (position + length > CHUNK_SIZE) {
+            chunks = Arrays.copyOf(chunks, chunks.length + 1);
+            chunks[chunks.length - 1] = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            position = 0;
+        }
+        int chunk = chunks.length - 1;
+        chunks[chunk].put(position, bytes, 0, length);
+        long ref = ((long) chunk << (OFFSET_BITS + LENGTH_BITS)) | ((long) position << LENGTH_BITS) | length;
+        position += length;
+        liveBytes += length;
+        return ref;
+    }
+
+    private static int chunk(long ref) {
+        return (int) (ref >>> (OFFSET_BITS + LENGTH_BITS));
+    }
+
+    private static int offset(long ref) {
+        return (int) (ref >>> LENGTH_BITS) & (CHUNK_SIZE - 1);
+    }
+
+    private static int length(long ref) {
+        return (int) ref & MAX_LENGTH;
+    }
+}
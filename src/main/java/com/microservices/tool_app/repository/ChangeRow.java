@@ -0,0 +1,13 @@
+package com.microservices.tool_app.repository;
+
+/**
+ * A row returned by a delta-sync query, ordered by (change sequence, row ID).
+ */
+public interface ChangeRow<T> {
+
+    Long changeSeq();
+
+    Long rowId();
+
+    T toDto();
+}
@@ -0,0 +1,177 @@
+package com.microservices.tool_app.repository;
+
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Change sequences of the tables delta sync follows, one database sequence per table.
+ * <p>
+ * Writers stamp {@code change_seq} with {@link #next} and never wait for one another. Values
+ * are handed out in the order writers ask, not the order they commit, so a reader that moved
+ * past one whose transaction is still open could miss it for good. Each value is therefore
+ * tracked from when it is taken until its transaction completes, and readers stop at
+ * {@link #completed}, just below the lowest still in flight.
+ * <p>
+ * The tracking is in memory and covers this instance only; writers that bypass the services
+ * still take their values here.
+ */
+@Component
+public class ChangeSequences {
+
+    public static final String TOOLS = "tools";
+    public static final String USERS = "users";
+
+    private static final String SELECT_LAST_VALUE =
+            "select base_value - 1 from information_schema.sequences where sequence_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Table> tables = Map.of(
+            TOOLS, new Table("tools_change_seq"),
+            USERS, new Table("users_change_seq"));
+    // Committing transactions share the read lock, from just before their commit until their
+    // after-commit work is done; betweenCommits takes the write lock
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+
+    public ChangeSequences(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return a new change sequence for the table, held in flight until the current transaction completes
+     */
+    public long next(String tableName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Change sequences can only be taken in a transaction");
+        }
+        Table table = table(tableName);
+        long seq;
+        // Taken and recorded together, so completed never sees the one without the other
+        synchronized (this) {
+            seq = jdbcTemplate.queryForObject("select next value for " + table.sequence, Long.class);
+            table.inFlight.add(seq);
+            table.highest = Math.max(table.highest, seq);
+        }
+        taken().add(new Taken(table, seq));
+        return seq;
+    }
+
+    /**
+     * @return the highest change sequence of the table at or below which every write has completed
+     */
+    public long completed(String tableName) {
+        Table table = table(tableName);
+        // Read first: any value it counts is in flight or already completed by the time the lock is held
+        long last = jdbcTemplate.queryForObject(SELECT_LAST_VALUE, Long.class,
+                table.sequence.toUpperCase(Locale.ROOT));
+        synchronized (this) {
+            return table.inFlight.isEmpty() ? last : Math.min(last, table.inFlight.first() - 1);
+        }
+    }
+
+    /**
+     * Runs {@code action} while no transaction is committing, holding new commits back until it
+     * returns. A snapshot started by the action includes exactly the writes that completed before it.
+     *
+     * @return whether the write stamped with a given change sequence of the table had completed by then
+     */
+    public LongPredicate betweenCommits(String tableName, Runnable action) {
+        Table table = table(tableName);
+        commits.writeLock().lock();
+        try {
+            action.run();
+            synchronized (this) {
+                Set<Long> inFlight = new HashSet<>(table.inFlight);
+                long highest = table.highest;
+                return seq -> seq <= highest && !inFlight.contains(seq);
+            }
+        } finally {
+            commits.writeLock().unlock();
+        }
+    }
+
+    private Table table(String tableName) {
+        Table table = tables.get(tableName);
+        if (table == null) {
+            throw new IllegalArgumentException("No change sequence for table '" + tableName + "'");
+        }
+        return table;
+    }
+
+    private synchronized void release(List<Taken> taken) {
+        for (Taken value : taken) {
+            value.table().inFlight.remove(value.seq());
+        }
+    }
+
+    // Values taken by the current transaction, released once it completes
+    private List<Taken> taken() {
+        @SuppressWarnings("unchecked")
+        List<Taken> taken = (List<Taken>) TransactionSynchronizationManager.getResource(this);
+        if (taken != null) {
+            return taken;
+        }
+        List<Taken> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            // First, so the rest of the after-commit work, publishing included, sees these writes as completed
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commits.readLock().lock();
+                committing = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                release(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequences.this);
+                    release(created);
+                } finally {
+                    if (committing) {
+                        commits.readLock().unlock();
+                    }
+                }
+            }
+        });
+        return created;
+    }
+
+    private record Taken(Table table, long seq) {}
+
+    private static final class Table {
+
+        private final String sequence;
+        // Guarded by the enclosing ChangeSequences
+        private final TreeSet<Long> inFlight = new TreeSet<>();
+        private long highest;
+
+        Table(String sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
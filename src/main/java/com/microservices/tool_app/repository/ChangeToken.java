@@ -0,0 +1,11 @@
+package com.microservices.tool_app.repository;
+
+/**
+ * Delta-sync position: the change sequence and row ID of the last change a client
+ * has received. Rows sharing a sequence (one batch write) are ordered by ID.
+ */
+public record ChangeToken(long changeSeq, long rowId) {
+
+    // Before every row, including seed and generated rows still at sequence 0
+    public static final ChangeToken START = new ChangeToken(-1, -1);
+}
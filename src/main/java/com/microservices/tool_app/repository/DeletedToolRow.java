@@ -0,0 +1,7 @@
+package com.microservices.tool_app.repository;
+
+/**
+ * A tool removed by a bulk delete: its id and type, as they were when it was deleted.
+ */
+public record DeletedToolRow(long toolId, String toolType) {
+}
@@ -0,0 +1,31 @@
+package com.microservices.tool_app.repository;
+
+import com.microservices.tool_app.entity.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TombstonesRepository extends JpaRepository<Tombstone, Long> {
+
+    @Modifying
+    @Query(value = "insert into tombstones (table_name, row_id, change_seq, deleted_at) "
+            + "values (:tableName, :rowId, :changeSeq, current_timestamp)", nativeQuery = true)
+    int insert(String tableName, Long rowId, long changeSeq);
+
+    // Set-based: one statement however many rows, bound as a single array parameter
+    @Modifying
+    @Query(value = "insert into tombstones (table_name, row_id, change_seq, deleted_at) "
+            + "select :tableName, r.row_id, :changeSeq, current_timestamp "
+            + "from unnest(cast(:rowIds as bigint array)) r(row_id)", nativeQuery = true)
+    int insertAll(String tableName, Long[] rowIds, long changeSeq);
+
+    @Query("select t from Tombstone t where t.tableName = :tableName"
+            + " and (t.changeSeq, t.rowId) > (:changeSeq, :rowId) and t.changeSeq <= :highSeq"
+            + " order by t.changeSeq, t.rowId")
+    List<Tombstone> findChangesAfter(String tableName, long changeSeq, long rowId, long highSeq, Limit limit);
+}
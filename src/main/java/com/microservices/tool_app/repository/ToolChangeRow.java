@@ -0,0 +1,20 @@
+package com.microservices.tool_app.repository;
+
+import com.microservices.tool_app.dto.ToolDto;
+
+/**
+ * A changed tool plus the change sequence the next delta-sync token is built from.
+ */
+public record ToolChangeRow(Long changeSeq, Long toolId, String toolName, String toolType, Long userId, Long version)
+        implements ChangeRow<ToolDto> {
+
+    @Override
+    public Long rowId() {
+        return toolId;
+    }
+
+    @Override
+    public ToolDto toDto() {
+        return new ToolDto(toolId, toolName, toolType, userId, version);
+    }
+}
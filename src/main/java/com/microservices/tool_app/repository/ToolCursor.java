@@ -0,0 +1,8 @@
+package com.microservices.tool_app.repository;
+
+/**
+ * Position of the last row of a page: its sort key value plus the tool ID
+ * used as a tie-breaker, so the next page can seek straight past it.
+ */
+public record ToolCursor(Object sortValue, Long toolId) {
+}
@@ -0,0 +1,10 @@
+package com.microservices.tool_app.repository;
+
+import com.microservices.tool_app.dto.ToolDto;
+
+/**
+ * A keyset page row: the projected tool plus the value of the column the
+ * page is sorted by, which the next cursor is built from.
+ */
+public record ToolPageRow(ToolDto tool, Object sortValue) {
+}
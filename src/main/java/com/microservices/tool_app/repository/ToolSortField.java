@@ -0,0 +1,40 @@
+package com.microservices.tool_app.repository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Tool properties that can be used as a sort key, together with how their
+ * values are parsed back out of a cursor.
+ */
+public enum ToolSortField {
+
+    TOOL_ID("toolId", Long::valueOf),
+    TOOL_NAME("toolName", value -> value),
+    TOOL_TYPE("toolType", value -> value),
+    CREATED_AT("createdAt", LocalDateTime::parse);
+
+    private final String property;
+    private final Function<String, Object> parser;
+
+    ToolSortField(String property, Function<String, Object> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static ToolSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + property));
+    }
+}
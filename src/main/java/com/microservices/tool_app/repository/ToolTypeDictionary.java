@@ -0,0 +1,191 @@
+package com.microservices.tool_app.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning cache over the tool_types dimension: each type name has one small integer key and
+ * one canonical String, which every loaded tool of that type shares.
+ * <p>
+ * Unknown names are created in the caller's transaction. A new type is visible to that
+ * transaction straight away but joins the shared cache only once it commits, so a rolled back
+ * insert never leaves other writers holding a key that does not exist.
+ */
+@Component
+public class ToolTypeDictionary {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // Indexed by key; replaced, never mutated, so readers need no lock
+    private volatile String[] names = new String[0];
+
+    public ToolTypeDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the canonical instance of the name, creating the type if it is new
+     */
+    public String resolve(String name) {
+        if (name == null) {
+            return null;
+        }
+        int id = resolveId(name);
+        String canonical = nameOf(id);
+        return canonical != null ? canonical : name;
+    }
+
+    /**
+     * @return the type's key, creating the type in the current transaction if it is new
+     */
+    public int resolveId(String name) {
+        Integer id = idOf(name);
+        if (id != null) {
+            return id;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Tool type '" + name + "' can only be created in a transaction");
+        }
+
+        try {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement insert = connection.prepareStatement(
+                        "insert into tool_types (name) values (?)", new String[]{"tool_type_id"});
+                insert.setString(1, name);
+                return insert;
+            }, keys);
+            id = keys.getKey().intValue();
+            pending().put(name, id);
+            return id;
+        } catch (DuplicateKeyException e) {
+            // Another writer created it and committed first
+            id = load(name);
+            if (id == null) {
+                throw e;
+            }
+            return id;
+        }
+    }
+
+    /**
+     * @return the key of a known type, or null if it does not exist yet
+     */
+    public Integer idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        Map<String, Integer> pending = pendingOrNull();
+        if (pending != null && (id = pending.get(name)) != null) {
+            return id;
+        }
+        return load(name);
+    }
+
+    /**
+     * @return the canonical name for a key, or null if no such type exists
+     */
+    public String nameOf(int id) {
+        String[] current = names;
+        if (id >= 0 && id < current.length && current[id] != null) {
+            return current[id];
+        }
+        Map<String, Integer> pending = pendingOrNull();
+        if (pending != null) {
+            for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+                if (entry.getValue() == id) {
+                    return entry.getKey();
+                }
+            }
+        }
+        List<String> found = jdbcTemplate.queryForList(
+                "select name from tool_types where tool_type_id = ?", String.class, id);
+        if (found.isEmpty()) {
+            return null;
+        }
+        return register(id, found.get(0));
+    }
+
+    /**
+     * @return the key of every type, ordered by name; read from the table on each call, so types
+     * created elsewhere are included
+     */
+    public List<Integer> idsByName() {
+        Map<String, Integer> pending = pendingOrNull();
+        List<Integer> ordered = new ArrayList<>();
+        jdbcTemplate.query("select tool_type_id, name from tool_types order by name", row -> {
+            int id = row.getInt(1);
+            // This transaction's own new types wait for its commit, as in resolveId
+            if (pending == null || !pending.containsValue(id)) {
+                register(id, row.getString(2));
+            }
+            ordered.add(id);
+        });
+        return ordered;
+    }
+
+    private Integer load(String name) {
+        List<Integer> found = jdbcTemplate.queryForList(
+                "select tool_type_id from tool_types where name = ?", Integer.class, name);
+        if (found.isEmpty()) {
+            return null;
+        }
+        int id = found.get(0);
+        register(id, name);
+        return id;
+    }
+
+    private synchronized String register(int id, String name) {
+        String[] current = names;
+        if (id < current.length && current[id] != null) {
+            return current[id];
+        }
+        String[] grown = id < current.length ? current.clone() : Arrays.copyOf(current, Math.max(16, id * 2));
+        grown[id] = name;
+        names = grown;
+        ids.put(name, id);
+        return name;
+    }
+
+    private Map<String, Integer> pendingOrNull() {
+        @SuppressWarnings("unchecked")
+        Map<String, Integer> pending = (Map<String, Integer>) TransactionSynchronizationManager.getResource(this);
+        return pending;
+    }
+
+    // Types created by the current transaction, registered with the cache once it commits
+    private Map<String, Integer> pending() {
+        Map<String, Integer> pending = pendingOrNull();
+        if (pending != null) {
+            return pending;
+        }
+        Map<String, Integer> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                created.forEach((name, id) -> register(id, name));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ToolTypeDictionary.this);
+            }
+        });
+        return created;
+    }
+}
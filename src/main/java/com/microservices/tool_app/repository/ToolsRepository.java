@@ -1,15 +1,60 @@
 package com.microservices.tool_app.repository;
 
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.dto.ToolDto;
 import com.microservices.tool_app.entity.Tool;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ToolsRepository extends JpaRepository<Tool, Long> {
+public interface ToolsRepository extends JpaRepository<Tool, Long>, ToolsRepositoryCustom {
+
+    // Read path: project straight into the DTO. t.user.userId resolves to the
+    // tools.user_id column, so no join and no managed entity is created.
+    String SELECT_TOOL_DTO = "select new com.microservices.tool_app.dto.ToolDto("
+            + "t.toolId, t.toolName, t.toolType, t.user.userId, t.version) from Tool t";
 
     Optional<Tool> findByToolName(String toolName);
     List<Tool> findByUser_UserId(Long userId);
+
+    @Query(SELECT_TOOL_DTO + " where t.toolId = :toolId")
+    Optional<ToolDto> findDtoById(Long toolId);
+
+    @Query(SELECT_TOOL_DTO + " where t.toolId in :toolIds")
+    List<ToolDto> findDtosByIdIn(Collection<Long> toolIds);
+
+    @Query(SELECT_TOOL_DTO)
+    List<ToolDto> findAllDtos();
+
+    @Query(value = SELECT_TOOL_DTO, countQuery = "select count(t) from Tool t")
+    Page<ToolDto> findAllDtos(Pageable pageable);
+
+    @Query(SELECT_TOOL_DTO + " where t.user.userId = :userId")
+    List<ToolDto> findDtosByUserId(Long userId);
+
+    // Tools for a whole page of users in one query, rather than one per user
+    @Query(SELECT_TOOL_DTO + " where t.user.userId in :userIds order by t.toolId")
+    List<ToolDto> findDtosByUserIdIn(Collection<Long> userIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + BaseConstants.EXPORT_BATCH_SIZE))
+    @Query(SELECT_TOOL_DTO)
+    Stream<ToolDto> streamAllDtos();
+
+    @Query("select new com.microservices.tool_app.repository.ToolChangeRow("
+            + "t.changeSeq, t.toolId, t.toolName, t.toolType, t.user.userId, t.version) from Tool t"
+            + " where (t.changeSeq, t.toolId) > (:changeSeq, :toolId) and t.changeSeq <= :highSeq"
+            + " order by t.changeSeq, t.toolId")
+    List<ToolChangeRow> findChangesAfter(long changeSeq, long toolId, long highSeq, Limit limit);
 }
@@ -0,0 +1,30 @@
+package com.microservices.tool_app.repository;
+
+import com.microservices.tool_app.dto.ToolDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ToolsRepositoryCustom {
+
+    /**
+     * Keyset page: returns up to {@code limit} tools ordered by
+     * {@code (sortField, toolId)} that come strictly after {@code after},
+     * or the first page when {@code after} is null. Types sort by name.
+     */
+    List<ToolPageRow> findPageAfter(ToolSortField sortField, ToolCursor after, int limit);
+
+    /**
+     * Offset page ordered by type name, then id; the pageable's sort is ignored.
+     */
+    Page<ToolDto> findAllDtosOrderedByTypeName(Pageable pageable);
+
+    /**
+     * Deletes every tool of the user in one set-based statement, bypassing the persistence
+     * context and entity callbacks.
+     *
+     * @return exactly the rows the statement deleted, ordered by id
+     */
+    List<DeletedToolRow> deleteByUserIdReturning(Long userId);
+}
@@ -0,0 +1,147 @@
+package com.microservices.tool_app.repository;
+
+import com.microservices.tool_app.dto.ToolDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ToolsRepositoryCustomImpl implements ToolsRepositoryCustom {
+
+    private static final String SELECT_PAGE_ROW = "select t.toolId, t.toolName, t.toolType, t.user.userId, t.version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ToolTypeDictionary toolTypes;
+
+    public ToolsRepositoryCustomImpl(ToolTypeDictionary toolTypes) {
+        this.toolTypes = toolTypes;
+    }
+
+    @Override
+    public List<ToolPageRow> findPageAfter(ToolSortField sortField, ToolCursor after, int limit) {
+        if (sortField == ToolSortField.TOOL_TYPE) {
+            return findPageAfterByTypeName(after, limit);
+        }
+
+        // The property name comes from the enum, never from the request
+        String sortKey = "t." + sortField.getProperty();
+        boolean tieBreak = sortField != ToolSortField.TOOL_ID;
+
+        StringBuilder jpql = new StringBuilder(SELECT_PAGE_ROW + ", " + sortKey + " from Tool t");
+        if (after != null) {
+            jpql.append(tieBreak
+                    ? " where (" + sortKey + ", t.toolId) > (:sortValue, :toolId)"
+                    : " where t.toolId > :toolId");
+        }
+        jpql.append(" order by ").append(sortKey);
+        if (tieBreak) {
+            jpql.append(", t.toolId");
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setMaxResults(limit);
+
+        if (after != null) {
+            query.setParameter("toolId", after.toolId());
+            if (tieBreak) {
+                query.setParameter("sortValue", after.sortValue());
+            }
+        }
+
+        return query.getResultList()
+                .stream()
+                .map(row -> new ToolPageRow(toolDto(row), row[5]))
+                .toList();
+    }
+
+    @Override
+    public Page<ToolDto> findAllDtosOrderedByTypeName(Pageable pageable) {
+        // The type name lives in tool_types, which has no entity to join in JPQL
+        List<?> rows = entityManager.createNativeQuery(
+                        "select t.tool_id, t.tool_name, t.tool_type_id, t.user_id, t.version from tools t"
+                                + " join tool_types tt on tt.tool_type_id = t.tool_type_id"
+                                + " order by tt.name, t.tool_id")
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<ToolDto> content = new ArrayList<>(rows.size());
+        for (Object result : rows) {
+            Object[] row = (Object[]) result;
+            content.add(new ToolDto(((Number) row[0]).longValue(), (String) row[1],
+                    toolTypes.nameOf(((Number) row[2]).intValue()), ((Number) row[3]).longValue(),
+                    ((Number) row[4]).longValue()));
+        }
+        long total = entityManager.createQuery("select count(t) from Tool t", Long.class).getSingleResult();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<DeletedToolRow> deleteByUserIdReturning(Long userId) {
+        // The delete reports its own rows, so a tool moved to or from the user by a concurrent
+        // commit is either deleted and listed or neither
+        List<?> rows = entityManager.createNativeQuery(
+                        "select d.tool_id, d.tool_type_id from old table (delete from tools where user_id = :userId) d"
+                                + " order by d.tool_id")
+                .setParameter("userId", userId)
+                .getResultList();
+
+        List<DeletedToolRow> deleted = new ArrayList<>(rows.size());
+        for (Object result : rows) {
+            Object[] row = (Object[]) result;
+            deleted.add(new DeletedToolRow(((Number) row[0]).longValue(),
+                    toolTypes.nameOf(((Number) row[1]).intValue())));
+        }
+        return deleted;
+    }
+
+    /*
+     * Type keys are assigned in creation order, so the (type key, id) index does not give name
+     * order by itself. Walk the types in name order instead and seek each one on that index,
+     * continuing into the next type until the page is full.
+     *
+     * V5's note on that index says pages come in type-id order; they no longer do. Migrations
+     * are checksummed, so the correction lives here rather than in the script.
+     */
+    private List<ToolPageRow> findPageAfterByTypeName(ToolCursor after, int limit) {
+        List<Integer> typeIds = toolTypes.idsByName();
+        int first = 0;
+        Long afterToolId = null;
+        if (after != null) {
+            Integer afterType = toolTypes.idOf((String) after.sortValue());
+            first = afterType == null ? -1 : typeIds.indexOf(afterType);
+            if (first < 0) {
+                throw new IllegalArgumentException("Cursor refers to an unknown tool type");
+            }
+            afterToolId = after.toolId();
+        }
+
+        List<ToolPageRow> page = new ArrayList<>(limit);
+        for (int i = first; i < typeIds.size() && page.size() < limit; i++) {
+            TypedQuery<Object[]> query = entityManager.createQuery(SELECT_PAGE_ROW + " from Tool t"
+                            + " where t.toolType = :type" + (afterToolId != null ? " and t.toolId > :toolId" : "")
+                            + " order by t.toolId", Object[].class)
+                    .setParameter("type", toolTypes.nameOf(typeIds.get(i)))
+                    .setMaxResults(limit - page.size());
+            if (afterToolId != null) {
+                query.setParameter("toolId", afterToolId);
+                afterToolId = null;
+            }
+            for (Object[] row : query.getResultList()) {
+                page.add(new ToolPageRow(toolDto(row), row[2]));
+            }
+        }
+        return page;
+    }
+
+    private static ToolDto toolDto(Object[] row) {
+        return new ToolDto((Long) row[0], (String) row[1], (String) row[2], (Long) row[3], (Long) row[4]);
+    }
+}
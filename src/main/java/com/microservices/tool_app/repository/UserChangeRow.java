@@ -0,0 +1,22 @@
+package com.microservices.tool_app.repository;
+
+import com.microservices.tool_app.dto.UserDto;
+
+import java.time.LocalDate;
+
+/**
+ * A changed user plus the change sequence the next delta-sync token is built from.
+ */
+public record UserChangeRow(Long changeSeq, Long userId, String name, String email, LocalDate dateOfBirth, Long version)
+        implements ChangeRow<UserDto> {
+
+    @Override
+    public Long rowId() {
+        return userId;
+    }
+
+    @Override
+    public UserDto toDto() {
+        return new UserDto(userId, name, email, dateOfBirth, version);
+    }
+}
@@ -0,0 +1,11 @@
+package com.microservices.tool_app.repository;
+
+import java.time.LocalDate;
+
+/**
+ * One row of a user left-joined to their tools. A user without tools comes back
+ * as a single row whose tool columns are all null.
+ */
+public record UserToolRow(Long userId, String name, String email, LocalDate dateOfBirth,
+                          Long toolId, String toolName, String toolType) {
+}
@@ -1,15 +1,79 @@
 package com.microservices.tool_app.repository;
 
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.dto.UserDto;
 import com.microservices.tool_app.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface UsersRepository extends JpaRepository<User, Long> {
+
+    // Read path: project straight into the DTO without hydrating User entities
+    String SELECT_USER_DTO = "select new com.microservices.tool_app.dto.UserDto("
+            + "u.userId, u.name, u.email, u.dateOfBirth, u.version) from User u";
+
     Optional<User> findByEmail(String email);
     List<User> findByDateOfBirthBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query(SELECT_USER_DTO + " where u.userId = :userId")
+    Optional<UserDto> findDtoById(Long userId);
+
+    @Query(SELECT_USER_DTO + " where u.userId in :userIds")
+    List<UserDto> findDtosByIdIn(Collection<Long> userIds);
+
+    // User, tools and (in the caller) per-type counts from one left join instead of
+    // findDtoById followed by findDtosByUserId
+    @Query("select new com.microservices.tool_app.repository.UserToolRow("
+            + "u.userId, u.name, u.email, u.dateOfBirth, t.toolId, t.toolName, t.toolType) "
+            + "from User u left join u.tools t where u.userId = :userId order by t.toolId")
+    List<UserToolRow> findWithToolsById(Long userId);
+
+    @Query(SELECT_USER_DTO + " where u.email = :email")
+    Optional<UserDto> findDtoByEmail(String email);
+
+    @Query(SELECT_USER_DTO)
+    List<UserDto> findAllDtos();
+
+    @Query(value = SELECT_USER_DTO, countQuery = "select count(u) from User u")
+    Page<UserDto> findAllDtos(Pageable pageable);
+
+    @Query(SELECT_USER_DTO + " where u.dateOfBirth between :startDate and :endDate")
+    List<UserDto> findDtosByDateOfBirthBetween(LocalDate startDate, LocalDate endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + BaseConstants.EXPORT_BATCH_SIZE))
+    @Query(SELECT_USER_DTO)
+    Stream<UserDto> streamAllDtos();
+
+    @Query("select new com.microservices.tool_app.repository.UserChangeRow("
+            + "u.changeSeq, u.userId, u.name, u.email, u.dateOfBirth, u.version) from User u"
+            + " where (u.changeSeq, u.userId) > (:changeSeq, :userId) and u.changeSeq <= :highSeq"
+            + " order by u.changeSeq, u.userId")
+    List<UserChangeRow> findChangesAfter(long changeSeq, long userId, long highSeq, Limit limit);
+
+    @Query("select u.userId from User u where u.userId in :userIds")
+    Set<Long> findExistingUserIds(Collection<Long> userIds);
+
+    @Query("select u.email from User u where u.userId = :userId")
+    Optional<String> findEmailById(Long userId);
+
+    // Callers must delete the user's tools first; the User.tools cascade is not applied here
+    @Modifying
+    @Query("delete from User u where u.userId = :userId")
+    int deleteByIdInBulk(Long userId);
 }
@@ -0,0 +1,10 @@
+package com.microservices.tool_app.service;
+
+import com.microservices.tool_app.dto.DatasetRequestDto;
+import com.microservices.tool_app.dto.DatasetStatusDto;
+
+public interface IDatasetService {
+    DatasetStatusDto generate(DatasetRequestDto request);
+    DatasetStatusDto startGeneration(DatasetRequestDto request);
+    DatasetStatusDto getStatus();
+}
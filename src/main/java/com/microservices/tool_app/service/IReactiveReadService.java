@@ -0,0 +1,26 @@
+package com.microservices.tool_app.service;
+
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveReadService {
+
+    /**
+     * Streams every tool in id order, fetching rows only as fast as the subscriber requests them.
+     */
+    Flux<ToolDto> getAllTools();
+
+    /**
+     * @return the tool, or an empty Mono if it does not exist
+     */
+    Mono<ToolDto> getToolById(Long id);
+
+    /**
+     * @return the user, or an empty Mono if it does not exist
+     */
+    Mono<UserDto> getUserById(Long id);
+
+    Flux<ToolDto> getToolsByUserId(Long userId);
+}
@@ -1,23 +1,43 @@
 package com.microservices.tool_app.service;
 
+import com.microservices.tool_app.dto.BatchResponseDto;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.dto.CursorPaginatedResponseDto;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
 import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.ToolFacetsDto;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IToolService {
 
     ToolDto createTool(ToolDto toolDto);
 
+    BatchResponseDto createTools(List<ToolDto> toolDtos);
+
     List<ToolDto> getAllTools();
     Page<ToolDto> getAllTools(int page, int size, String sortBy);
+    CursorPaginatedResponseDto<ToolDto> getAllTools(String cursor, int size, String sortBy, boolean includeTotal);
+
+    void streamAllTools(Consumer<ToolDto> consumer);
 
     ToolDto getToolById(Long id);
 
-    boolean updateTool(ToolDto toolDto);
+    MultiGetResponseDto<ToolDto> getToolsByIds(List<Long> ids);
+
+    // expectedVersion null means unconditional
+    boolean updateTool(ToolDto toolDto, Long expectedVersion);
 
     boolean deleteTool(Long id);
 
     List<ToolDto> getToolsByUserId(Long userId);
 
+    long getToolsChangeCount();
+
+    ChangeSetDto<ToolDto> getToolChanges(String since, int limit);
+    List<ToolDto> searchTools(String text, String type, Long userId, int limit);
+    ToolFacetsDto getToolFacets();
+
 }
@@ -1,18 +1,31 @@
 package com.microservices.tool_app.service;
 
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
 import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.dto.UserSummaryDto;
 import org.springframework.data.domain.Page;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IUserService {
     UserDto createUser(UserDto userDto);
     List<UserDto> getAllUsers();
     Page<UserDto> getAllUsers(int page, int size, String sortBy);
+    void streamAllUsers(Consumer<UserDto> consumer);
     UserDto getUserById(Long id);
+    // The user with their current tool count filled in
+    UserDto withToolCount(UserDto user);
+    MultiGetResponseDto<UserDto> getUsersByIds(List<Long> ids);
+    UserSummaryDto getUserSummary(Long id);
+    Page<UserSummaryDto> getUserSummaries(int page, int size, String sortBy);
     UserDto getUserByEmail(String email);
     List<UserDto> getUsersByDOBRange(LocalDate startDate, LocalDate endDate);
-    boolean updateUser(Long id, UserDto userDto);
+    // expectedVersion null means unconditional
+    boolean updateUser(Long id, UserDto userDto, Long expectedVersion);
     boolean deleteUser(Long id);
+    long getUsersChangeCount();
+    ChangeSetDto<UserDto> getUserChanges(String since, int limit);
 }
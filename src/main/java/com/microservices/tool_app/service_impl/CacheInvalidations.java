@@ -0,0 +1,95 @@
+package com.microservices.tool_app.service_impl;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Keeps read-through puts from outliving a write that committed while the row was loading.
+ * <p>
+ * Each entity cache has a counter that writers bump once they commit, just before evicting.
+ * A reader notes the counter before loading, puts what it loaded, then evicts it again if the
+ * counter moved: either its put landed before the writer's evict, which removes it, or the
+ * reader sees the bump and removes it itself. The counter is per cache, not per key, so a
+ * write elsewhere in the table only costs a reader its put.
+ * <p>
+ * Puts and evicts both wait for the caller's commit, so a row read inside a transaction that
+ * rolls back is never cached. They go to the cache behind the transaction-aware decorator,
+ * which would otherwise defer them a second time, into a commit that has already happened.
+ */
+@Component
+public class CacheInvalidations {
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @return the cache's counter, to take before loading what will be put
+     */
+    public long stamp(String cacheName) {
+        return counter(cacheName).get();
+    }
+
+    public void putUnlessInvalidated(String cacheName, long stamp, Cache cache, Object key, Object value) {
+        Cache target = unwrap(cache);
+        afterCommit(() -> {
+            target.put(key, value);
+            if (counter(cacheName).get() != stamp) {
+                target.evict(key);
+            }
+        });
+    }
+
+    public void evictAfterCommit(String cacheName, Cache cache, Object key) {
+        invalidateAfterCommit(cacheName, cache, target -> target.evict(key));
+    }
+
+    // One synchronization for every key, where the transaction-aware cache would register one per key
+    public void evictAllAfterCommit(String cacheName, Cache cache, long[] keys) {
+        if (keys.length == 0) {
+            return;
+        }
+        invalidateAfterCommit(cacheName, cache, target -> {
+            for (long key : keys) {
+                target.evict(key);
+            }
+        });
+    }
+
+    // A rolled back write invalidates nothing
+    private void invalidateAfterCommit(String cacheName, Cache cache, Consumer<Cache> evict) {
+        afterCommit(() -> {
+            counter(cacheName).incrementAndGet();
+            if (cache != null) {
+                evict.accept(unwrap(cache));
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private AtomicLong counter(String cacheName) {
+        return counters.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    private static Cache unwrap(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+}
@@ -0,0 +1,400 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.constants.DatasetConstants;
+import com.microservices.tool_app.dto.DatasetRequestDto;
+import com.microservices.tool_app.dto.DatasetStatusDto;
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.ToolTypeDictionary;
+import com.microservices.tool_app.service.IDatasetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads synthetic users and tools with plain JDBC batches, bypassing JPA entirely.
+ * Ids are reserved up front by moving the entity sequences past the generated range, so
+ * the application can keep creating rows while, and after, the generator runs.
+ */
+@Service
+@RequiredArgsConstructor
+public class DatasetServiceImpl implements IDatasetService {
+
+    private static final String INSERT_USER =
+            "insert into users (user_id, name, email, date_of_birth, created_at) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_TOOL =
+            "insert into tools (tool_id, user_id, tool_name, tool_type_id, created_at) values (?, ?, ?, ?, ?)";
+
+    private static final long USER_HISTORY_DAYS = 5 * 365;
+    private static final long TOOL_HISTORY_SECONDS = 3 * 365 * 24 * 3600L;
+
+    private record ToolType(String name, int weight, String[] models) {}
+
+    // Rough shape of a hardware catalogue: hand and power tools dominate, specialist trades trail off
+    private static final ToolType[] TOOL_TYPES = {
+            new ToolType("Hand Tool", 34, new String[]{"Hammer", "Screwdriver Set", "Wrench", "Pliers", "Chisel", "Utility Knife"}),
+            new ToolType("Power Tool", 24, new String[]{"Cordless Drill", "Circular Saw", "Angle Grinder", "Jigsaw", "Impact Driver"}),
+            new ToolType("Measuring Tool", 10, new String[]{"Measuring Tape", "Spirit Level", "Laser Measure", "Caliper"}),
+            new ToolType("Garden Tool", 10, new String[]{"Spade", "Pruning Shears", "Rake", "Hedge Trimmer", "Leaf Blower"}),
+            new ToolType("Plumbing Tool", 6, new String[]{"Pipe Wrench", "Plunger", "Pipe Cutter", "Drain Snake"}),
+            new ToolType("Electrical Tool", 6, new String[]{"Multimeter", "Wire Stripper", "Voltage Tester", "Crimper"}),
+            new ToolType("Automotive Tool", 5, new String[]{"Torque Wrench", "Socket Set", "Jack Stand", "OBD Scanner"}),
+            new ToolType("Woodworking Tool", 4, new String[]{"Router", "Planer", "Clamp Set", "Orbital Sander"}),
+            new ToolType("Welding Tool", 1, new String[]{"MIG Welder", "Welding Helmet", "Angle Magnet"})
+    };
+    private static final int TOTAL_TYPE_WEIGHT = Arrays.stream(TOOL_TYPES).mapToInt(ToolType::weight).sum();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final ToolIndexer toolIndexer;
+    private final ReadModel readModel;
+    private final ToolTypeDictionary toolTypes;
+    private final ToolCounts toolCounts;
+    private final ChangeSequences changeSequences;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong usersInserted = new AtomicLong();
+    private final AtomicLong toolsInserted = new AtomicLong();
+    private volatile DatasetStatusDto lastStatus =
+            new DatasetStatusDto(DatasetStatusDto.State.IDLE, 0, 0, 0, 0, 0, null);
+    private volatile long startedAtNanos;
+
+    @Override
+    public DatasetStatusDto generate(DatasetRequestDto request) {
+        begin(request);
+        try {
+            return run(request);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public DatasetStatusDto startGeneration(DatasetRequestDto request) {
+        begin(request);
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    run(request);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return getStatus();
+    }
+
+    @Override
+    public DatasetStatusDto getStatus() {
+        DatasetStatusDto status = lastStatus;
+        if (status.getState() != DatasetStatusDto.State.RUNNING) {
+            return status;
+        }
+        return new DatasetStatusDto(status.getState(), status.getRequestedUsers(), status.getRequestedTools(),
+                usersInserted.get(), toolsInserted.get(), elapsedMillis(), null);
+    }
+
+    private void begin(DatasetRequestDto request) {
+        if (request.getUsers() < 0 || request.getTools() < 0) {
+            throw new IllegalArgumentException("User and tool counts must not be negative");
+        }
+        if (request.getTools() > 0 && request.getUsers() == 0) {
+            throw new IllegalArgumentException("Tools need at least one user to own them");
+        }
+        if (request.getUsers() > DatasetConstants.MAX_USERS) {
+            throw new IllegalArgumentException("A dataset must not contain more than " + DatasetConstants.MAX_USERS + " users");
+        }
+        if (request.getTools() > DatasetConstants.MAX_TOOLS) {
+            throw new IllegalArgumentException("A dataset must not contain more than " + DatasetConstants.MAX_TOOLS + " tools");
+        }
+        if (request.getZipfExponent() < 0) {
+            throw new IllegalArgumentException("Zipf exponent must not be negative");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A dataset is already being generated");
+        }
+
+        usersInserted.set(0);
+        toolsInserted.set(0);
+        startedAtNanos = System.nanoTime();
+        lastStatus = new DatasetStatusDto(DatasetStatusDto.State.RUNNING,
+                request.getUsers(), request.getTools(), 0, 0, 0, null);
+    }
+
+    private DatasetStatusDto run(DatasetRequestDto request) {
+        long firstUserId = 0;
+        long firstToolId = 0;
+        try {
+            long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+            firstUserId = reserveIds("users_seq", request.getUsers());
+            firstToolId = reserveIds("tools_seq", request.getTools());
+
+            insertUsers(firstUserId, request.getUsers(), new SplittableRandom(seed));
+            // The catalogue's keys, resolved once rather than looked up per row
+            int[] typeIds = transactionTemplate.execute(status -> Arrays.stream(TOOL_TYPES)
+                    .mapToInt(type -> toolTypes.resolveId(type.name()))
+                    .toArray());
+            insertToolsInParallel(firstToolId, request.getTools(), firstUserId,
+                    new OwnerSampler((int) request.getUsers(), request.getZipfExponent()), typeIds, seed);
+
+            lastStatus = new DatasetStatusDto(DatasetStatusDto.State.COMPLETED, request.getUsers(), request.getTools(),
+                    usersInserted.get(), toolsInserted.get(), elapsedMillis(), null);
+        } catch (RuntimeException e) {
+            lastStatus = new DatasetStatusDto(DatasetStatusDto.State.FAILED, request.getUsers(), request.getTools(),
+                    usersInserted.get(), toolsInserted.get(), elapsedMillis(), e.getMessage());
+            throw e;
+        } finally {
+            // Batches commit as they go, so even a failed run may have changed both tables
+            publishChanges(firstUserId, request.getUsers(), firstToolId, request.getTools());
+        }
+        return lastStatus;
+    }
+
+    /**
+     * Stamps the generated ID ranges with a fresh change sequence per table, in one transaction.
+     * Rows were inserted at sequence 0 and only become visible to ETags and delta-sync clients
+     * at this point, since the generator bypasses the services.
+     */
+    private void publishChanges(long firstUserId, long users, long firstToolId, long tools) {
+        transactionTemplate.executeWithoutResult(status -> {
+            stampChangeSeq(ChangeSequences.USERS, "user_id", firstUserId, users);
+            stampChangeSeq(ChangeSequences.TOOLS, "tool_id", firstToolId, tools);
+        });
+        if (firstToolId != 0) {
+            toolIndexer.publish();
+            toolCounts.reconcile();
+        }
+        readModel.catchUp();
+    }
+
+    private void stampChangeSeq(String table, String idColumn, long firstId, long count) {
+        if (firstId == 0) {
+            return;
+        }
+        long changeSeq = changeSequences.next(table);
+        jdbcTemplate.update("update " + table + " set change_seq = ? where " + idColumn + " between ? and ?",
+                changeSeq, firstId, firstId + count - 1);
+    }
+
+    /**
+     * Claims the range with a single {@code next value} taken at an increment widened to cover it,
+     * then puts the increment back. Each value stands for the block of ids next to it, and no other
+     * caller can be handed a value that falls inside the claimed step, so Hibernate allocating
+     * blocks at any point meanwhile never overlaps the range.
+     * <p>
+     * A sequence nobody has used yet returns its start value without stepping, and ids up to the
+     * start are left to the sample rows, so the range is only claimed from the value after it.
+     */
+    private long reserveIds(String sequence, long count) {
+        if (count == 0) {
+            return 0;
+        }
+
+        // The previous value's block may reach up to one block past it, so the step skips that too
+        long step = count + DatasetConstants.SEQUENCE_BLOCK_SIZE;
+        jdbcTemplate.execute("alter sequence " + sequence + " increment by " + step);
+        try {
+            Long start = jdbcTemplate.queryForObject(
+                    "select start_value from information_schema.sequences where sequence_name = ?",
+                    Long.class, sequence.toUpperCase(Locale.ROOT));
+            Long taken = jdbcTemplate.queryForObject("select next value for " + sequence, Long.class);
+            if (taken.equals(start)) {
+                taken = jdbcTemplate.queryForObject("select next value for " + sequence, Long.class);
+            }
+            return taken - count + 1;
+        } finally {
+            jdbcTemplate.execute("alter sequence " + sequence + " increment by " + DatasetConstants.SEQUENCE_BLOCK_SIZE);
+        }
+    }
+
+    private void insertUsers(long firstId, long count, SplittableRandom random) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(DatasetConstants.INSERT_BATCH_SIZE);
+
+        for (long id = firstId; id < firstId + count; id++) {
+            // Ages roughly normal around 40, clipped to adults
+            double age = Math.max(18, Math.min(85, 40 + gaussian(random) * 13));
+            LocalDate dateOfBirth = today.minusDays((long) (age * 365.25));
+
+            batch.add(new Object[]{
+                    id,
+                    "User " + id,
+                    "user" + id + DatasetConstants.EMAIL_DOMAIN,
+                    Date.valueOf(dateOfBirth),
+                    Timestamp.valueOf(now.minusDays(random.nextLong(USER_HISTORY_DAYS)))
+            });
+            if (batch.size() == DatasetConstants.INSERT_BATCH_SIZE) {
+                flush(INSERT_USER, batch, usersInserted);
+            }
+        }
+        flush(INSERT_USER, batch, usersInserted);
+    }
+
+    /**
+     * Splits the tool id range across workers, in whole batches. Index maintenance dominates the
+     * load, and concurrent batches on disjoint key ranges spread it over the available cores.
+     */
+    private void insertToolsInParallel(long firstId, long count, long firstUserId, OwnerSampler owners,
+                                       int[] typeIds, long seed) {
+        long batches = (count + DatasetConstants.INSERT_BATCH_SIZE - 1) / DatasetConstants.INSERT_BATCH_SIZE;
+        int workers = (int) Math.max(1, Math.min(count / DatasetConstants.INSERT_BATCH_SIZE,
+                Math.min(Runtime.getRuntime().availableProcessors(), DatasetConstants.MAX_INSERT_WORKERS)));
+        long batchesPerWorker = (batches + workers - 1) / workers;
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (long fromBatch = 0; fromBatch < batches; fromBatch += batchesPerWorker) {
+                long start = fromBatch;
+                long end = Math.min(fromBatch + batchesPerWorker, batches);
+                futures.add(pool.submit(() -> {
+                    for (long batch = start; batch < end; batch++) {
+                        long batchStart = firstId + batch * DatasetConstants.INSERT_BATCH_SIZE;
+                        long batchSize = Math.min(DatasetConstants.INSERT_BATCH_SIZE, firstId + count - batchStart);
+                        insertTools(batchStart, batchSize, firstUserId, owners, typeIds, batchRandom(seed, batch));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dataset generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void insertTools(long firstId, long count, long firstUserId, OwnerSampler owners, int[] typeIds,
+                             SplittableRandom random) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(DatasetConstants.INSERT_BATCH_SIZE);
+
+        for (long id = firstId; id < firstId + count; id++) {
+            int typeIndex = pickType(random);
+            ToolType type = TOOL_TYPES[typeIndex];
+            String model = type.models()[random.nextInt(type.models().length)];
+            // Squaring a uniform value skews creation times towards the recent end
+            double age = random.nextDouble();
+            long secondsAgo = (long) (age * age * TOOL_HISTORY_SECONDS);
+
+            batch.add(new Object[]{
+                    id,
+                    firstUserId + owners.sample(random),
+                    model + " " + (100 + random.nextInt(900)),
+                    typeIds[typeIndex],
+                    Timestamp.valueOf(now.minusSeconds(secondsAgo))
+            });
+            if (batch.size() == DatasetConstants.INSERT_BATCH_SIZE) {
+                flush(INSERT_TOOL, batch, toolsInserted);
+            }
+        }
+        flush(INSERT_TOOL, batch, toolsInserted);
+    }
+
+    private void flush(String sql, List<Object[]> batch, AtomicLong inserted) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // One transaction per batch keeps undo logs small on multi-million row loads
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        inserted.addAndGet(batch.size());
+        batch.clear();
+    }
+
+    /**
+     * A batch's rows depend only on the seed and the batch's position, so a fixed seed yields
+     * the same rows however many workers the batches are spread over.
+     */
+    private static SplittableRandom batchRandom(long seed, long batch) {
+        // Seeds one apart would give overlapping streams, so the batch's seed is drawn from a mixed one
+        return new SplittableRandom(new SplittableRandom(seed ^ batch * 0x9E3779B97F4A7C15L).nextLong());
+    }
+
+    private int pickType(SplittableRandom random) {
+        int roll = random.nextInt(TOTAL_TYPE_WEIGHT);
+        for (int index = 0; index < TOOL_TYPES.length; index++) {
+            roll -= TOOL_TYPES[index].weight();
+            if (roll < 0) {
+                return index;
+            }
+        }
+        return TOOL_TYPES.length - 1;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    private long elapsedMillis() {
+        return (System.nanoTime() - startedAtNanos) / 1_000_000;
+    }
+
+    /**
+     * Draws a 0-based owner rank. With exponent 0 every owner is equally likely; otherwise
+     * rank k is chosen with probability proportional to 1 / (k + 1)^exponent.
+     */
+    static final class OwnerSampler {
+
+        private final int owners;
+        private final double[] cdf;
+
+        OwnerSampler(int owners, double exponent) {
+            this.owners = owners;
+            if (owners == 0 || exponent == 0) {
+                this.cdf = null;
+                return;
+            }
+
+            this.cdf = new double[owners];
+            double total = 0;
+            for (int rank = 0; rank < owners; rank++) {
+                total += 1.0 / Math.pow(rank + 1, exponent);
+                cdf[rank] = total;
+            }
+            for (int rank = 0; rank < owners; rank++) {
+                cdf[rank] /= total;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            if (cdf == null) {
+                return random.nextInt(owners);
+            }
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, owners - 1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.entity.Tombstone;
+import com.microservices.tool_app.mapper.ChangeTokenMapper;
+import com.microservices.tool_app.repository.ChangeRow;
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.ChangeToken;
+import com.microservices.tool_app.repository.TombstonesRepository;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the upserts and tombstones of one table after a delta-sync token and merges them
+ * in (change sequence, row ID) order. Both reads are capped at the table's completed change
+ * sequence as read first, so every change at or below it has committed and the page is a
+ * complete prefix even while writers are running.
+ */
+final class DeltaSync {
+
+    @FunctionalInterface
+    interface UpsertQuery<T> {
+        List<? extends ChangeRow<T>> after(long changeSeq, long rowId, long highSeq, Limit limit);
+    }
+
+    private DeltaSync() {}
+
+    static <T> ChangeSetDto<T> load(String tableName, String since, int limit,
+                                    ChangeSequences changeSequences, TombstonesRepository tombstones,
+                                    UpsertQuery<T> upsertQuery) {
+        if (limit < 1 || limit > BaseConstants.CHANGES_MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + BaseConstants.CHANGES_MAX_LIMIT);
+        }
+        ChangeToken after = (since == null || since.isBlank())
+                ? ChangeToken.START
+                : ChangeTokenMapper.mapToChangeToken(since, tableName);
+
+        long highSeq = changeSequences.completed(tableName);
+        // One extra row from each side tells whether another page follows
+        Limit fetch = Limit.of(limit + 1);
+        List<? extends ChangeRow<T>> changed = upsertQuery.after(after.changeSeq(), after.rowId(), highSeq, fetch);
+        List<Tombstone> deleted = tombstones.findChangesAfter(
+                tableName, after.changeSeq(), after.rowId(), highSeq, fetch);
+
+        List<T> upserts = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        ChangeToken last = after;
+        int c = 0;
+        int d = 0;
+        while (c + d < limit && (c < changed.size() || d < deleted.size())) {
+            if (d == deleted.size() || (c < changed.size() && comesFirst(changed.get(c), deleted.get(d)))) {
+                ChangeRow<T> row = changed.get(c++);
+                upserts.add(row.toDto());
+                last = new ChangeToken(row.changeSeq(), row.rowId());
+            } else {
+                Tombstone tombstone = deleted.get(d++);
+                deletedIds.add(tombstone.getRowId());
+                last = new ChangeToken(tombstone.getChangeSeq(), tombstone.getRowId());
+            }
+        }
+
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        return new ChangeSetDto<>(upserts, deletedIds, ChangeTokenMapper.mapToToken(tableName, last), hasMore);
+    }
+
+    private static boolean comesFirst(ChangeRow<?> row, Tombstone tombstone) {
+        int bySeq = Long.compare(row.changeSeq(), tombstone.getChangeSeq());
+        return bySeq != 0 ? bySeq < 0 : row.rowId() <= tombstone.getRowId();
+    }
+}
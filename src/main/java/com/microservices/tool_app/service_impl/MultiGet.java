@@ -0,0 +1,120 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Resolves a set of ids against the entity cache first, then loads the misses with one
+ * {@code IN} query per {@link BaseConstants#MULTI_GET_CHUNK_SIZE} ids and hands what it finds
+ * to {@code cachePut}.
+ */
+final class MultiGet {
+
+    private MultiGet() {}
+
+    static <T> MultiGetResponseDto<T> load(List<Long> ids, Class<T> type, Cache cache,
+                                           Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf,
+                                           BiConsumer<Long, T> cachePut) {
+        if (ids == null || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("ids must not be null or contain null");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > BaseConstants.MULTI_GET_MAX_IDS) {
+            throw new IllegalArgumentException("At most " + BaseConstants.MULTI_GET_MAX_IDS + " ids per request");
+        }
+
+        Map<Long, T> found = resolve(requested, type, cache, loader, idOf, cachePut);
+
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetResponseDto<>(items, missingIds);
+    }
+
+    /**
+     * Same resolution for ids the application produced itself, such as an index entry, so there
+     * is no cap on how many. Ids with no row are skipped. Read-through only: one owner's tools
+     * would otherwise push everyone else's hot entries out of the bounded cache.
+     * <p>
+     * The misses are loaded with one {@code IN} query only while they are few: once they fill
+     * more than one chunk, or most ids miss, {@code loadWhole} answers the whole set with a
+     * single query instead, so the result never spans several statements and snapshots.
+     */
+    static <T> List<T> loadAll(long[] ids, Class<T> type, Cache cache,
+                               Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf,
+                               Supplier<List<T>> loadWhole) {
+        Map<Long, T> found = new HashMap<>(ids.length * 2);
+        List<Long> misses = new ArrayList<>();
+        for (long id : ids) {
+            T cached = cache != null ? cache.get(id, type) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (misses.size() > BaseConstants.MULTI_GET_CHUNK_SIZE || misses.size() * 2 > ids.length) {
+            return loadWhole.get();
+        }
+        if (!misses.isEmpty()) {
+            for (T item : loader.apply(misses)) {
+                found.put(idOf.apply(item), item);
+            }
+        }
+
+        List<T> items = new ArrayList<>(found.size());
+        for (long id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static <T> Map<Long, T> resolve(Collection<Long> ids, Class<T> type, Cache cache,
+                                            Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf,
+                                            BiConsumer<Long, T> cachePut) {
+        Map<Long, T> found = new HashMap<>(ids.size() * 2);
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            T cached = cache != null ? cache.get(id, type) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        for (int from = 0; from < misses.size(); from += BaseConstants.MULTI_GET_CHUNK_SIZE) {
+            List<Long> chunk = misses.subList(from, Math.min(from + BaseConstants.MULTI_GET_CHUNK_SIZE, misses.size()));
+            for (T item : loader.apply(chunk)) {
+                found.put(idOf.apply(item), item);
+                if (cache != null) {
+                    cachePut.accept(idOf.apply(item), item);
+                }
+            }
+        }
+        return found;
+    }
+}
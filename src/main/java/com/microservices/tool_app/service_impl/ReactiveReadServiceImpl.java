@@ -0,0 +1,73 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.service.IReactiveReadService;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only queries over R2DBC, mapped straight to the DTOs the MVC controllers return.
+ * Nothing here goes through JPA or the entity caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadServiceImpl implements IReactiveReadService {
+
+    private static final String SELECT_TOOL = "select tool_id, tool_name, tt.name as tool_type, user_id, version "
+            + "from tools join tool_types tt on tt.tool_type_id = tools.tool_type_id";
+    private static final String SELECT_USER = "select user_id, name, email, date_of_birth, version from users";
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    @Override
+    public Flux<ToolDto> getAllTools() {
+        return reactiveDatabaseClient.sql(SELECT_TOOL + " order by tool_id")
+                .map(ReactiveReadServiceImpl::toToolDto)
+                .all()
+                // Request rows from the driver in batches rather than one per downstream demand
+                .limitRate(BaseConstants.EXPORT_BATCH_SIZE);
+    }
+
+    @Override
+    public Mono<ToolDto> getToolById(Long id) {
+        return reactiveDatabaseClient.sql(SELECT_TOOL + " where tool_id = :id")
+                .bind("id", id)
+                .map(ReactiveReadServiceImpl::toToolDto)
+                .one();
+    }
+
+    @Override
+    public Mono<UserDto> getUserById(Long id) {
+        return reactiveDatabaseClient.sql(SELECT_USER + " where user_id = :id")
+                .bind("id", id)
+                .map(ReactiveReadServiceImpl::toUserDto)
+                .one();
+    }
+
+    @Override
+    public Flux<ToolDto> getToolsByUserId(Long userId) {
+        return reactiveDatabaseClient.sql(SELECT_TOOL + " where user_id = :userId order by tool_id")
+                .bind("userId", userId)
+                .map(ReactiveReadServiceImpl::toToolDto)
+                .all();
+    }
+
+    private static ToolDto toToolDto(Readable row) {
+        return new ToolDto(row.get("tool_id", Long.class), row.get("tool_name", String.class),
+                row.get("tool_type", String.class), row.get("user_id", Long.class), row.get("version", Long.class));
+    }
+
+    private static UserDto toUserDto(Readable row) {
+        return new UserDto(row.get("user_id", Long.class), row.get("name", String.class),
+                row.get("email", String.class), row.get("date_of_birth", LocalDate.class),
+                row.get("version", Long.class));
+    }
+}
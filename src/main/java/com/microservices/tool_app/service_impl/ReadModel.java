@@ -0,0 +1,168 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.constants.CacheConstants;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.entity.Tool;
+import com.microservices.tool_app.entity.User;
+import com.microservices.tool_app.mapper.ToolMapper;
+import com.microservices.tool_app.mapper.UserMapper;
+import com.microservices.tool_app.readmodel.RowStoreCache;
+import com.microservices.tool_app.readmodel.ToolRowStore;
+import com.microservices.tool_app.readmodel.UserRowStore;
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.TombstonesRepository;
+import com.microservices.tool_app.repository.ToolsRepository;
+import com.microservices.tool_app.repository.UsersRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Optional in-memory projection of the tools and users tables that serves the by-id reads,
+ * in place of Hibernate and the entity caches, when {@code read-model.enabled=true}.
+ * <p>
+ * Rows live in the columnar {@link ToolRowStore} and {@link UserRowStore}. They are loaded
+ * from the delta-sync feeds before the application is ready, and the services apply each
+ * write synchronously once its transaction commits, so a writer reads its own write as soon
+ * as the call returns. Writers that bypass the services follow up with {@link #catchUp}.
+ * Rows the stores do not hold are read from the database as before.
+ */
+@Slf4j
+@Component
+public class ReadModel {
+
+    private final boolean enabled;
+    private final ToolRowStore toolRows = new ToolRowStore();
+    private final UserRowStore userRows = new UserRowStore();
+    private final Cache toolCache = new RowStoreCache(CacheConstants.TOOLS, toolRows::get);
+    private final Cache userCache = new RowStoreCache(CacheConstants.USERS, userRows::get);
+    private final ToolsRepository toolsRepository;
+    private final UsersRepository usersRepository;
+    private final ChangeSequences changeSequences;
+    private final TombstonesRepository tombstonesRepository;
+    private final TransactionTemplate readOnly;
+
+    // Guarded by this
+    private String toolsToken;
+    private String usersToken;
+
+    public ReadModel(@Value("${read-model.enabled:false}") boolean enabled,
+                     ToolsRepository toolsRepository, UsersRepository usersRepository,
+                     ChangeSequences changeSequences, TombstonesRepository tombstonesRepository,
+                     PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.toolsRepository = toolsRepository;
+        this.usersRepository = usersRepository;
+        this.changeSequences = changeSequences;
+        this.tombstonesRepository = tombstonesRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Read-only cache view of the tool rows, used in place of the entity cache while enabled.
+     */
+    public Cache toolCache() {
+        return toolCache;
+    }
+
+    public Cache userCache() {
+        return userCache;
+    }
+
+    public long footprintBytes() {
+        return toolRows.footprintBytes() + userRows.footprintBytes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        catchUp();
+        log.info("Read model loaded {} tools ({} types) and {} users in {} ms ({} KB)", toolRows.size(),
+                toolRows.typeCount(), userRows.size(), (System.nanoTime() - start) / 1_000_000,
+                footprintBytes() / 1024);
+    }
+
+    /**
+     * Applies every change committed so far, for writers that bypass the services.
+     */
+    public synchronized void catchUp() {
+        if (!enabled) {
+            return;
+        }
+        toolsToken = follow(ChangeSequences.TOOLS, toolsToken, toolsRepository::findChangesAfter,
+                toolRows::put, toolRows::delete);
+        usersToken = follow(ChangeSequences.USERS, usersToken, usersRepository::findChangesAfter,
+                userRows::put, userRows::delete);
+    }
+
+    public void putToolsAfterCommit(Collection<Tool> tools) {
+        // Mapped after commit: the flush is what increments an updated row's version
+        afterCommit(() -> toolRows.put(tools.stream().map(ToolMapper::mapToToolsDto).toList()));
+    }
+
+    public void deleteToolsAfterCommit(Collection<Long> toolIds) {
+        afterCommit(() -> toolRows.delete(toolIds));
+    }
+
+    public void putUserAfterCommit(User user) {
+        afterCommit(() -> userRows.put(UserMapper.mapToUsersDto(user)));
+    }
+
+    public void deleteUserAfterCommit(Long userId, long[] toolIds) {
+        afterCommit(() -> {
+            toolRows.delete(toolIds);
+            userRows.delete(List.of(userId));
+        });
+    }
+
+    private <T> String follow(String tableName, String token, DeltaSync.UpsertQuery<T> upsertQuery,
+                              Consumer<List<T>> put, Consumer<List<Long>> delete) {
+        ChangeSetDto<T> changes;
+        do {
+            String since = token;
+            changes = readOnly.execute(status -> DeltaSync.load(tableName, since, BaseConstants.CHANGES_MAX_LIMIT,
+                    changeSequences, tombstonesRepository, upsertQuery));
+            put.accept(changes.getUpserts());
+            delete.accept(changes.getDeletedIds());
+            token = changes.getNextToken();
+        } while (changes.isHasMore());
+        return token;
+    }
+
+    // A rolled back write is never applied
+    private void afterCommit(Runnable apply) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.constants.MetricsConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent lookups of the same key into one load. The first caller for a key runs the
+ * loader and publishes its result, or its exception, to every caller that arrived while it was
+ * running; the entry is dropped as soon as the load finishes, so nothing is cached here.
+ * <p>
+ * Calls made inside a transaction are never shared: they must see that transaction's own writes.
+ * Counts of loads that ran and calls that joined one are published as
+ * {@code service.lookups.coalesced}, tagged with the lookup name and outcome.
+ */
+class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter collapsed;
+
+    SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = meterRegistry.counter(MetricsConstants.COALESCED_LOOKUPS, "lookup", name, "outcome", "executed");
+        this.collapsed = meterRegistry.counter(MetricsConstants.COALESCED_LOOKUPS, "lookup", name, "outcome", "collapsed");
+    }
+
+    V execute(K key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            collapsed.increment();
+            return await(running);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's own exception so followers fail exactly as it did
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.ToolTypeDictionary;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Tool counts in total, per type and per owner, held in memory so facet and per-user counts
+ * are read without aggregating the tools table.
+ * <p>
+ * The services apply each write as a delta once its transaction commits; the counters are
+ * {@link LongAdder}s, so writers adding to one popular type do not contend on it. Writes that
+ * bypass the services are picked up by a recount from the database, at startup and then every
+ * {@code tool-counts.reconcile-interval}. A recount starts its snapshot between two commits,
+ * which tells it exactly which tools change sequences the snapshot includes, and each delta
+ * carries its write's change sequence: deltas recorded while the recount ran are replayed onto
+ * it, unless the snapshot already includes them, before it replaces the current counts.
+ */
+@Slf4j
+@Component
+public class ToolCounts {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ToolTypeDictionary toolTypes;
+    private final ChangeSequences changeSequences;
+    private final TransactionTemplate snapshot;
+    private final Duration reconcileInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tool-counts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Deltas share the read lock; installing a recount takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Counts counts = new Counts();
+    // Deltas applied while a recount runs, or null when none does
+    private Queue<Delta> recorded;
+
+    public ToolCounts(JdbcTemplate jdbcTemplate, ToolTypeDictionary toolTypes, ChangeSequences changeSequences,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${tool-counts.reconcile-interval:PT5M}") Duration reconcileInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.toolTypes = toolTypes;
+        this.changeSequences = changeSequences;
+        // Serializable so both aggregates come from the same snapshot; readers take no locks
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setReadOnly(true);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public long total() {
+        return Math.max(0, counts.total.sum());
+    }
+
+    /**
+     * @return tool count per type, ordered by type; types without tools are left out
+     */
+    public Map<String, Long> byType() {
+        Map<String, Long> byType = new TreeMap<>();
+        counts.byType.forEach((type, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                byType.put(type, sum);
+            }
+        });
+        return byType;
+    }
+
+    public long ofUser(Long userId) {
+        LongAdder count = counts.byUser.get(userId);
+        return count == null ? 0 : Math.max(0, count.sum());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+        long millis = reconcileInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Recounts from the database, for writers that bypass the services.
+     */
+    public synchronized void reconcile() {
+        long start = System.nanoTime();
+        Queue<Delta> deltas = new ConcurrentLinkedQueue<>();
+        lock.writeLock().lock();
+        try {
+            recorded = deltas;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Counts fresh = new Counts();
+        LongPredicate included;
+        try {
+            included = snapshot.execute(status -> recount(fresh));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                recorded = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // A delta recorded while the snapshot was read may be newer than it; replay those
+            for (Delta delta : deltas) {
+                if (!included.test(delta.changeSeq())) {
+                    delta.change().accept(fresh);
+                }
+            }
+            counts = fresh;
+            recorded = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Recounted {} tools in {} ms", fresh.total.sum(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void addAfterCommit(long changeSeq, String type, Long userId) {
+        afterCommit(changeSeq, target -> target.add(type, userId, 1));
+    }
+
+    // Per-type and per-owner totals, for batches
+    public void addAllAfterCommit(long changeSeq, Map<String, Long> byType, Map<Long, Long> byUser) {
+        afterCommit(changeSeq, target -> {
+            byType.forEach((type, count) -> target.add(type, null, count));
+            byUser.forEach((userId, count) -> target.add(null, userId, count));
+        });
+    }
+
+    public void moveAfterCommit(long changeSeq, String oldType, Long oldUserId, String newType, Long newUserId) {
+        if (oldType.equals(newType) && oldUserId.equals(newUserId)) {
+            return;
+        }
+        afterCommit(changeSeq, target -> {
+            target.add(oldType, oldUserId, -1);
+            target.add(newType, newUserId, 1);
+        });
+    }
+
+    public void removeAfterCommit(long changeSeq, String type, Long userId) {
+        afterCommit(changeSeq, target -> target.add(type, userId, -1));
+    }
+
+    // The owner's tools, all deleted with them, counted per type
+    public void removeUserAfterCommit(long changeSeq, Long userId, Map<String, Long> byType) {
+        afterCommit(changeSeq, target -> {
+            byType.forEach((type, count) -> target.add(type, null, -count));
+            target.byUser.remove(userId);
+        });
+    }
+
+    private LongPredicate recount(Counts fresh) {
+        // The first statement fixes the snapshot; every write it includes has applied its deltas by then
+        LongPredicate included = changeSequences.betweenCommits(ChangeSequences.TOOLS,
+                () -> jdbcTemplate.queryForObject("select 1", Integer.class));
+        List<Object[]> byType = new ArrayList<>();
+        jdbcTemplate.query("select tool_type_id, count(*) from tools group by tool_type_id",
+                row -> { byType.add(new Object[]{row.getInt(1), row.getLong(2)}); });
+        // Names resolved after the scan, in case one has to be looked up
+        for (Object[] row : byType) {
+            fresh.add(toolTypes.nameOf((Integer) row[0]), null, (Long) row[1]);
+        }
+        jdbcTemplate.query("select user_id, count(*) from tools group by user_id",
+                row -> { fresh.add(null, row.getLong(1), row.getLong(2)); });
+        return included;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Tool count reconciliation failed; retrying in {}", reconcileInterval, e);
+        }
+    }
+
+    // A rolled back write is never applied
+    private void afterCommit(long changeSeq, Consumer<Counts> change) {
+        Delta delta = new Delta(changeSeq, change);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(delta);
+            }
+        });
+    }
+
+    private void apply(Delta delta) {
+        lock.readLock().lock();
+        try {
+            delta.change().accept(counts);
+            Queue<Delta> deltas = recorded;
+            if (deltas != null) {
+                deltas.add(delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Delta(long changeSeq, Consumer<Counts> change) {}
+
+    private static final class Counts {
+
+        private final LongAdder total = new LongAdder();
+        private final Map<String, LongAdder> byType = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> byUser = new ConcurrentHashMap<>();
+
+        // A null type or owner leaves that side, and the total, alone
+        void add(String type, Long userId, long count) {
+            if (type != null) {
+                total.add(count);
+                byType.computeIfAbsent(type, key -> new LongAdder()).add(count);
+            }
+            if (userId != null) {
+                byUser.computeIfAbsent(userId, key -> new LongAdder()).add(count);
+            }
+        }
+    }
+}
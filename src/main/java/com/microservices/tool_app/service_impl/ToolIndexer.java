@@ -0,0 +1,174 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.index.ToolOwnerIndex;
+import com.microservices.tool_app.index.ToolSearchIndex;
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.TombstonesRepository;
+import com.microservices.tool_app.repository.ToolsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-memory tool indexes ({@link ToolSearchIndex}, {@link ToolOwnerIndex}) in step
+ * with the tools table by following the tools delta-sync feed. At startup the feed is read
+ * from the start, which loads every tool, and the application is not ready until it has been;
+ * later refreshes apply only what changed since. Refreshes run one at a time on a background
+ * thread, so writers never wait for the indexes, and refresh requests arriving while one is
+ * queued are folded into it.
+ * <p>
+ * Writers publish once they have committed. Search tolerates trailing a commit by a refresh;
+ * owner lookups do not, and report nothing until every published change has been applied.
+ */
+@Slf4j
+@Component
+public class ToolIndexer {
+
+    private final ToolSearchIndex searchIndex = new ToolSearchIndex();
+    private final ToolOwnerIndex ownerIndex = new ToolOwnerIndex();
+    private final ToolsRepository toolsRepository;
+    private final ChangeSequences changeSequences;
+    private final TombstonesRepository tombstonesRepository;
+    private final TransactionTemplate readOnly;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tool-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean queued = new AtomicBoolean();
+    // Publications so far, and how many of them the indexes are known to include. Starts one
+    // behind so nothing is served from the indexes before the startup load.
+    private final AtomicLong published = new AtomicLong(1);
+    private volatile long applied;
+
+    // Only touched by the indexer thread
+    private String token;
+
+    public ToolIndexer(ToolsRepository toolsRepository, ChangeSequences changeSequences,
+                       TombstonesRepository tombstonesRepository, PlatformTransactionManager transactionManager) {
+        this.toolsRepository = toolsRepository;
+        this.changeSequences = changeSequences;
+        this.tombstonesRepository = tombstonesRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public List<ToolDto> search(String text, String type, Long userId, int limit) {
+        return searchIndex.search(text, type, userId, limit);
+    }
+
+    /**
+     * @return the ids of the user's tools, ascending, or null while a published change has yet to be applied
+     */
+    public long[] toolIdsOf(long userId) {
+        // Checked before reading: the index only moves forward, so what follows is at least this fresh
+        if (applied < published.get()) {
+            return null;
+        }
+        return ownerIndex.toolIdsOf(userId);
+    }
+
+    public long ownerIndexFootprintBytes() {
+        return ownerIndex.footprintBytes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() throws InterruptedException, ExecutionException {
+        long start = System.nanoTime();
+        catchUpNow();
+        ownerIndex.trimToSize();
+        log.info("Tool indexes loaded {} tools in {} ms ({} KB owner index)", ownerIndex.size(),
+                (System.nanoTime() - start) / 1_000_000, ownerIndex.footprintBytes() / 1024);
+    }
+
+    /**
+     * Applies every change committed so far before returning. For writers that bypass the
+     * services, once they have committed and published their change sequences.
+     */
+    public void catchUpNow() throws InterruptedException, ExecutionException {
+        published.incrementAndGet();
+        executor.submit(this::catchUp).get();
+    }
+
+    /**
+     * Records a committed change to the tools table and schedules a refresh.
+     */
+    public void publish() {
+        published.incrementAndGet();
+        if (!queued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                // Cleared first: a change published while this runs queues another refresh
+                queued.set(false);
+                catchUp();
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the indexes go with the application
+            queued.set(false);
+        }
+    }
+
+    /**
+     * Publishes once the current transaction commits, or straight away outside one. A rolled
+     * back write is never published.
+     */
+    public void publishAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish();
+            }
+        });
+    }
+
+    private void catchUp() {
+        // Taken before reading the feed, so every publication counted here has committed and will be read
+        long target = published.get();
+        try {
+            ChangeSetDto<ToolDto> changes;
+            do {
+                changes = readOnly.execute(status -> DeltaSync.load(ChangeSequences.TOOLS, token,
+                        BaseConstants.CHANGES_MAX_LIMIT, changeSequences, tombstonesRepository,
+                        toolsRepository::findChangesAfter));
+                searchIndex.apply(changes.getUpserts(), changes.getDeletedIds());
+                ownerIndex.apply(changes.getUpserts(), changes.getDeletedIds());
+                token = changes.getNextToken();
+            } while (changes.isHasMore());
+            applied = target;
+        } catch (RuntimeException e) {
+            // The token only moves past applied pages, so the next refresh resumes here
+            log.warn("Tool index refresh failed", e);
+        }
+    }
+
+    // Lets a running refresh finish while the repositories are still open
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
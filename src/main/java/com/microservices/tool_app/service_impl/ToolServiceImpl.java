@@ -1,85 +1,342 @@
 package com.microservices.tool_app.service_impl;
 
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.constants.CacheConstants;
+import com.microservices.tool_app.constants.MetricsConstants;
+import com.microservices.tool_app.constants.ToolConstants;
+import com.microservices.tool_app.dto.BatchItemResultDto;
+import com.microservices.tool_app.dto.BatchResponseDto;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.dto.CursorPaginatedResponseDto;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
 import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.ToolFacetsDto;
 import com.microservices.tool_app.entity.Tool;
 import com.microservices.tool_app.entity.User;
+import com.microservices.tool_app.exceptions.PreconditionFailedException;
+import com.microservices.tool_app.mapper.ToolCursorMapper;
 import com.microservices.tool_app.mapper.ToolMapper;
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.TombstonesRepository;
+import com.microservices.tool_app.repository.ToolCursor;
+import com.microservices.tool_app.repository.ToolPageRow;
+import com.microservices.tool_app.repository.ToolSortField;
+import com.microservices.tool_app.repository.ToolTypeDictionary;
 import com.microservices.tool_app.repository.ToolsRepository;
 import com.microservices.tool_app.repository.UsersRepository;
 import com.microservices.tool_app.service.IToolService;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@AllArgsConstructor
+@Transactional(readOnly = true)
+@Timed(MetricsConstants.SERVICE_INVOCATIONS)
 public class ToolServiceImpl implements IToolService {
 
     private final ToolsRepository toolsRepository;
     private final UsersRepository usersRepository;
+    private final ChangeSequences changeSequences;
+    private final TombstonesRepository tombstonesRepository;
+    private final ToolTypeDictionary toolTypes;
+    private final ToolIndexer toolIndexer;
+    private final ReadModel readModel;
+    private final ToolCounts toolCounts;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final CacheInvalidations cacheInvalidations;
+    private final SingleFlight<Long, ToolDto> toolLookups;
+
+    public ToolServiceImpl(ToolsRepository toolsRepository, UsersRepository usersRepository,
+                           ChangeSequences changeSequences, TombstonesRepository tombstonesRepository,
+                           ToolTypeDictionary toolTypes, ToolIndexer toolIndexer, ReadModel readModel,
+                           ToolCounts toolCounts, EntityManager entityManager, CacheManager cacheManager,
+                           CacheInvalidations cacheInvalidations, MeterRegistry meterRegistry) {
+        this.toolsRepository = toolsRepository;
+        this.usersRepository = usersRepository;
+        this.changeSequences = changeSequences;
+        this.tombstonesRepository = tombstonesRepository;
+        this.toolTypes = toolTypes;
+        this.toolIndexer = toolIndexer;
+        this.readModel = readModel;
+        this.toolCounts = toolCounts;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidations = cacheInvalidations;
+        this.toolLookups = new SingleFlight<>("tool", meterRegistry);
+    }
 
     // ✅ FIXED: return ToolDto instead of void
     @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConstants.TOOLS, key = "#result.toolId")
     public ToolDto createTool(ToolDto dto) {
 
         Tool tool = new Tool();
         tool.setToolName(dto.getToolName());
-        tool.setToolType(dto.getToolType());
 
         User user = usersRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        tool.setToolType(toolTypes.resolve(dto.getToolType()));
         tool.setUser(user);
         tool.setCreatedAt(LocalDateTime.now());
+        tool.setChangeSeq(changeSequences.next(ChangeSequences.TOOLS));
 
         // ✅ Save and capture generated ID
         Tool savedTool = toolsRepository.save(tool);
+        toolIndexer.publishAfterCommit();
+        readModel.putToolsAfterCommit(List.of(savedTool));
+        toolCounts.addAfterCommit(tool.getChangeSeq(), tool.getToolType(), user.getUserId());
 
         // ✅ Return DTO containing generated toolId
         return ToolMapper.mapToToolsDto(savedTool);
     }
 
+    @Override
+    @Transactional
+    public BatchResponseDto createTools(List<ToolDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one tool");
+        }
+        if (dtos.size() > ToolConstants.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must not contain more than " + ToolConstants.MAX_BATCH_SIZE + " tools");
+        }
+
+        // One set-based lookup for every referenced user instead of one findById per tool
+        Set<Long> requestedUserIds = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(ToolDto::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingUserIds = requestedUserIds.isEmpty()
+                ? Set.of()
+                : usersRepository.findExistingUserIds(requestedUserIds);
+
+        List<BatchItemResultDto> results = new ArrayList<>(dtos.size());
+        Map<Long, User> userReferences = new HashMap<>();
+        List<Tool> persisted = readModel.isEnabled() ? new ArrayList<>() : null;
+        Map<String, Long> createdByType = new HashMap<>();
+        Map<Long, Long> createdByUser = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        Long changeSeq = null;
+        int created = 0;
+
+        for (int index = 0; index < dtos.size(); index++) {
+            ToolDto dto = dtos.get(index);
+            BatchItemResultDto rejection = rejectBatchItem(index, dto, existingUserIds);
+
+            if (rejection != null) {
+                results.add(rejection);
+                continue;
+            }
+
+            Tool tool = new Tool();
+            tool.setToolName(dto.getToolName());
+            tool.setToolType(toolTypes.resolve(dto.getToolType()));
+            // Existence was checked above, so a proxy is enough and costs no SELECT
+            tool.setUser(userReferences.computeIfAbsent(dto.getUserId(), usersRepository::getReferenceById));
+            tool.setCreatedAt(now);
+            // The whole batch commits together, so it shares one change sequence
+            if (changeSeq == null) {
+                changeSeq = changeSequences.next(ChangeSequences.TOOLS);
+            }
+            tool.setChangeSeq(changeSeq);
+
+            // The pooled sequence assigns the ID on persist; the INSERT waits for the JDBC batch
+            entityManager.persist(tool);
+            if (persisted != null) {
+                persisted.add(tool);
+            }
+            createdByType.merge(tool.getToolType(), 1L, Long::sum);
+            createdByUser.merge(dto.getUserId(), 1L, Long::sum);
+            results.add(new BatchItemResultDto(index, tool.getToolId(), BaseConstants.STATUS_201, ToolConstants.MESSAGE_201));
+
+            if (++created % ToolConstants.BATCH_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                userReferences.clear();
+            }
+        }
+
+        if (created > 0) {
+            toolIndexer.publishAfterCommit();
+            if (persisted != null) {
+                readModel.putToolsAfterCommit(persisted);
+            }
+            toolCounts.addAllAfterCommit(changeSeq, createdByType, createdByUser);
+        }
+        return new BatchResponseDto(created, dtos.size() - created, results);
+    }
+
+    private BatchItemResultDto rejectBatchItem(int index, ToolDto dto, Set<Long> existingUserIds) {
+        if (dto == null || dto.getToolName() == null || dto.getToolName().isEmpty()) {
+            return new BatchItemResultDto(index, null, BaseConstants.STATUS_400, ToolConstants.MESSAGE_400_NAME);
+        }
+        if (dto.getToolType() == null || dto.getToolType().isEmpty()) {
+            return new BatchItemResultDto(index, null, BaseConstants.STATUS_400, ToolConstants.MESSAGE_400_TYPE);
+        }
+        if (dto.getUserId() == null) {
+            return new BatchItemResultDto(index, null, BaseConstants.STATUS_400, ToolConstants.MESSAGE_400_USER);
+        }
+        if (!existingUserIds.contains(dto.getUserId())) {
+            return new BatchItemResultDto(index, null, BaseConstants.STATUS_404, ToolConstants.MESSAGE_404_USER);
+        }
+        return null;
+    }
+
     @Override
     public List<ToolDto> getAllTools() {
-        return toolsRepository.findAll()
-                .stream()
-                .map(ToolMapper::mapToToolsDto)
-                .toList();
+        return toolsRepository.findAllDtos();
     }
 
     @Override
     public Page<ToolDto> getAllTools(int page, int size, String sortBy) {
+        // The type attribute holds the key, so sorting on it would order by creation, not name
+        if (ToolSortField.TOOL_TYPE.getProperty().equals(sortBy)) {
+            return toolsRepository.findAllDtosOrderedByTypeName(PageRequest.of(page, size));
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
 
-        Page<Tool> toolsPage = toolsRepository.findAll(pageable);
+        return toolsRepository.findAllDtos(pageable);
+    }
 
-        return toolsPage.map(ToolMapper::mapToToolsDto);
+    @Override
+    public CursorPaginatedResponseDto<ToolDto> getAllTools(String cursor, int size, String sortBy, boolean includeTotal) {
+        if (size < 1 || size > ToolConstants.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + ToolConstants.MAX_PAGE_SIZE);
+        }
+
+        ToolSortField sortField = ToolSortField.fromProperty(sortBy);
+        ToolCursor after = (cursor == null || cursor.isBlank())
+                ? null
+                : ToolCursorMapper.mapToCursor(cursor, sortField);
+
+        // Fetch one extra row to know whether another page follows, instead of counting
+        List<ToolPageRow> rows = toolsRepository.findPageAfter(sortField, after, size + 1);
+        boolean lastPage = rows.size() <= size;
+        if (!lastPage) {
+            rows = rows.subList(0, size);
+        }
+
+        String nextCursor = lastPage
+                ? null
+                : ToolCursorMapper.mapToCursorToken(sortField, rows.get(rows.size() - 1));
+
+        return new CursorPaginatedResponseDto<>(
+                rows.stream().map(ToolPageRow::tool).toList(),
+                size,
+                nextCursor,
+                includeTotal ? toolsRepository.count() : null,
+                lastPage
+        );
+    }
+
+    @Override
+    public void streamAllTools(Consumer<ToolDto> consumer) {
+        // Projected rows are never managed, so the persistence context stays empty however many are read
+        try (Stream<ToolDto> tools = toolsRepository.streamAllDtos()) {
+            tools.forEach(consumer);
+        }
     }
 
+    // SUPPORTS: callers waiting on a collapsed lookup must not each hold a connection open.
+    // Cached by hand: evaluating @Cacheable costs more than a read-model lookup.
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ToolDto getToolById(Long id) {
-        return toolsRepository.findById(id)
-                .map(ToolMapper::mapToToolsDto)
-                .orElse(null);
+        Cache cache = toolCache();
+        ToolDto cached = cache != null ? cache.get(id, ToolDto.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+        // Taken before the load: a write committed while it runs must not be outlived by its put
+        long stamp = cacheInvalidations.stamp(CacheConstants.TOOLS);
+        ToolDto tool = toolLookups.execute(id, () -> toolsRepository.findDtoById(id)
+                .orElse(null));
+        if (tool != null && cache != null) {
+            cacheInvalidations.putUnlessInvalidated(CacheConstants.TOOLS, stamp, cache, id, tool);
+        }
+        return tool;
     }
 
+    // SUPPORTS: a fully cached lookup never takes a connection; each IN query runs in its own
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MultiGetResponseDto<ToolDto> getToolsByIds(List<Long> ids) {
+        Cache cache = toolCache();
+        long stamp = cacheInvalidations.stamp(CacheConstants.TOOLS);
+        return MultiGet.load(ids, ToolDto.class, cache, toolsRepository::findDtosByIdIn, ToolDto::getToolId,
+                (id, tool) -> cacheInvalidations.putUnlessInvalidated(CacheConstants.TOOLS, stamp, cache, id, tool));
+    }
+
+    @Override
+    public ChangeSetDto<ToolDto> getToolChanges(String since, int limit) {
+        return DeltaSync.load(ChangeSequences.TOOLS, since, limit,
+                changeSequences, tombstonesRepository, toolsRepository::findChangesAfter);
+    }
+
+    // SUPPORTS: answered from memory, no connection needed
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ToolDto> searchTools(String text, String type, Long userId, int limit) {
+        if (limit < 1 || limit > ToolConstants.SEARCH_MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + ToolConstants.SEARCH_MAX_LIMIT);
+        }
+        return toolIndexer.search(text, type, userId, limit);
+    }
+
+    // SUPPORTS: counts are kept in memory, so this never aggregates the table
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ToolFacetsDto getToolFacets() {
+        return new ToolFacetsDto(toolCounts.total(), toolCounts.byType());
+    }
+
+    @Override
+    public long getToolsChangeCount() {
+        return changeSequences.completed(ChangeSequences.TOOLS);
+    }
+
+    // SUPPORTS: ids come from memory and rows from the cache where lookups by id left them. The
+    // rest take one query: by id while few miss, otherwise the owner's whole listing by user_id.
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<ToolDto> getToolsByUserId(Long id) {
-        return toolsRepository.findByUser_UserId(id)
-                .stream()
-                .map(ToolMapper::mapToToolsDto)
-                .toList();
+        long[] toolIds = toolIndexer.toolIdsOf(id);
+        if (toolIds == null) {
+            // The index trails a commit; the table already has it
+            return toolsRepository.findDtosByUserId(id);
+        }
+        return MultiGet.loadAll(toolIds, ToolDto.class, toolCache(),
+                toolsRepository::findDtosByIdIn, ToolDto::getToolId, () -> toolsRepository.findDtosByUserId(id));
     }
 
     @Override
-    public boolean updateTool(ToolDto dto) {
+    @Transactional
+    public boolean updateTool(ToolDto dto, Long expectedVersion) {
 
         Optional<Tool> existingOpt = toolsRepository.findById(dto.getToolId());
         if (existingOpt.isEmpty()) {
@@ -87,25 +344,51 @@ public class ToolServiceImpl implements IToolService {
         }
 
         Tool tool = existingOpt.get();
+        // Fails fast on a stale If-Match; a change committed after this read still fails the versioned UPDATE
+        if (expectedVersion != null && !expectedVersion.equals(tool.getVersion())) {
+            throw new PreconditionFailedException("Tool " + dto.getToolId() + " has been modified since version " + expectedVersion);
+        }
+
+        String oldType = tool.getToolType();
+        Long oldUserId = tool.getUser().getUserId();
         tool.setToolName(dto.getToolName());
-        tool.setToolType(dto.getToolType());
 
         User user = usersRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        tool.setToolType(toolTypes.resolve(dto.getToolType()));
         tool.setUser(user);
+        tool.setChangeSeq(changeSequences.next(ChangeSequences.TOOLS));
 
         toolsRepository.save(tool);
+        toolIndexer.publishAfterCommit();
+        readModel.putToolsAfterCommit(List.of(tool));
+        toolCounts.moveAfterCommit(tool.getChangeSeq(), oldType, oldUserId, tool.getToolType(), user.getUserId());
+        cacheInvalidations.evictAfterCommit(CacheConstants.TOOLS, cacheManager.getCache(CacheConstants.TOOLS), tool.getToolId());
         return true;
     }
 
     @Override
+    @Transactional
     public boolean deleteTool(Long id) {
-        if (!toolsRepository.existsById(id)) {
+        // Loaded rather than checked: its type and owner are what the counts give back
+        Tool tool = toolsRepository.findById(id).orElse(null);
+        if (tool == null) {
             return false;
         }
 
-        toolsRepository.deleteById(id);
+        long changeSeq = changeSequences.next(ChangeSequences.TOOLS);
+        tombstonesRepository.insert(ChangeSequences.TOOLS, id, changeSeq);
+        toolsRepository.delete(tool);
+        toolIndexer.publishAfterCommit();
+        readModel.deleteToolsAfterCommit(List.of(id));
+        toolCounts.removeAfterCommit(changeSeq, tool.getToolType(), tool.getUser().getUserId());
+        cacheInvalidations.evictAfterCommit(CacheConstants.TOOLS, cacheManager.getCache(CacheConstants.TOOLS), id);
         return true;
     }
+
+    // With the read model on, its rows stand in for the entity cache
+    private Cache toolCache() {
+        return readModel.isEnabled() ? readModel.toolCache() : cacheManager.getCache(CacheConstants.TOOLS);
+    }
 }
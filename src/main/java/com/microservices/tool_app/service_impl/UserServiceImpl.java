@@ -1,34 +1,86 @@
 package com.microservices.tool_app.service_impl;
 
+import com.microservices.tool_app.constants.CacheConstants;
+import com.microservices.tool_app.constants.MetricsConstants;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
+import com.microservices.tool_app.dto.ToolDto;
 import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.dto.UserSummaryDto;
 import com.microservices.tool_app.entity.User;
+import com.microservices.tool_app.exceptions.PreconditionFailedException;
 import com.microservices.tool_app.mapper.UserMapper;
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.DeletedToolRow;
+import com.microservices.tool_app.repository.TombstonesRepository;
+import com.microservices.tool_app.repository.ToolsRepository;
+import com.microservices.tool_app.repository.UserToolRow;
 import com.microservices.tool_app.repository.UsersRepository;
 import com.microservices.tool_app.service.IUserService;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@AllArgsConstructor
+@Transactional(readOnly = true)
+@Timed(MetricsConstants.SERVICE_INVOCATIONS)
 public class UserServiceImpl implements IUserService {
 
-    private UsersRepository usersRepository;
+    private final UsersRepository usersRepository;
+    private final ToolsRepository toolsRepository;
+    private final ChangeSequences changeSequences;
+    private final TombstonesRepository tombstonesRepository;
+    private final ToolIndexer toolIndexer;
+    private final ReadModel readModel;
+    private final ToolCounts toolCounts;
+    private final CacheManager cacheManager;
+    private final CacheInvalidations cacheInvalidations;
+    private final SingleFlight<Long, UserDto> userLookups;
+
+    public UserServiceImpl(UsersRepository usersRepository, ToolsRepository toolsRepository,
+                           ChangeSequences changeSequences, TombstonesRepository tombstonesRepository,
+                           ToolIndexer toolIndexer, ReadModel readModel, ToolCounts toolCounts,
+                           CacheManager cacheManager, CacheInvalidations cacheInvalidations,
+                           MeterRegistry meterRegistry) {
+        this.usersRepository = usersRepository;
+        this.toolsRepository = toolsRepository;
+        this.changeSequences = changeSequences;
+        this.tombstonesRepository = tombstonesRepository;
+        this.toolIndexer = toolIndexer;
+        this.readModel = readModel;
+        this.toolCounts = toolCounts;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidations = cacheInvalidations;
+        this.userLookups = new SingleFlight<>("user", meterRegistry);
+    }
 
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto){
         User user = UserMapper.mapToUsers(userDto, new User());
         user.setCreatedAt(LocalDateTime.now());
+        user.setChangeSeq(changeSequences.next(ChangeSequences.USERS));
 
         User savedUser = usersRepository.save(user);
+        readModel.putUserAfterCommit(savedUser);
 
         return UserMapper.mapToUsersDto(savedUser);
     }
@@ -36,44 +88,134 @@ public class UserServiceImpl implements IUserService {
 
     @Override
     public List<UserDto> getAllUsers() {
-        return usersRepository.findAll()
-                .stream()
-                .map(UserMapper::mapToUsersDto)
-                .toList();
+        return usersRepository.findAllDtos();
     }
 
     @Override
     public Page<UserDto> getAllUsers(int page, int size, String sortBy) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
 
-        Page<User> usersPage = usersRepository.findAll(pageable);
+        return usersRepository.findAllDtos(pageable);
+    }
 
-        return usersPage.map(UserMapper::mapToUsersDto);
+    @Override
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        // Projected rows are never managed, so the persistence context stays empty however many are read
+        try (Stream<UserDto> users = usersRepository.streamAllDtos()) {
+            users.forEach(consumer);
+        }
     }
 
+    // SUPPORTS: callers waiting on a collapsed lookup must not each hold a connection open.
+    // Cached by hand: evaluating @Cacheable costs more than a read-model lookup.
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserDto getUserById(Long id) {
-        return usersRepository.findById(id)
-                .map(UserMapper::mapToUsersDto)
-                .orElse(null);
+        Cache cache = userCache();
+        UserDto cached = cache != null ? cache.get(id, UserDto.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+        // Taken before the load: a write committed while it runs must not be outlived by its put
+        long stamp = cacheInvalidations.stamp(CacheConstants.USERS);
+        UserDto user = userLookups.execute(id, () -> usersRepository.findDtoById(id)
+                .orElse(null));
+        if (user != null && cache != null) {
+            cacheInvalidations.putUnlessInvalidated(CacheConstants.USERS, stamp, cache, id, user);
+        }
+        return user;
+    }
+
+    // A copy, since the DTO passed in may be the cached instance
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserDto withToolCount(UserDto user) {
+        UserDto counted = new UserDto(user.getUserId(), user.getName(), user.getEmail(), user.getDateOfBirth(),
+                user.getVersion());
+        counted.setToolCount(toolCounts.ofUser(user.getUserId()));
+        return counted;
+    }
+
+    // SUPPORTS: a fully cached lookup never takes a connection; each IN query runs in its own
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MultiGetResponseDto<UserDto> getUsersByIds(List<Long> ids) {
+        Cache cache = userCache();
+        long stamp = cacheInvalidations.stamp(CacheConstants.USERS);
+        return MultiGet.load(ids, UserDto.class, cache, usersRepository::findDtosByIdIn, UserDto::getUserId,
+                (id, user) -> cacheInvalidations.putUnlessInvalidated(CacheConstants.USERS, stamp, cache, id, user));
+    }
+
+    @Override
+    public UserSummaryDto getUserSummary(Long id) {
+        List<UserToolRow> rows = usersRepository.findWithToolsById(id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        UserToolRow first = rows.get(0);
+        UserDto user = new UserDto(first.userId(), first.name(), first.email(), first.dateOfBirth());
+        List<ToolDto> tools = rows.stream()
+                .filter(row -> row.toolId() != null)
+                .map(row -> new ToolDto(row.toolId(), row.toolName(), row.toolType(), row.userId()))
+                .toList();
+
+        return UserMapper.mapToUserSummaryDto(user, tools);
+    }
+
+    @Override
+    public Page<UserSummaryDto> getUserSummaries(int page, int size, String sortBy) {
+        Page<UserDto> users = getAllUsers(page, size, sortBy);
+        if (users.isEmpty()) {
+            return users.map(user -> UserMapper.mapToUserSummaryDto(user, List.of()));
+        }
+
+        // One query for every tool on the page; a fetch join with paging would be applied in memory
+        List<Long> userIds = users.map(UserDto::getUserId).getContent();
+        Map<Long, List<ToolDto>> toolsByUser = toolsRepository.findDtosByUserIdIn(userIds)
+                .stream()
+                .collect(Collectors.groupingBy(ToolDto::getUserId));
+
+        return users.map(user -> UserMapper.mapToUserSummaryDto(user,
+                toolsByUser.getOrDefault(user.getUserId(), List.of())));
+    }
+
+    @Override
+    public ChangeSetDto<UserDto> getUserChanges(String since, int limit) {
+        return DeltaSync.load(ChangeSequences.USERS, since, limit,
+                changeSequences, tombstonesRepository, usersRepository::findChangesAfter);
+    }
+
+    @Override
+    public long getUsersChangeCount() {
+        return changeSequences.completed(ChangeSequences.USERS);
     }
 
+    // Cached by hand, like getUserById, so a put that raced an update or delete is dropped
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserDto getUserByEmail(String email) {
-        return usersRepository.findByEmail(email)
-                .map(UserMapper::mapToUsersDto)
+        Cache cache = cacheManager.getCache(CacheConstants.USERS_BY_EMAIL);
+        UserDto cached = cache != null ? cache.get(email, UserDto.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cacheInvalidations.stamp(CacheConstants.USERS_BY_EMAIL);
+        UserDto user = usersRepository.findDtoByEmail(email)
                 .orElse(null);
+        if (user != null && cache != null) {
+            cacheInvalidations.putUnlessInvalidated(CacheConstants.USERS_BY_EMAIL, stamp, cache, email, user);
+        }
+        return user;
     }
 
     public List<UserDto> getUsersByDOBRange(LocalDate startDate, LocalDate endDate) {
-        return usersRepository.findByDateOfBirthBetween(startDate, endDate)
-                .stream()
-                .map(UserMapper::mapToUsersDto)
-                .toList();
+        return usersRepository.findDtosByDateOfBirthBetween(startDate, endDate);
     }
 
     @Override
-    public boolean updateUser(Long id, UserDto userDto) {
+    @Transactional
+    public boolean updateUser(Long id, UserDto userDto, Long expectedVersion) {
         Optional<User> existingUserOpt = usersRepository.findById(id);
 
         if (existingUserOpt.isEmpty()) {
@@ -81,23 +223,60 @@ public class UserServiceImpl implements IUserService {
         }
 
         User existingUser = existingUserOpt.get();
+        // Fails fast on a stale If-Match; a change committed after this read still fails the versioned UPDATE
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new PreconditionFailedException("User " + id + " has been modified since version " + expectedVersion);
+        }
+        String previousEmail = existingUser.getEmail();
 
         existingUser.setName(userDto.getName());
         existingUser.setEmail(userDto.getEmail());
         existingUser.setDateOfBirth(userDto.getDateOfBirth());
+        existingUser.setChangeSeq(changeSequences.next(ChangeSequences.USERS));
 
         usersRepository.save(existingUser);
+        readModel.putUserAfterCommit(existingUser);
+
+        cacheInvalidations.evictAfterCommit(CacheConstants.USERS, cacheManager.getCache(CacheConstants.USERS), id);
+        // The email cache is keyed by the old address
+        cacheInvalidations.evictAfterCommit(CacheConstants.USERS_BY_EMAIL,
+                cacheManager.getCache(CacheConstants.USERS_BY_EMAIL), previousEmail);
         return true;
     }
 
     @Override
+    @Transactional
     public boolean deleteUser(Long id) {
 
-        if (!usersRepository.existsById(id)) {
+        // Scalar lookups only: neither the user nor its tools collection is hydrated
+        Optional<String> email = usersRepository.findEmailById(id);
+
+        if (email.isEmpty()) {
             return false;
         }
 
-        usersRepository.deleteById(id);
+        tombstonesRepository.insert(ChangeSequences.USERS, id,
+                changeSequences.next(ChangeSequences.USERS));
+        // Tombstoned, counted and evicted from what the delete itself removed, never from an
+        // earlier read that a tool moving to or from the user could have outdated
+        List<DeletedToolRow> deleted = toolsRepository.deleteByUserIdReturning(id);
+        long[] toolIds = deleted.stream().mapToLong(DeletedToolRow::toolId).toArray();
+        if (toolIds.length > 0) {
+            long toolsChangeSeq = changeSequences.next(ChangeSequences.TOOLS);
+            tombstonesRepository.insertAll(ChangeSequences.TOOLS,
+                    Arrays.stream(toolIds).boxed().toArray(Long[]::new), toolsChangeSeq);
+            toolIndexer.publishAfterCommit();
+            toolCounts.removeUserAfterCommit(toolsChangeSeq, id, deleted.stream()
+                    .collect(Collectors.groupingBy(DeletedToolRow::toolType, Collectors.counting())));
+        }
+
+        usersRepository.deleteByIdInBulk(id);
+        readModel.deleteUserAfterCommit(id, toolIds);
+
+        cacheInvalidations.evictAfterCommit(CacheConstants.USERS, cacheManager.getCache(CacheConstants.USERS), id);
+        cacheInvalidations.evictAfterCommit(CacheConstants.USERS_BY_EMAIL,
+                cacheManager.getCache(CacheConstants.USERS_BY_EMAIL), email.get());
+        cacheInvalidations.evictAllAfterCommit(CacheConstants.TOOLS, cacheManager.getCache(CacheConstants.TOOLS), toolIds);
 
         return true;
     }
@@ -106,4 +285,9 @@ public class UserServiceImpl implements IUserService {
         return usersRepository.findById(id).orElse(null);
     }
 
+    // With the read model on, its rows stand in for the entity cache
+    private Cache userCache() {
+        return readModel.isEnabled() ? readModel.userCache() : cacheManager.getCache(CacheConstants.USERS);
+    }
+
 }
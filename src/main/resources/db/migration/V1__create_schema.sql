@@ -0,0 +1,21 @@
+-- Hibernate's pooled optimizer treats each value as the top of a 50-id block,
+-- so the sequences start high enough that the first block clears the seed rows
+CREATE SEQUENCE users_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE tools_seq START WITH 100 INCREMENT BY 50;
+
+CREATE TABLE users (
+    user_id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    date_of_birth DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE tools (
+    user_id BIGINT NOT NULL,
+    tool_id BIGINT PRIMARY KEY,
+    tool_name VARCHAR(100) NOT NULL,
+    tool_type VARCHAR(200) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT fk_user_id FOREIGN KEY (user_id) REFERENCES users(user_id)
+);
@@ -0,0 +1,13 @@
+-- findByEmail / findDtoByEmail; also enforces one account per address
+CREATE UNIQUE INDEX ux_users_email ON users(email);
+
+-- findByDateOfBirthBetween
+CREATE INDEX ix_users_date_of_birth ON users(date_of_birth);
+
+-- findByUser_UserId, bulk delete by owner and the FK check on user delete
+CREATE INDEX ix_tools_user_id ON tools(user_id);
+
+-- Keyset pagination seeks on (sort key, tool_id); the leading column also serves equality lookups
+CREATE INDEX ix_tools_tool_type_tool_id ON tools(tool_type, tool_id);
+CREATE INDEX ix_tools_tool_name_tool_id ON tools(tool_name, tool_id);
+CREATE INDEX ix_tools_created_at_tool_id ON tools(created_at, tool_id);
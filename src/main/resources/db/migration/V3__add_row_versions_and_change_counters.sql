@@ -0,0 +1,12 @@
+-- Optimistic-lock version per row; exposed as the strong ETag of /api/tools/{id} and /api/users/{id}
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tools ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- One counter per table, bumped in the same transaction as every write to it;
+-- collection endpoints use it as their ETag
+CREATE TABLE change_counters (
+    table_name VARCHAR(50) PRIMARY KEY,
+    counter BIGINT NOT NULL
+);
+
+INSERT INTO change_counters (table_name, counter) VALUES ('users', 0), ('tools', 0);
@@ -0,0 +1,22 @@
+-- change_seq is the table's change_counters value taken by the write that last touched the row.
+-- Writers hold that counter's row lock until commit, so sequence order is commit order and a
+-- client that has seen seq N can never later see a new row at or below N.
+ALTER TABLE users ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE tools ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tools ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+-- Delta sync seeks on (change_seq, id)
+CREATE INDEX ix_users_change_seq_user_id ON users(change_seq, user_id);
+CREATE INDEX ix_tools_change_seq_tool_id ON tools(change_seq, tool_id);
+
+-- Deleted rows, so delta sync can tell clients what to drop
+CREATE TABLE tombstones (
+    tombstone_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    table_name VARCHAR(50) NOT NULL,
+    row_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX ix_tombstones_table_name_change_seq_row_id ON tombstones(table_name, change_seq, row_id);
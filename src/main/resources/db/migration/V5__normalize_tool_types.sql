@@ -0,0 +1,28 @@
+-- Tool types as a dimension: tools reference a small integer key instead of repeating the name
+CREATE TABLE tool_types (
+    tool_type_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    CONSTRAINT ux_tool_types_name UNIQUE (name)
+);
+
+-- The catalogue the dataset generator draws from, then whatever else existing rows use
+INSERT INTO tool_types (name) VALUES
+    ('Hand Tool'), ('Power Tool'), ('Measuring Tool'), ('Garden Tool'), ('Plumbing Tool'),
+    ('Electrical Tool'), ('Automotive Tool'), ('Woodworking Tool'), ('Welding Tool');
+
+INSERT INTO tool_types (name)
+SELECT DISTINCT tool_type FROM tools
+WHERE tool_type NOT IN (SELECT name FROM tool_types)
+ORDER BY tool_type;
+
+ALTER TABLE tools ADD COLUMN tool_type_id INT;
+UPDATE tools SET tool_type_id = (SELECT tt.tool_type_id FROM tool_types tt WHERE tt.name = tools.tool_type);
+ALTER TABLE tools ALTER COLUMN tool_type_id SET NOT NULL;
+
+DROP INDEX ix_tools_tool_type_tool_id;
+ALTER TABLE tools DROP COLUMN tool_type;
+
+ALTER TABLE tools ADD CONSTRAINT fk_tool_type_id FOREIGN KEY (tool_type_id) REFERENCES tool_types(tool_type_id);
+
+-- Keyset pagination by type now seeks on the key, so pages come in type-id order
+CREATE INDEX ix_tools_tool_type_id_tool_id ON tools(tool_type_id, tool_id);
@@ -0,0 +1,10 @@
+-- change_seq now comes from one sequence per table instead of the change_counters row, which every
+-- writer to the table held locked until it committed. Values are handed out in the order writers ask,
+-- not the order they commit, so readers stop below the lowest one still in flight (ChangeSequences).
+-- Each sequence carries on from where its counter stopped.
+CREATE SEQUENCE users_change_seq START WITH 1;
+CREATE SEQUENCE tools_change_seq START WITH 1;
+ALTER SEQUENCE users_change_seq RESTART WITH (SELECT counter + 1 FROM change_counters WHERE table_name = 'users');
+ALTER SEQUENCE tools_change_seq RESTART WITH (SELECT counter + 1 FROM change_counters WHERE table_name = 'tools');
+
+DROP TABLE change_counters;
@@ -0,0 +1,19 @@
+-- Sample data for local runs only; MERGE keeps it safe to re-apply
+MERGE INTO users (user_id, name, email, date_of_birth, created_at) KEY (user_id)
+VALUES
+    (1, 'Alice Johnson', 'alice@example.com', '1990-01-01', CURRENT_TIMESTAMP),
+    (2, 'Bob Smith', 'bob@example.com', '1985-05-12', CURRENT_TIMESTAMP),
+    (3, 'Charlie Brown', 'charlie@example.com', '1992-03-10', CURRENT_TIMESTAMP),
+    (4, 'Diana Clarke', 'diana@example.com', '1988-07-22', CURRENT_TIMESTAMP);
+
+MERGE INTO tools (tool_id, user_id, tool_name, tool_type_id, created_at) KEY (tool_id)
+SELECT s.tool_id, s.user_id, s.tool_name, tt.tool_type_id, s.created_at
+FROM (VALUES
+    (1, 1, 'Hammer', 'Hand Tool', TIMESTAMP '2024-01-10 08:23:15'),
+    (2, 1, 'Cordless Drill', 'Power Tool', TIMESTAMP '2024-01-12 14:47:32'),
+    (3, 2, 'Circular Saw', 'Power Tool', TIMESTAMP '2024-01-15 09:12:08'),
+    (4, 3, 'Measuring Tape', 'Hand Tool', TIMESTAMP '2024-01-20 16:35:44'),
+    (5, 4, 'Screwdriver Set', 'Hand Tool', TIMESTAMP '2024-01-25 11:58:27'),
+    (6, 2, 'Angle Grinder', 'Power Tool', TIMESTAMP '2024-01-30 13:22:51')
+) AS s(tool_id, user_id, tool_name, tool_type, created_at)
+JOIN tool_types tt ON tt.name = s.tool_type;
@@ -0,0 +1,76 @@
+package com.microservices.tool_app;
+
+import com.microservices.tool_app.admission.AdmissionControlRegistry;
+import com.microservices.tool_app.admission.GradientConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "admission.initial-limit=1",
+        "admission.min-limit=1",
+        "admission.max-limit=1",
+        "admission.retry-after-seconds=3",
+        "management.endpoints.web.exposure.include=admission"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class AdmissionControlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionControlRegistry registry;
+
+    @Test
+    void saturatedRoute_failsFastWith503AndRetryAfter() throws Exception {
+        GradientConcurrencyLimiter listTools = registry.limiterFor("GET /api/tools");
+        assertThat(listTools.tryAcquire()).isTrue();
+
+        mockMvc.perform(get("/api/tools"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.errorMessage").value("Too many concurrent requests for GET /api/tools"));
+
+        listTools.release(1, false);
+        mockMvc.perform(get("/api/tools"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void saturatedRoute_doesNotStarveOtherRoutes() throws Exception {
+        assertThat(registry.limiterFor("GET /api/tools").tryAcquire()).isTrue();
+
+        mockMvc.perform(get("/api/tools/999"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tools").param("ids", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void actuator_reportsLimitsInflightAndRejections() throws Exception {
+        assertThat(registry.limiterFor("GET /api/tools").tryAcquire()).isTrue();
+        mockMvc.perform(get("/api/tools"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/tools/999"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/admission"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].route").value("GET /api/tools"))
+                .andExpect(jsonPath("$[0].limit").value(1))
+                .andExpect(jsonPath("$[0].inflight").value(1))
+                .andExpect(jsonPath("$[0].rejected").value(1))
+                .andExpect(jsonPath("$[1].route").value("GET /api/tools/{id}"))
+                .andExpect(jsonPath("$[1].inflight").value(0))
+                .andExpect(jsonPath("$[1].accepted").value(1));
+    }
+}
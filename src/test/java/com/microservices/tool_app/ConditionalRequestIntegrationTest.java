@@ -0,0 +1,177 @@
+package com.microservices.tool_app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.entity.Tool;
+import com.microservices.tool_app.repository.ToolPageRow;
+import com.microservices.tool_app.repository.ToolSortField;
+import com.microservices.tool_app.repository.ToolsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ConditionalRequestIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToolsRepository toolsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long createUser() throws Exception {
+        UserDto dto = new UserDto(null, "John Doe", "john@example.com", LocalDate.of(1990, 1, 1));
+        return extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long createTool(Long userId) throws Exception {
+        return extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(null, "Hammer", "Hand Tool", userId))))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long extractIdFromLocation(MvcResult result) {
+        String location = result.getResponse().getHeader("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf("/") + 1));
+    }
+
+    private String etagOf(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void getToolById_revalidatesUntilTheToolChanges() throws Exception {
+        Long userId = createUser();
+        Long toolId = createTool(userId);
+        String path = "/api/tools/" + toolId;
+        String etag = etagOf(path);
+
+        assertThat(etag).isEqualTo("\"0\"");
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/tools")
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(toolId, "Claw Hammer", "Hand Tool", userId))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.toolName").value("Claw Hammer"));
+    }
+
+    @Test
+    void updateUser_withStaleIfMatch_returns412AndKeepsTheFirstWrite() throws Exception {
+        Long userId = createUser();
+        String path = "/api/users/" + userId;
+        String etag = etagOf(path);
+
+        UserDto first = new UserDto(null, "First Writer", "john@example.com", LocalDate.of(1990, 1, 1));
+        mockMvc.perform(put(path)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isOk());
+
+        UserDto second = new UserDto(null, "Second Writer", "john@example.com", LocalDate.of(1990, 1, 1));
+        mockMvc.perform(put(path)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get(path))
+                .andExpect(jsonPath("$.name").value("First Writer"));
+    }
+
+    @Test
+    void collectionETags_changeOnEveryWriteToTheirTable() throws Exception {
+        Long userId = createUser();
+        String toolsEtag = etagOf("/api/tools");
+        String usersEtag = etagOf("/api/users");
+
+        mockMvc.perform(get("/api/tools").header(HttpHeaders.IF_NONE_MATCH, toolsEtag))
+                .andExpect(status().isNotModified());
+
+        createTool(userId);
+
+        mockMvc.perform(get("/api/tools").header(HttpHeaders.IF_NONE_MATCH, toolsEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, usersEtag))
+                .andExpect(status().isNotModified());
+
+        String toolsEtagAfterCreate = etagOf("/api/tools");
+        mockMvc.perform(delete("/api/users/" + userId))
+                .andExpect(status().isOk());
+
+        // Deleting a user removes their tools too, so both counters move
+        assertThat(etagOf("/api/users")).isNotEqualTo(usersEtag);
+        assertThat(etagOf("/api/tools")).isNotEqualTo(toolsEtagAfterCreate);
+    }
+
+    @Test
+    void versionedUpdate_failsWhenAnotherTransactionCommittedFirst() throws Exception {
+        Long toolId = createTool(createUser());
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            Tool tool = toolsRepository.findById(toolId).orElseThrow();
+            // A second writer commits between our read and our flush
+            CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                    "update tools set tool_name = 'Mallet', version = version + 1 where tool_id = ?", toolId)).join();
+            tool.setToolName("Claw Hammer");
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(jdbcTemplate.queryForObject("select tool_name from tools where tool_id = ?", String.class, toolId))
+                .isEqualTo("Mallet");
+    }
+
+    @Test
+    void keysetPages_carryEachRowsVersion() throws Exception {
+        Long toolId = createTool(createUser());
+        jdbcTemplate.update("update tools set version = 3 where tool_id = ?", toolId);
+
+        for (ToolSortField sortField : ToolSortField.values()) {
+            List<ToolPageRow> rows = toolsRepository.findPageAfter(sortField, null, 10);
+            assertThat(rows).as(sortField.getProperty()).singleElement()
+                    .satisfies(row -> assertThat(row.tool().getVersion()).isEqualTo(3L));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.microservices.tool_app;
+
+import com.microservices.tool_app.constants.DatasetConstants;
+import com.microservices.tool_app.dto.DatasetRequestDto;
+import com.microservices.tool_app.dto.DatasetStatusDto;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.service.IDatasetService;
+import com.microservices.tool_app.service.IToolService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The dev profile for the endpoint, without its sample rows, so counts are the generated ones alone
+@ActiveProfiles("dev")
+@TestPropertySource(properties = "spring.flyway.locations=classpath:db/migration")
+class DatasetGeneratorIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private IDatasetService datasetService;
+
+    @Autowired
+    private IToolService toolService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void generate_loadsRequestedRowsWithSkewedOwnership() {
+        DatasetStatusDto status = datasetService.generate(new DatasetRequestDto(200, 5_000, 1.0, 7L));
+
+        assertThat(status.getState()).isEqualTo(DatasetStatusDto.State.COMPLETED);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Long.class)).isEqualTo(200);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from tools", Long.class)).isEqualTo(5_000);
+
+        List<Long> toolsPerOwner = jdbcTemplate.queryForList(
+                "select count(*) from tools group by user_id order by count(*) desc", Long.class);
+        long median = toolsPerOwner.get(toolsPerOwner.size() / 2);
+        assertThat(toolsPerOwner.get(0)).isGreaterThan(median * 20);
+
+        assertThat(jdbcTemplate.queryForObject("select count(distinct tool_type_id) from tools", Long.class))
+                .isGreaterThanOrEqualTo(8);
+        assertThat(jdbcTemplate.queryForObject(
+                "select datediff('DAY', min(created_at), max(created_at)) from tools", Long.class))
+                .isGreaterThan(365);
+    }
+
+    @Test
+    void generate_leavesSequencesPastGeneratedIds() {
+        datasetService.generate(new DatasetRequestDto(10, 100, 0, 1L));
+        Long maxToolId = jdbcTemplate.queryForObject("select max(tool_id) from tools", Long.class);
+        Long ownerId = jdbcTemplate.queryForObject("select min(user_id) from users", Long.class);
+
+        ToolDto created = toolService.createTool(new ToolDto(null, "Hammer", "Hand Tool", ownerId));
+
+        assertThat(created.getToolId()).isGreaterThan(maxToolId);
+    }
+
+    @Test
+    void generate_onFreshSequencesKeepsClearOfIdsBelowTheirStart() {
+        String belowStart = "select (select count(*) from users where user_id < 100)"
+                + " + (select count(*) from tools where tool_id < 100)";
+        Long before = jdbcTemplate.queryForObject(belowStart, Long.class);
+
+        datasetService.generate(new DatasetRequestDto(10, 500, 0, 3L));
+
+        assertThat(jdbcTemplate.queryForObject(belowStart, Long.class)).isEqualTo(before);
+    }
+
+    @Test
+    void generate_sameSeedYieldsSameRows() {
+        datasetService.generate(new DatasetRequestDto(50, 25_000, 1.0, 11L));
+        List<String> first = generatedTools();
+        jdbcTemplate.update("delete from tools");
+
+        datasetService.generate(new DatasetRequestDto(50, 25_000, 1.0, 11L));
+
+        assertThat(generatedTools()).isEqualTo(first);
+    }
+
+    // Ids and owners relative to the generated ranges, which move on with the sequences
+    private List<String> generatedTools() {
+        return jdbcTemplate.queryForList("select (t.tool_id - (select min(tool_id) from tools)) || ' ' "
+                + "|| (t.user_id - (select min(user_id) from tools)) || ' ' || t.tool_name || ' ' || t.tool_type_id "
+                + "from tools t order by t.tool_id", String.class);
+    }
+
+    @Test
+    void generate_rejectsToolsWithoutOwners() {
+        assertThatThrownBy(() -> datasetService.generate(new DatasetRequestDto(0, 10, 1.0, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generate_rejectsMoreToolsThanTheCap() {
+        assertThatThrownBy(() -> datasetService.generate(
+                new DatasetRequestDto(10, DatasetConstants.MAX_TOOLS + 1, 1.0, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(datasetService.getStatus().getState()).isEqualTo(DatasetStatusDto.State.IDLE);
+    }
+
+    @Test
+    void actuatorEndpoint_runsGenerationInBackground() throws Exception {
+        mockMvc.perform(post("/actuator/dataset")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"users\": 20, \"tools\": 300}"))
+                .andExpect(status().isOk());
+
+        for (int attempt = 0; attempt < 100 && datasetService.getStatus().getState() == DatasetStatusDto.State.RUNNING; attempt++) {
+            Thread.sleep(50);
+        }
+
+        mockMvc.perform(get("/actuator/dataset"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.toolsInserted").value(300));
+    }
+}
@@ -0,0 +1,204 @@
+package com.microservices.tool_app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.service.IToolService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class DeltaSyncIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IToolService toolService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long createUser(String email) throws Exception {
+        UserDto dto = new UserDto(null, "John Doe", email, LocalDate.of(1990, 1, 1));
+        return extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long createTool(Long userId, String name) throws Exception {
+        return extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(null, name, "Hand Tool", userId))))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long extractIdFromLocation(MvcResult result) {
+        String location = result.getResponse().getHeader("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf("/") + 1));
+    }
+
+    private JsonNode changes(String path, String since, int limit) throws Exception {
+        var request = get(path).param("limit", String.valueOf(limit));
+        if (since != null) {
+            request.param("since", since);
+        }
+        return objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+    }
+
+    private List<Long> ids(JsonNode array, String field) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(node -> ids.add(field == null ? node.asLong() : node.get(field).asLong()));
+        return ids;
+    }
+
+    @Test
+    void toolChanges_returnOnlyWhatChangedSinceTheToken() throws Exception {
+        Long userId = createUser("john@example.com");
+        Long hammer = createTool(userId, "Hammer");
+        Long saw = createTool(userId, "Saw");
+        Long drill = createTool(userId, "Drill");
+
+        JsonNode initial = changes("/api/tools/changes", null, 100);
+        assertThat(ids(initial.get("upserts"), "toolId")).containsExactly(hammer, saw, drill);
+        assertThat(initial.get("hasMore").asBoolean()).isFalse();
+
+        JsonNode idle = changes("/api/tools/changes", initial.get("nextToken").asText(), 100);
+        assertThat(idle.get("upserts")).isEmpty();
+        assertThat(idle.get("nextToken").asText()).isEqualTo(initial.get("nextToken").asText());
+
+        mockMvc.perform(put("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(hammer, "Claw Hammer", "Hand Tool", userId))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tools/" + saw))
+                .andExpect(status().isOk());
+
+        JsonNode delta = changes("/api/tools/changes", initial.get("nextToken").asText(), 100);
+        assertThat(ids(delta.get("upserts"), "toolId")).containsExactly(hammer);
+        assertThat(delta.get("upserts").get(0).get("toolName").asText()).isEqualTo("Claw Hammer");
+        assertThat(ids(delta.get("deletedIds"), null)).containsExactly(saw);
+    }
+
+    @Test
+    void deletingAUser_tombstonesTheUserAndEveryToolTheyOwned() throws Exception {
+        Long keptUser = createUser("kept@example.com");
+        Long deletedUser = createUser("gone@example.com");
+        createTool(keptUser, "Hammer");
+        Long first = createTool(deletedUser, "Saw");
+        Long second = createTool(deletedUser, "Drill");
+        String toolsToken = changes("/api/tools/changes", null, 100).get("nextToken").asText();
+        String usersToken = changes("/api/users/changes", null, 100).get("nextToken").asText();
+
+        mockMvc.perform(delete("/api/users/" + deletedUser))
+                .andExpect(status().isOk());
+
+        JsonNode tools = changes("/api/tools/changes", toolsToken, 100);
+        assertThat(tools.get("upserts")).isEmpty();
+        assertThat(ids(tools.get("deletedIds"), null)).containsExactly(first, second);
+        JsonNode users = changes("/api/users/changes", usersToken, 100);
+        assertThat(ids(users.get("deletedIds"), null)).containsExactly(deletedUser);
+    }
+
+    @Test
+    void smallPages_walkEveryChangeExactlyOnce() throws Exception {
+        Long userId = createUser("john@example.com");
+        Set<Long> created = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(createTool(userId, "Tool " + i));
+        }
+        mockMvc.perform(post("/api/tools/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new ToolDto(null, "Batch A", "Hand Tool", userId),
+                                new ToolDto(null, "Batch B", "Hand Tool", userId),
+                                new ToolDto(null, "Batch C", "Hand Tool", userId)))))
+                .andExpect(status().isCreated());
+
+        List<Long> seen = new ArrayList<>();
+        String token = null;
+        JsonNode page;
+        do {
+            page = changes("/api/tools/changes", token, 2);
+            seen.addAll(ids(page.get("upserts"), "toolId"));
+            token = page.get("nextToken").asText();
+        } while (page.get("hasMore").asBoolean());
+
+        assertThat(seen).hasSize(10).doesNotHaveDuplicates().containsAll(created);
+    }
+
+    @Test
+    void openWrite_neitherHoldsUpLaterWritersNorIsSkippedByTheFeed() throws Exception {
+        Long userId = createUser("john@example.com");
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService slowWriter = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> slow = slowWriter.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                Long toolId = toolService.createTool(new ToolDto(null, "Slow", "Hand Tool", userId)).getToolId();
+                written.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return toolId;
+            }));
+            assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Takes its change sequence after the open write, yet commits first
+            Long fast = createTool(userId, "Fast");
+
+            JsonNode early = changes("/api/tools/changes", null, 100);
+            assertThat(early.get("upserts")).isEmpty();
+
+            release.countDown();
+            Long slowId = slow.get(10, TimeUnit.SECONDS);
+            JsonNode rest = changes("/api/tools/changes", early.get("nextToken").asText(), 100);
+            assertThat(ids(rest.get("upserts"), "toolId")).containsExactly(slowId, fast);
+        } finally {
+            release.countDown();
+            slowWriter.shutdownNow();
+        }
+    }
+
+    @Test
+    void tokenFromAnotherTable_isRejected() throws Exception {
+        String usersToken = changes("/api/users/changes", null, 10).get("nextToken").asText();
+
+        mockMvc.perform(get("/api/tools/changes").param("since", usersToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tools/changes").param("since", "not-a-token"))
+                .andExpect(status().isBadRequest());
+    }
+}
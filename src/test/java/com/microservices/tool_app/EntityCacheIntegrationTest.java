@@ -0,0 +1,78 @@
+package com.microservices.tool_app;
+
+import com.microservices.tool_app.constants.CacheConstants;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.service.IToolService;
+import com.microservices.tool_app.service.IUserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityCacheIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private IToolService toolService;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long createUser() {
+        return userService.createUser(new UserDto(null, "John Doe", "john@example.com", LocalDate.of(1990, 1, 1)))
+                .getUserId();
+    }
+
+    private Cache toolCache() {
+        return cacheManager.getCache(CacheConstants.TOOLS);
+    }
+
+    @Test
+    void createTool_rolledBackIsNeverCached() {
+        Long userId = createUser();
+
+        Long toolId = transactionTemplate.execute(status -> {
+            Long id = toolService.createTool(new ToolDto(null, "Hammer", "Hand Tool", userId)).getToolId();
+            status.setRollbackOnly();
+            return id;
+        });
+
+        assertThat(toolCache().get(toolId)).isNull();
+        assertThat(toolService.getToolById(toolId)).isNull();
+    }
+
+    @Test
+    void createTool_committedIsCached() {
+        Long userId = createUser();
+
+        Long toolId = toolService.createTool(new ToolDto(null, "Hammer", "Hand Tool", userId)).getToolId();
+
+        assertThat(toolCache().get(toolId, ToolDto.class).getToolName()).isEqualTo("Hammer");
+    }
+
+    @Test
+    void updateTool_evictsOnlyOnceCommitted() {
+        Long userId = createUser();
+        Long toolId = toolService.createTool(new ToolDto(null, "Hammer", "Hand Tool", userId)).getToolId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            toolService.updateTool(new ToolDto(toolId, "Sledgehammer", "Hand Tool", userId), null);
+            // Still uncommitted, so readers elsewhere see the old row and the cache keeps it
+            assertThat(toolCache().get(toolId, ToolDto.class).getToolName()).isEqualTo("Hammer");
+        });
+
+        assertThat(toolCache().get(toolId)).isNull();
+        assertThat(toolService.getToolById(toolId).getToolName()).isEqualTo("Sledgehammer");
+    }
+}
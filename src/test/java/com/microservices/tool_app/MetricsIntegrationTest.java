@@ -0,0 +1,56 @@
+package com.microservices.tool_app;
+
+import com.microservices.tool_app.constants.MetricsConstants;
+import com.microservices.tool_app.service_impl.ToolServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "db.bulkhead.enabled=true")
+class MetricsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void toolLookup_isTimedAtEveryLayerAndCountsHandledException() throws Exception {
+        mockMvc.perform(get("/api/tools/999"))
+                .andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.find("http.server.requests").tag("uri", "/api/tools/{id}").timer())
+                .isNotNull();
+        assertThat(meterRegistry.find(MetricsConstants.SERVICE_INVOCATIONS)
+                .tags("class", ToolServiceImpl.class.getName(), "method", "getToolById").timer())
+                .isNotNull();
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "ToolsRepository", "method", "findDtoById").timer())
+                .isNotNull();
+        assertThat(meterRegistry.find(MetricsConstants.HANDLED_EXCEPTIONS)
+                .tag("exception", "ResourceNotFoundException").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void connectionPoolGaugesAreRegistered() {
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+    }
+
+    @Test
+    void databaseBulkheadReturnsEveryPermit() throws Exception {
+        mockMvc.perform(get("/api/tools"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get(MetricsConstants.DB_BULKHEAD_AVAILABLE).gauge().value()).isEqualTo(10.0);
+        assertThat(meterRegistry.get(MetricsConstants.DB_BULKHEAD_WAITING).gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,166 @@
+package com.microservices.tool_app;
+
+import com.microservices.tool_app.repository.TombstonesRepository;
+import com.microservices.tool_app.repository.ToolCursor;
+import com.microservices.tool_app.repository.ToolSortField;
+import com.microservices.tool_app.repository.ToolsRepository;
+import com.microservices.tool_app.repository.UsersRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every filtering repository finder, captures the SQL Hibernate sends and
+ * fails if H2's EXPLAIN for any of it reports a table scan.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.microservices.tool_app.QueryPlanIntegrationTest$CapturingStatementInspector")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class QueryPlanIntegrationTest {
+
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ToolsRepository toolsRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private TombstonesRepository tombstonesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            CAPTURED.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("select count(*) from users", Long.class) > 0) {
+            return;
+        }
+
+        List<Object[]> users = new ArrayList<>();
+        for (long userId = 1; userId <= 100; userId++) {
+            users.add(new Object[]{userId, "User " + userId, "user" + userId + "@example.com",
+                    Date.valueOf(LocalDate.of(1960, 1, 1).plusDays(userId * 97))});
+        }
+        jdbcTemplate.batchUpdate("insert into users (user_id, name, email, date_of_birth) values (?, ?, ?, ?)", users);
+
+        List<Object[]> types = new ArrayList<>();
+        for (int type = 0; type < 20; type++) {
+            types.add(new Object[]{"Type " + type});
+        }
+        jdbcTemplate.batchUpdate("insert into tool_types (name) values (?)", types);
+
+        List<Object[]> tools = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (long toolId = 1; toolId <= 2_000; toolId++) {
+            tools.add(new Object[]{toolId, toolId % 100 + 1, "Tool " + toolId, "Type " + toolId % 20,
+                    Timestamp.valueOf(start.plusMinutes(toolId))});
+        }
+        jdbcTemplate.batchUpdate("insert into tools (tool_id, user_id, tool_name, tool_type_id, created_at) "
+                + "values (?, ?, ?, (select tool_type_id from tool_types where name = ?), ?)", tools);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void repositoryFindersUseIndexes() {
+        LocalDate from = LocalDate.of(1980, 1, 1);
+        LocalDate to = LocalDate.of(1981, 1, 1);
+
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("ToolsRepository.findById", () -> toolsRepository.findById(1L));
+        finders.put("ToolsRepository.findByToolName", () -> toolsRepository.findByToolName("Tool 7"));
+        finders.put("ToolsRepository.findByUser_UserId", () -> toolsRepository.findByUser_UserId(1L));
+        finders.put("ToolsRepository.findDtoById", () -> toolsRepository.findDtoById(1L));
+        finders.put("ToolsRepository.findDtosByIdIn", () -> toolsRepository.findDtosByIdIn(List.of(1L, 2L, 3L)));
+        finders.put("ToolsRepository.findDtosByUserId", () -> toolsRepository.findDtosByUserId(1L));
+        finders.put("ToolsRepository.findDtosByUserIdIn", () -> toolsRepository.findDtosByUserIdIn(List.of(1L, 2L)));
+        finders.put("ToolsRepository.findChangesAfter",
+                () -> toolsRepository.findChangesAfter(0L, 1_990L, 1L, Limit.of(11)));
+        finders.put("ToolsRepository.deleteByUserIdReturning", () -> inRolledBackTransaction(
+                () -> toolsRepository.deleteByUserIdReturning(1L)));
+        finders.put("UsersRepository.findById", () -> usersRepository.findById(1L));
+        finders.put("UsersRepository.findByEmail", () -> usersRepository.findByEmail("user1@example.com"));
+        finders.put("UsersRepository.findDtoById", () -> usersRepository.findDtoById(1L));
+        finders.put("UsersRepository.findDtosByIdIn", () -> usersRepository.findDtosByIdIn(List.of(1L, 2L, 3L)));
+        finders.put("UsersRepository.findWithToolsById", () -> usersRepository.findWithToolsById(1L));
+        finders.put("UsersRepository.findChangesAfter",
+                () -> usersRepository.findChangesAfter(0L, 90L, 1L, Limit.of(11)));
+        finders.put("TombstonesRepository.findChangesAfter",
+                () -> tombstonesRepository.findChangesAfter("tools", 0L, 1L, 1L, Limit.of(11)));
+        finders.put("UsersRepository.findDtoByEmail", () -> usersRepository.findDtoByEmail("user1@example.com"));
+        finders.put("UsersRepository.findByDateOfBirthBetween", () -> usersRepository.findByDateOfBirthBetween(from, to));
+        finders.put("UsersRepository.findDtosByDateOfBirthBetween",
+                () -> usersRepository.findDtosByDateOfBirthBetween(from, to));
+        finders.put("UsersRepository.findExistingUserIds", () -> usersRepository.findExistingUserIds(List.of(1L, 2L)));
+        finders.put("UsersRepository.findEmailById", () -> usersRepository.findEmailById(1L));
+        for (ToolSortField sortField : ToolSortField.values()) {
+            ToolCursor after = new ToolCursor(sampleSortValue(sortField), 10L);
+            finders.put("ToolsRepository.findPageAfter(" + sortField.getProperty() + ")",
+                    () -> toolsRepository.findPageAfter(sortField, after, 11));
+        }
+
+        List<String> scans = new ArrayList<>();
+        finders.forEach((name, finder) -> {
+            CAPTURED.clear();
+            finder.run();
+            for (String sql : CAPTURED) {
+                String plan = explain(sql);
+                if (plan.contains("tableScan")) {
+                    scans.add(name + " -> " + plan);
+                }
+            }
+        });
+
+        assertThat(scans).as("finders falling back to a table scan").isEmpty();
+    }
+
+    private Object sampleSortValue(ToolSortField sortField) {
+        return switch (sortField) {
+            case TOOL_ID -> 10L;
+            case TOOL_NAME -> "Tool 10";
+            case TOOL_TYPE -> "Type 10";
+            case CREATED_AT -> LocalDateTime.of(2024, 1, 1, 0, 10);
+        };
+    }
+
+    private void inRolledBackTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            work.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private String explain(String sql) {
+        return String.join(" ", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+}
@@ -0,0 +1,140 @@
+package com.microservices.tool_app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.service.IReactiveReadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ReactiveReadIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IReactiveReadService reactiveReadService;
+
+    private Long createUser() throws Exception {
+        UserDto dto = new UserDto(null, "John Doe", "john@example.com", LocalDate.of(1990, 1, 1));
+        return extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long createTool(Long userId, String name) throws Exception {
+        return extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(null, name, "Hand Tool", userId))))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long extractIdFromLocation(MvcResult result) {
+        String location = result.getResponse().getHeader("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf("/") + 1));
+    }
+
+    private ResultActions performAsync(MvcResult started) throws Exception {
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private String reactiveBody(String path, MediaType accept) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reactive" + path).accept(accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return performAsync(started)
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private String mvcBody(String path) throws Exception {
+        return mockMvc.perform(get("/api" + path))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    @Test
+    void reactiveReads_returnSameBodiesAsMvcEndpoints() throws Exception {
+        Long userId = createUser();
+        Long toolId = createTool(userId, "Hammer");
+        createTool(userId, "Saw");
+
+        for (String path : List.of("/tools", "/tools/" + toolId, "/users/" + userId, "/users/" + userId + "/tools")) {
+            assertThat(objectMapper.readTree(reactiveBody(path, MediaType.APPLICATION_JSON)))
+                    .as(path)
+                    .isEqualTo(objectMapper.readTree(mvcBody(path)));
+        }
+    }
+
+    @Test
+    void reactiveReads_carryTheRowVersionBehindTheMvcEtag() throws Exception {
+        Long userId = createUser();
+        Long toolId = createTool(userId, "Hammer");
+        mockMvc.perform(put("/api/tools")
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(toolId, "Claw Hammer", "Hand Tool", userId))))
+                .andExpect(status().isOk());
+
+        assertThat(reactiveReadService.getToolById(toolId).block().getVersion()).isEqualTo(1L);
+        assertThat(reactiveReadService.getToolsByUserId(userId).blockFirst().getVersion()).isEqualTo(1L);
+        assertThat(reactiveReadService.getUserById(userId).block().getVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    void getAllTools_streamsOneJsonLinePerToolAsNdjson() throws Exception {
+        Long userId = createUser();
+        createTool(userId, "Hammer");
+        createTool(userId, "Saw");
+        createTool(userId, "Drill");
+
+        List<String> lines = reactiveBody("/tools", MediaType.APPLICATION_NDJSON).lines().toList();
+
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines.get(2), ToolDto.class).getToolName()).isEqualTo("Drill");
+    }
+
+    @Test
+    void getToolById_missing_returnsNotFound() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reactive/tools/999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        performAsync(started)
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Tool not found with ID: 999"));
+    }
+
+    @Test
+    void getUserById_missing_returnsNotFound() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reactive/users/999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        performAsync(started)
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,162 @@
+package com.microservices.tool_app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.service_impl.ReadModel;
+import com.microservices.tool_app.service_impl.ToolIndexer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "read-model.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+class ReadModelIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReadModel readModel;
+
+    @Autowired
+    private ToolIndexer toolIndexer;
+
+    private Long createUser(String email) throws Exception {
+        UserDto dto = new UserDto(null, "Jöhn Doe", email, LocalDate.of(1990, 1, 1));
+        return extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long createTool(Long userId, String name, String type) throws Exception {
+        return extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(null, name, type, userId))))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long extractIdFromLocation(MvcResult result) {
+        String location = result.getResponse().getHeader("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf("/") + 1));
+    }
+
+    // Lets the tool indexer finish its refresh first, so only the request's own statements are counted
+    private Statistics clearedStatistics() throws Exception {
+        toolIndexer.catchUpNow();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void getById_isServedWithoutQueriesAndFollowsWrites() throws Exception {
+        Long owner = createUser("john@example.com");
+        Long other = createUser("jane@example.com");
+        Long toolId = createTool(owner, "Cordless Drill", "Power Tool");
+
+        Statistics statistics = clearedStatistics();
+        mockMvc.perform(get("/api/tools/" + toolId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.toolName").value("Cordless Drill"))
+                .andExpect(jsonPath("$.toolType").value("Power Tool"))
+                .andExpect(jsonPath("$.userId").value(owner));
+        mockMvc.perform(get("/api/users/" + owner))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Jöhn Doe"))
+                .andExpect(jsonPath("$.email").value("john@example.com"))
+                .andExpect(jsonPath("$.dateOfBirth").value("1990-01-01"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(put("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(toolId, "Impact Driver", "Power Tool", other))))
+                .andExpect(status().isOk());
+
+        statistics = clearedStatistics();
+        mockMvc.perform(get("/api/tools/" + toolId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.toolName").value("Impact Driver"))
+                .andExpect(jsonPath("$.userId").value(other));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(delete("/api/users/" + other))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tools/" + toolId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/users/" + other))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void multiGet_readsHeldRowsAndLoadsTheRest() throws Exception {
+        Long owner = createUser("john@example.com");
+        Long hammer = createTool(owner, "Hammer", "Hand Tool");
+        Long saw = createTool(owner, "Hand Saw", "Hand Tool");
+        // Out of band and not caught up yet: only the database has it
+        jdbcTemplate.update("insert into tools (tool_id, user_id, tool_name, tool_type_id, created_at) "
+                + "values (9000, ?, 'Chisel', (select tool_type_id from tool_types where name = 'Hand Tool'), "
+                + "CURRENT_TIMESTAMP)", owner);
+
+        Statistics statistics = clearedStatistics();
+        mockMvc.perform(get("/api/tools").param("ids", hammer + "," + saw + ",9000,9001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].toolId").value(contains(
+                        hammer.intValue(), saw.intValue(), 9000)))
+                .andExpect(jsonPath("$.missingIds[0]").value(9001));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void catchUp_loadsRowsWrittenOutsideTheServices() throws Exception {
+        jdbcTemplate.update("insert into users (user_id, name, email, date_of_birth, change_seq) "
+                + "values (9000, 'Bulk User', 'bulk@example.com', DATE '1985-05-12', next value for users_change_seq)");
+        jdbcTemplate.update("insert into tools (tool_id, user_id, tool_name, tool_type_id, change_seq) "
+                + "values (9000, 9000, 'Bulk Tool', (select tool_type_id from tool_types where name = 'Welding Tool'), "
+                + "next value for tools_change_seq)");
+
+        readModel.catchUp();
+
+        Statistics statistics = clearedStatistics();
+        mockMvc.perform(get("/api/users/9000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("bulk@example.com"));
+        mockMvc.perform(get("/api/tools/9000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.toolType").value("Welding Tool"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
@@ -1,13 +1,30 @@
 package com.microservices.tool_app;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 class ToolAppApplicationTests extends BaseIntegrationTest{
 
+	@Autowired
+	private MockMvc mockMvc;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void datasetEndpoint_notExposedByDefault() throws Exception {
+		mockMvc.perform(post("/actuator/dataset")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"users\": 20, \"tools\": 300}"))
+				.andExpect(status().isNotFound());
+	}
+
 }
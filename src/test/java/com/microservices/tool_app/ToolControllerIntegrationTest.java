@@ -1,8 +1,10 @@
 package com.microservices.tool_app;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.tool_app.dto.ToolDto;
 import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.service_impl.ToolIndexer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -13,7 +15,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,6 +34,9 @@ class ToolControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ToolIndexer toolIndexer;
+
     private UserDto buildUser() {
         UserDto dto = new UserDto();
         dto.setName("John Doe");
@@ -76,18 +85,156 @@ class ToolControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void createTools_batchInsertsValidItemsAndReportsFailures() throws Exception {
+        Long userId = extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUser())))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        List<ToolDto> batch = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            batch.add(buildTool(userId));
+        }
+        batch.add(buildTool(999L));
+
+        mockMvc.perform(post("/api/tools/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(120))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[120].statusCode").value("404"));
+
+        mockMvc.perform(get("/api/users/" + userId + "/tools"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(120));
+    }
+
     @Test
     void getAllTools_success() throws Exception {
         mockMvc.perform(get("/api/tools"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getToolsByIds_keepsRequestOrderAndReportsMissingIds() throws Exception {
+        Long userId = extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUser())))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        List<Long> toolIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            toolIds.add(extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(buildTool(userId))))
+                    .andExpect(status().isCreated())
+                    .andReturn()));
+        }
+
+        mockMvc.perform(get("/api/tools").param("ids", toolIds.get(1) + ",999," + toolIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].toolId").value(toolIds.get(1)))
+                .andExpect(jsonPath("$.items[1].toolId").value(toolIds.get(0)))
+                .andExpect(jsonPath("$.missingIds[0]").value(999));
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + userId + ", 999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].userId").value(userId))
+                .andExpect(jsonPath("$.missingIds[0]").value(999));
+    }
+
+    @Test
+    void exportTools_streamsOneJsonLinePerTool() throws Exception {
+        Long userId = extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUser())))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/tools")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(buildTool(userId))))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/tools/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines.get(0), ToolDto.class).getToolName()).isEqualTo("Hammer");
+    }
+
     @Test
     void getAllToolsPaginated_success() throws Exception {
         mockMvc.perform(get("/api/tools/paginated?page=0&size=10&sortBy=toolId"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAllToolsByCursor_walksEveryToolOnce() throws Exception {
+        Long userId = extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUser())))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        // Duplicate names force the toolId tie-breaker to do its job
+        for (String name : List.of("Saw", "Hammer", "Saw", "Drill", "Hammer")) {
+            ToolDto tool = buildTool(userId);
+            tool.setToolName(name);
+            mockMvc.perform(post("/api/tools")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(tool)))
+                    .andExpect(status().isCreated());
+        }
+
+        List<String> names = new ArrayList<>();
+        String cursor = "";
+        boolean lastPage = false;
+
+        while (!lastPage) {
+            JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/tools/paginated/cursor")
+                            .param("size", "2")
+                            .param("sortBy", "toolName")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+
+            page.get("content").forEach(tool -> names.add(tool.get("toolName").asText()));
+            cursor = page.get("nextCursor").asText("");
+            lastPage = page.get("lastPage").asBoolean();
+        }
+
+        assertThat(names)
+                .containsExactly("Drill", "Hammer", "Hammer", "Saw", "Saw");
+    }
+
+    @Test
+    void cursorPagination_rejectsOversizedPage() throws Exception {
+        mockMvc.perform(get("/api/tools/paginated/cursor")
+                        .param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getToolById_success() throws Exception {
         Long userId = extractIdFromLocation(mockMvc.perform(post("/api/users")
@@ -138,6 +285,97 @@ class ToolControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.statusMsg").value("Tool updated successfully"));
     }
 
+    @Test
+    void updateTool_evictsCachedTool() throws Exception {
+        Long userId = extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUser())))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        Long toolId = extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildTool(userId))))
+                .andExpect(status().isCreated())
+                .andReturn());
+
+        mockMvc.perform(get("/api/tools/" + toolId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.toolName").value("Hammer"));
+
+        ToolDto updated = buildTool(userId);
+        updated.setToolId(toolId);
+        updated.setToolName("Hammer XL");
+
+        mockMvc.perform(put("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tools/" + toolId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.toolName").value("Hammer XL"));
+
+        mockMvc.perform(delete("/api/tools/" + toolId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tools/" + toolId))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<Long> toolIdsForUser(Long userId) throws Exception {
+        JsonNode tools = objectMapper.readTree(mockMvc.perform(get("/api/users/" + userId + "/tools"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        List<Long> ids = new ArrayList<>();
+        tools.forEach(tool -> ids.add(tool.get("toolId").asLong()));
+        return ids;
+    }
+
+    @Test
+    void getToolsForUser_followsReassignmentAndDelete() throws Exception {
+        Long first = extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUser())))
+                .andReturn());
+        UserDto other = buildUser();
+        other.setEmail("jane@example.com");
+        Long second = extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(other)))
+                .andReturn());
+        List<Long> toolIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            toolIds.add(extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(buildTool(first))))
+                    .andReturn()));
+        }
+
+        ToolDto moved = buildTool(second);
+        moved.setToolId(toolIds.get(1));
+        mockMvc.perform(put("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(moved)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tools/" + toolIds.get(2)))
+                .andExpect(status().isOk());
+
+        // Straight after the writes, whether or not the owner index has caught up
+        assertThat(toolIdsForUser(first)).containsExactly(toolIds.get(0));
+        assertThat(toolIdsForUser(second)).containsExactly(toolIds.get(1));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (toolIndexer.toolIdsOf(first) == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(toolIndexer.toolIdsOf(first)).containsExactly(toolIds.get(0));
+        assertThat(toolIdsForUser(first)).containsExactly(toolIds.get(0));
+        assertThat(toolIdsForUser(second)).containsExactly(toolIds.get(1));
+    }
+
     @Test
     void updateTool_notFound() throws Exception {
         ToolDto dto = buildTool(1L);
@@ -0,0 +1,174 @@
+package com.microservices.tool_app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.service.IToolService;
+import com.microservices.tool_app.service_impl.ToolCounts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ToolCountsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IToolService toolService;
+
+    @Autowired
+    private ToolCounts toolCounts;
+
+    private Long createUser(String email) throws Exception {
+        UserDto dto = new UserDto(null, "John Doe", email, LocalDate.of(1990, 1, 1));
+        return extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long createTool(Long userId, String name, String type) throws Exception {
+        return extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(null, name, type, userId))))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long extractIdFromLocation(MvcResult result) {
+        String location = result.getResponse().getHeader("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf("/") + 1));
+    }
+
+    @Test
+    void facetsAndUserCounts_followCreateUpdateAndDelete() throws Exception {
+        Long john = createUser("john@example.com");
+        Long jane = createUser("jane@example.com");
+        Long hammer = createTool(john, "Hammer", "Hand Tool");
+        createTool(john, "Saw", "Hand Tool");
+        Long drill = createTool(jane, "Drill", "Power Tool");
+
+        mockMvc.perform(put("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(hammer, "Hammer Drill", "Power Tool", jane))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tools/" + drill))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tools/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTools").value(2))
+                .andExpect(jsonPath("$.toolTypeCounts['Hand Tool']").value(1))
+                .andExpect(jsonPath("$.toolTypeCounts['Power Tool']").value(1));
+        mockMvc.perform(get("/api/users/" + john).param("includeToolCount", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.toolCount").value(1));
+        mockMvc.perform(get("/api/users").param("ids", john + "," + jane).param("includeToolCount", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].toolCount").value(1))
+                .andExpect(jsonPath("$.items[1].toolCount").value(1));
+        // Opt-in only
+        mockMvc.perform(get("/api/users/" + john))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.toolCount").doesNotExist());
+
+        mockMvc.perform(delete("/api/users/" + jane))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tools/facets"))
+                .andExpect(jsonPath("$.totalTools").value(1))
+                .andExpect(jsonPath("$.toolTypeCounts['Power Tool']").doesNotExist());
+    }
+
+    @Test
+    void reconcile_picksUpRowsWrittenOutsideTheServices() throws Exception {
+        Long john = createUser("john@example.com");
+        createTool(john, "Hammer", "Hand Tool");
+        jdbcTemplate.update("insert into tools (tool_id, user_id, tool_name, tool_type_id) "
+                + "values (9000, ?, 'Bulk Tool', (select tool_type_id from tool_types where name = 'Welding Tool'))", john);
+
+        assertThat(toolCounts.total()).isEqualTo(1);
+
+        toolCounts.reconcile();
+
+        assertThat(toolCounts.total()).isEqualTo(2);
+        assertThat(toolCounts.byType()).containsEntry("Welding Tool", 1L).containsEntry("Hand Tool", 1L);
+        assertThat(toolCounts.ofUser(john)).isEqualTo(2);
+    }
+
+    @Test
+    void reconcile_keepsWritesCommittedWhileItRuns() throws Exception {
+        List<Long> owners = List.of(createUser("john@example.com"), createUser("jane@example.com"));
+        String[] types = {"Hand Tool", "Power Tool", "Garden Tool"};
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < 4; writer++) {
+                int offset = writer;
+                futures.add(writers.submit(() -> {
+                    List<Long> created = new ArrayList<>();
+                    for (int i = 0; writing.get(); i++) {
+                        Long owner = owners.get((i + offset) % owners.size());
+                        String type = types[(i + offset) % types.length];
+                        if (i % 3 == 2 && !created.isEmpty()) {
+                            toolService.deleteTool(created.remove(0));
+                        } else if (i % 5 == 4 && !created.isEmpty()) {
+                            Long toolId = created.get(created.size() - 1);
+                            toolService.updateTool(new ToolDto(toolId, "Moved", type, owner), null);
+                        } else {
+                            created.add(toolService.createTool(new ToolDto(null, "Tool " + i, type, owner)).getToolId());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 20; i++) {
+                toolCounts.reconcile();
+            }
+            writing.set(false);
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        Map<String, Long> byType = new HashMap<>();
+        jdbcTemplate.query("select tt.name, count(*) from tools t join tool_types tt on tt.tool_type_id = t.tool_type_id "
+                + "group by tt.name", row -> { byType.put(row.getString(1), row.getLong(2)); });
+        assertThat(toolCounts.byType()).isEqualTo(byType);
+        assertThat(toolCounts.total()).isEqualTo(jdbcTemplate.queryForObject("select count(*) from tools", Long.class));
+        for (Long owner : owners) {
+            assertThat(toolCounts.ofUser(owner)).isEqualTo(jdbcTemplate.queryForObject(
+                    "select count(*) from tools where user_id = ?", Long.class, owner));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.microservices.tool_app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ToolSearchIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long createUser(String email) throws Exception {
+        UserDto dto = new UserDto(null, "John Doe", email, LocalDate.of(1990, 1, 1));
+        return extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long createTool(Long userId, String name, String type) throws Exception {
+        return extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(null, name, type, userId))))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long extractIdFromLocation(MvcResult result) {
+        String location = result.getResponse().getHeader("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf("/") + 1));
+    }
+
+    private List<Long> search(MockHttpServletRequestBuilder request) throws Exception {
+        JsonNode results = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        List<Long> ids = new ArrayList<>();
+        results.forEach(tool -> ids.add(tool.get("toolId").asLong()));
+        return ids;
+    }
+
+    // The index refreshes on a background thread after each commit
+    private List<Long> awaitSearch(MockHttpServletRequestBuilder request, List<Long> expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<Long> ids = search(request);
+        while (!ids.equals(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            ids = search(request);
+        }
+        return ids;
+    }
+
+    @Test
+    void search_followsCreatesUpdatesAndDeletes() throws Exception {
+        Long userId = createUser("john@example.com");
+        Long drill = createTool(userId, "Cordless Drill", "Power Tool");
+        Long bits = createTool(userId, "Drill Bit Set", "Hand Tool");
+        createTool(userId, "Hammer", "Hand Tool");
+
+        assertThat(awaitSearch(get("/api/tools/search").param("q", "drill"), List.of(bits, drill)))
+                .containsExactly(bits, drill);
+        assertThat(search(get("/api/tools/search").param("q", "drill").param("type", "power tool")))
+                .containsExactly(drill);
+
+        mockMvc.perform(put("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(drill, "Impact Driver", "Power Tool", userId))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tools/" + bits))
+                .andExpect(status().isOk());
+
+        assertThat(awaitSearch(get("/api/tools/search").param("q", "drill"), List.of()))
+                .isEmpty();
+        assertThat(search(get("/api/tools/search").param("q", "driver"))).containsExactly(drill);
+    }
+
+    @Test
+    void search_dropsToolsOfDeletedUser() throws Exception {
+        Long keptUser = createUser("kept@example.com");
+        Long deletedUser = createUser("gone@example.com");
+        Long kept = createTool(keptUser, "Pipe Wrench", "Plumbing Tool");
+        Long gone = createTool(deletedUser, "Pipe Cutter", "Plumbing Tool");
+
+        assertThat(awaitSearch(get("/api/tools/search").param("q", "pipe"), List.of(kept, gone)))
+                .containsExactly(kept, gone);
+
+        mockMvc.perform(delete("/api/users/" + deletedUser))
+                .andExpect(status().isOk());
+
+        assertThat(awaitSearch(get("/api/tools/search").param("q", "pipe"), List.of(kept)))
+                .containsExactly(kept);
+        assertThat(search(get("/api/tools/search").param("userId", deletedUser.toString()))).isEmpty();
+    }
+
+    @Test
+    void search_rejectsShortQueriesAndOversizedLimits() throws Exception {
+        mockMvc.perform(get("/api/tools/search").param("q", "ab"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tools/search"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tools/search").param("q", "drill").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+    }
+}
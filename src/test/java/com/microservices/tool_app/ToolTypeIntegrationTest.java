@@ -0,0 +1,171 @@
+package com.microservices.tool_app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.entity.Tool;
+import com.microservices.tool_app.repository.ToolTypeDictionary;
+import com.microservices.tool_app.repository.ToolsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ToolTypeIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ToolsRepository toolsRepository;
+
+    @Autowired
+    private ToolTypeDictionary toolTypes;
+
+    private Long createUser() throws Exception {
+        UserDto dto = new UserDto(null, "John Doe", "john@example.com", LocalDate.of(1990, 1, 1));
+        return extractIdFromLocation(mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long createTool(Long userId, String name, String type) throws Exception {
+        return extractIdFromLocation(mockMvc.perform(post("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(null, name, type, userId))))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    private Long extractIdFromLocation(MvcResult result) {
+        String location = result.getResponse().getHeader("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf("/") + 1));
+    }
+
+    private Long countTypesNamed(String name) {
+        return jdbcTemplate.queryForObject("select count(*) from tool_types where name = ?", Long.class, name);
+    }
+
+    @Test
+    void createTool_storesTypeKeyAndKeepsJsonShape() throws Exception {
+        Long userId = createUser();
+        Long laser = createTool(userId, "Laser Level", "Laser Tool");
+        Long cutter = createTool(userId, "Laser Cutter", "Laser Tool");
+        Long hammer = createTool(userId, "Hammer", "Hand Tool");
+
+        assertThat(countTypesNamed("Laser Tool")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct tool_type_id) from tools where tool_id in (?, ?)",
+                Long.class, laser, cutter)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select tool_type_id from tools where tool_id = ?", Integer.class, hammer))
+                .isEqualTo(toolTypes.idOf("Hand Tool"));
+
+        mockMvc.perform(get("/api/tools/" + laser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.toolType").value("Laser Tool"));
+    }
+
+    @Test
+    void loadedTools_shareOneTypeInstance() throws Exception {
+        Long userId = createUser();
+        Long drill = createTool(userId, "Cordless Drill", "Power Tool");
+        Long saw = createTool(userId, "Circular Saw", "Power Tool");
+
+        List<Tool> tools = transactionTemplate.execute(status -> toolsRepository.findAllById(List.of(drill, saw)));
+
+        assertThat(tools).hasSize(2);
+        assertThat(tools.get(0).getToolType()).isEqualTo("Power Tool").isSameAs(tools.get(1).getToolType());
+    }
+
+    @Test
+    void resolve_forgetsTypesCreatedByRolledBackTransactions() {
+        Integer created = transactionTemplate.execute(status -> {
+            int id = toolTypes.resolveId("Ghost Tool");
+            assertThat(toolTypes.idOf("Ghost Tool")).isEqualTo(id);
+            assertThat(toolTypes.nameOf(id)).isEqualTo("Ghost Tool");
+            status.setRollbackOnly();
+            return id;
+        });
+
+        assertThat(toolTypes.idOf("Ghost Tool")).isNull();
+        assertThat(toolTypes.nameOf(created)).isNull();
+        assertThat(countTypesNamed("Ghost Tool")).isZero();
+    }
+
+    // Created out of name order, so their keys do not sort the way their names do
+    private static final String[] UNSORTED_TYPES = {"Zinc Tool", "Hand Tool", "Welding Tool", "Anvil Tool"};
+
+    @Test
+    void cursorPagination_sortedByTypeWalksEveryToolInNameOrder() throws Exception {
+        Long userId = createUser();
+        for (int i = 0; i < 12; i++) {
+            createTool(userId, "Tool " + i, UNSORTED_TYPES[i % UNSORTED_TYPES.length]);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        List<String> typeNames = new ArrayList<>();
+        String cursor = "";
+        do {
+            JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/tools/paginated/cursor")
+                            .param("size", "5")
+                            .param("sortBy", "toolType")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            for (JsonNode tool : page.get("content")) {
+                seen.add(tool.get("toolId").asLong());
+                typeNames.add(tool.get("toolType").asText());
+            }
+            cursor = page.get("nextCursor").asText("");
+        } while (!cursor.isEmpty());
+
+        assertThat(seen).hasSize(12).doesNotHaveDuplicates();
+        assertThat(typeNames).isSorted().startsWith("Anvil Tool").endsWith("Zinc Tool");
+        assertThat(toolTypes.idOf("Zinc Tool")).isLessThan(toolTypes.idOf("Anvil Tool"));
+    }
+
+    @Test
+    void offsetPagination_sortedByTypeFollowsNameOrder() throws Exception {
+        Long userId = createUser();
+        for (int i = 0; i < 8; i++) {
+            createTool(userId, "Tool " + i, UNSORTED_TYPES[i % UNSORTED_TYPES.length]);
+        }
+
+        List<String> typeNames = new ArrayList<>();
+        for (int page = 0; page < 2; page++) {
+            JsonNode body = objectMapper.readTree(mockMvc.perform(get("/api/tools/paginated")
+                            .param("page", String.valueOf(page))
+                            .param("size", "4")
+                            .param("sortBy", "toolType"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(8))
+                    .andReturn().getResponse().getContentAsString());
+            body.get("content").forEach(tool -> typeNames.add(tool.get("toolType").asText()));
+        }
+
+        assertThat(typeNames).containsExactly("Anvil Tool", "Anvil Tool", "Hand Tool", "Hand Tool",
+                "Welding Tool", "Welding Tool", "Zinc Tool", "Zinc Tool");
+    }
+}
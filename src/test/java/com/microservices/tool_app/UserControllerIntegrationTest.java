@@ -2,22 +2,32 @@ package com.microservices.tool_app;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.tool_app.dto.UserDto;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
 @AutoConfigureMockMvc
 @Transactional
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
@@ -29,6 +39,12 @@ class UserControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private UserDto buildUser() {
         UserDto dto = new UserDto();
         dto.setName("John Doe");
@@ -143,6 +159,39 @@ class UserControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.statusMsg").value("User updated successfully"));
     }
 
+    @Test
+    void updateUser_evictsCachedEmailLookup() throws Exception {
+
+        MvcResult result = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildUser())))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        Long userId = extractIdFromLocation(result);
+
+        // Warm the caches
+        mockMvc.perform(get("/api/users/email/john@example.com"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/" + userId))
+                .andExpect(status().isOk());
+
+        UserDto updated = buildUser();
+        updated.setEmail("johnny@example.com");
+
+        mockMvc.perform(put("/api/users/" + userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/email/john@example.com"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/users/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("johnny@example.com"));
+    }
+
     @Test
     void updateUser_notFound() throws Exception {
         mockMvc.perform(put("/api/users/999")
@@ -167,6 +216,110 @@ class UserControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.statusMsg").value("User deleted successfully"));
     }
 
+    @Test
+    void deleteUser_removesToolsWithConstantStatementCount() throws Exception {
+        jdbcTemplate.update("insert into users (user_id, name, email, date_of_birth, created_at) "
+                + "values (1, 'Tool Owner', 'owner@example.com', DATE '1990-01-01', CURRENT_TIMESTAMP)");
+        List<Object[]> tools = new ArrayList<>();
+        for (long toolId = 1; toolId <= 500; toolId++) {
+            tools.add(new Object[]{toolId, 1L, "Tool " + toolId, "Hand Tool"});
+        }
+        jdbcTemplate.batchUpdate("insert into tools (tool_id, user_id, tool_name, tool_type_id, created_at) "
+                + "values (?, ?, ?, (select tool_type_id from tool_types where name = ?), CURRENT_TIMESTAMP)", tools);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(delete("/api/users/1"))
+                .andExpect(status().isOk());
+
+        // email lookup, one DELETE for the tools that returns their ids and types, one DELETE for
+        // the user, one tombstone INSERT for the user and one tombstoning all of their tools;
+        // change sequences are taken through JDBC, outside these statistics
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from tools where user_id = 1", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users where user_id = 1", Long.class)).isZero();
+    }
+
+    @Test
+    void deleteUser_evictsAToolThatMovedToTheUserBehindTheOwnerIndex() throws Exception {
+        jdbcTemplate.update("insert into users (user_id, name, email, date_of_birth, created_at) values "
+                + "(1, 'Leaving Owner', 'leaving@example.com', DATE '1990-01-01', CURRENT_TIMESTAMP), "
+                + "(2, 'Previous Owner', 'previous@example.com', DATE '1990-01-01', CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("insert into tools (tool_id, user_id, tool_name, tool_type_id, created_at) "
+                + "values (1, 2, 'Hammer', (select tool_type_id from tool_types where name = 'Hand Tool'), "
+                + "CURRENT_TIMESTAMP)");
+        mockMvc.perform(get("/api/tools/1"))
+                .andExpect(status().isOk());
+        // Moved without a publication, so the owner index still has it under user 2
+        jdbcTemplate.update("update tools set user_id = 1 where tool_id = 1");
+
+        mockMvc.perform(delete("/api/users/1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tools/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUserSummary_loadsUserToolsAndCountsInOneStatement() throws Exception {
+        insertUsersWithTools(1);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/users/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("User 1"))
+                .andExpect(jsonPath("$.tools.length()").value(3))
+                .andExpect(jsonPath("$.toolTypeCounts['Hand Tool']").value(2))
+                .andExpect(jsonPath("$.toolTypeCounts['Power Tool']").value(1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getUserSummary_notFound() throws Exception {
+        mockMvc.perform(get("/api/users/999/summary"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUserSummaries_statementCountDoesNotGrowWithPageSize() throws Exception {
+        insertUsersWithTools(20);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/users/summary").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andExpect(jsonPath("$.content[19].tools.length()").value(3))
+                .andExpect(jsonPath("$.totalElements").value(20));
+
+        // page of users, total count, then one query for every tool on the page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    private void insertUsersWithTools(int users) {
+        List<Object[]> userRows = new ArrayList<>();
+        List<Object[]> toolRows = new ArrayList<>();
+        for (long userId = 1; userId <= users; userId++) {
+            userRows.add(new Object[]{userId, "User " + userId, "user" + userId + "@example.com"});
+            toolRows.add(new Object[]{userId * 10 + 1, userId, "Hammer", "Hand Tool"});
+            toolRows.add(new Object[]{userId * 10 + 2, userId, "Saw", "Hand Tool"});
+            toolRows.add(new Object[]{userId * 10 + 3, userId, "Drill", "Power Tool"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (user_id, name, email, date_of_birth, created_at) "
+                + "values (?, ?, ?, DATE '1990-01-01', CURRENT_TIMESTAMP)", userRows);
+        jdbcTemplate.batchUpdate("insert into tools (tool_id, user_id, tool_name, tool_type_id, created_at) "
+                + "values (?, ?, ?, (select tool_type_id from tool_types where name = ?), CURRENT_TIMESTAMP)", toolRows);
+    }
+
     @Test
     void deleteUser_notFound() throws Exception {
         mockMvc.perform(delete("/api/users/999"))
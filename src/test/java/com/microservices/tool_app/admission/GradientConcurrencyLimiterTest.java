@@ -0,0 +1,78 @@
+package com.microservices.tool_app.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private void runAtLimit(GradientConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(rttNanos, true);
+            }
+        }
+    }
+
+    @Test
+    void tryAcquire_rejectsOnceLimitIsInFlight() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        assertThat(limiter.getInflight()).isEqualTo(2);
+        assertThat(limiter.getAccepted()).isEqualTo(2);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void release_growsLimitWhileLatencyHoldsSteady() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100);
+
+        runAtLimit(limiter, FAST, 20);
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    @Test
+    void release_shrinksLimitWhenLatencyRisesAboveBaseline() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(50, 2, 100);
+        runAtLimit(limiter, FAST, 5);
+        int before = limiter.getLimit();
+
+        runAtLimit(limiter, SLOW, 5);
+
+        assertThat(limiter.getLimit()).isLessThan(before);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void release_failedRequestsDoNotMoveTheLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(SLOW, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void constructor_rejectsInconsistentLimits() {
+        assertThatThrownBy(() -> new GradientConcurrencyLimiter(5, 10, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
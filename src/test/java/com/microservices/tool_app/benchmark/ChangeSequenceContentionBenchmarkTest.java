@@ -0,0 +1,106 @@
+package com.microservices.tool_app.benchmark;
+
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.service.IToolService;
+import com.microservices.tool_app.service_impl.ToolIndexer;
+import com.microservices.tool_app.support.SeedData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tool updates per second with 1 and 8 concurrent writers, each on its own tools, where every
+ * transaction stays open for {@value #HOLD_MILLIS} ms after its update, standing in for the
+ * rest of a longer transaction. A change sequence that was a locked counter row would hold
+ * every other writer for that long, capping 8 writers at the rate of one; budget: 8 writers
+ * must get through at least 3x as many updates per second as one.
+ * Run with: mvn test -Dtest=ChangeSequenceContentionBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ChangeSequenceContentionBenchmarkTest {
+
+    private static final int TOOLS = 8_000;
+    private static final int UPDATES_PER_WRITER = 50;
+    private static final long HOLD_MILLIS = 50;
+
+    @Autowired
+    private IToolService toolService;
+
+    @Autowired
+    private ToolIndexer toolIndexer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentWritersDoNotSerializeOnTheChangeSequence() throws Exception {
+        SeedData.insert(jdbcTemplate, 1, TOOLS);
+        toolIndexer.catchUpNow();
+
+        measure(8);
+        double single = measure(1);
+        double eight = measure(8);
+
+        System.out.printf("%n%-24s %14s%n", "writers", "updates/s");
+        System.out.printf("%-24d %14.0f%n", 1, single);
+        System.out.printf("%-24d %14.0f%n%n", 8, eight);
+
+        assertThat(eight).isGreaterThan(single * 3);
+    }
+
+    /**
+     * @return updates committed per second across all writers
+     */
+    private double measure(int writers) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int writer = 0; writer < writers; writer++) {
+                long firstTool = (long) writer * (TOOLS / 8) + 1;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                        long toolId = firstTool + i % (TOOLS / 8);
+                        transactionTemplate.executeWithoutResult(status -> {
+                            toolService.updateTool(new ToolDto(toolId, "Renamed", "Hand Tool", 1L), null);
+                            hold();
+                        });
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            return writers * UPDATES_PER_WRITER / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void hold() {
+        try {
+            Thread.sleep(HOLD_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
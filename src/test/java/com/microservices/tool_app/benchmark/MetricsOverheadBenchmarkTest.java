@@ -0,0 +1,113 @@
+package com.microservices.tool_app.benchmark;
+
+import com.microservices.tool_app.support.SeedData;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Measures what meter recording adds to a cached GET /api/tools/{id}, the cheapest request
+ * the API serves and so the one where instrumentation weighs most. The same requests are
+ * timed with all three layers recording into p50/p95/p99 timers and with every meter
+ * denied, alternating between the two. Budget: recording may add at most 10 microseconds
+ * to the median request latency.
+ * Run with: mvn test -Dtest=MetricsOverheadBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "management.metrics.distribution.percentiles.http.server.requests=0.5,0.95,0.99",
+        "management.metrics.distribution.percentiles.service.invocations=0.5,0.95,0.99",
+        "management.metrics.distribution.percentiles.spring.data.repository.invocations=0.5,0.95,0.99"
+})
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MetricsOverheadBenchmarkTest {
+
+    private static final double OVERHEAD_BUDGET_MICROS = 10.0;
+    private static final int ROUNDS = 9;
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void meterRecordingStaysWithinBudget() throws Exception {
+        SeedData.insert(jdbcTemplate, 1, 1);
+
+        // Alternate the two modes so JIT warm-up does not favour whichever runs last
+        AtomicBoolean recording = new AtomicBoolean(true);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public MeterFilterReply accept(Meter.Id id) {
+                return recording.get() ? MeterFilterReply.NEUTRAL : MeterFilterReply.DENY;
+            }
+        });
+
+        // The request path needs tens of thousands of calls before the JIT settles
+        run(recording, true, WARMUP);
+        run(recording, false, WARMUP);
+
+        double[] instrumentedRounds = new double[ROUNDS];
+        double[] deniedRounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            instrumentedRounds[round] = measure(recording, true);
+            deniedRounds[round] = measure(recording, false);
+        }
+
+        // Medians, so a round hit by GC or a late compilation does not decide the result
+        double instrumented = median(instrumentedRounds);
+        double denied = median(deniedRounds);
+        double overhead = instrumented - denied;
+        System.out.printf("%n%-14s %16s%n", "metrics", "median (us/req)");
+        System.out.printf("%-14s %16.2f%n", "recording", instrumented);
+        System.out.printf("%-14s %16.2f%n", "denied", denied);
+        System.out.printf("%-14s %16.2f (%.1f%%)%n%n", "overhead", overhead, overhead / denied * 100);
+
+        assertThat(overhead).isLessThan(OVERHEAD_BUDGET_MICROS);
+    }
+
+    private double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private double measure(AtomicBoolean recording, boolean enabled) throws Exception {
+        long start = System.nanoTime();
+        run(recording, enabled, ITERATIONS);
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+
+    private void run(AtomicBoolean recording, boolean enabled, int requests) throws Exception {
+        recording.set(enabled);
+        meterRegistry.clear();
+
+        for (int i = 0; i < requests; i++) {
+            mockMvc.perform(get("/api/tools/1"));
+        }
+    }
+}
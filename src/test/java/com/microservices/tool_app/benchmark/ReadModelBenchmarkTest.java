@@ -0,0 +1,130 @@
+package com.microservices.tool_app.benchmark;
+
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.mapper.ToolMapper;
+import com.microservices.tool_app.repository.ToolsRepository;
+import com.microservices.tool_app.repository.UsersRepository;
+import com.microservices.tool_app.service.IToolService;
+import com.microservices.tool_app.service_impl.ReadModel;
+import com.microservices.tool_app.support.SeedData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the read model against the JPA read paths for 200k tools owned by 20k users: heap
+ * held by all rows (read model versus the same rows as cached DTOs), and time and bytes
+ * allocated per by-id read. Budget: a read-model read must be at least 5x faster than a
+ * projection query and allocate at most a quarter of its bytes.
+ * Run with: mvn test -Dtest=ReadModelBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "read-model.enabled=true"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReadModelBenchmarkTest {
+
+    private static final int USERS = 20_000;
+    private static final int TOOLS = 200_000;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Autowired
+    private IToolService toolService;
+
+    @Autowired
+    private ToolsRepository toolsRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private ReadModel readModel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void readModelBeatsJpaReads() {
+        SeedData.insert(jdbcTemplate, USERS, TOOLS / USERS);
+
+        long before = usedHeap();
+        readModel.catchUp();
+        long readModelHeap = usedHeap() - before;
+        long readModelBytes = readModel.footprintBytes();
+
+        before = usedHeap();
+        Map<Long, Object> cached = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            toolsRepository.findAllDtos().forEach(tool -> cached.put(tool.getToolId(), tool));
+            usersRepository.findAllDtos().forEach(user -> cached.put(-user.getUserId(), user));
+        });
+        long cachedHeap = usedHeap() - before;
+
+        double[] entity = measure(id -> transactionTemplate.execute(status ->
+                toolsRepository.findById(id).map(ToolMapper::mapToToolsDto).orElse(null)));
+        double[] projection = measure(id -> transactionTemplate.execute(status ->
+                toolsRepository.findDtoById(id).orElse(null)));
+        double[] held = measure(id -> readModel.toolCache().get(id, ToolDto.class));
+        double[] served = measure(toolService::getToolById);
+
+        System.out.printf("%n%-28s %12s%n", "rows held (200k tools, 20k users)", "heap (MB)");
+        System.out.printf("%-28s %12.1f  (%.1f MB incl. off-heap strings)%n", "read model",
+                readModelHeap / 1048576.0, readModelBytes / 1048576.0);
+        System.out.printf("%-28s %12.1f%n", "DTOs in a map (warm cache)", cachedHeap / 1048576.0);
+        System.out.printf("%n%-28s %12s %14s%n", "GET tool by id", "us/read", "bytes/read");
+        System.out.printf("%-28s %12.2f %14.0f%n", "JPA entity + mapper", entity[0] / 1000, entity[1]);
+        System.out.printf("%-28s %12.2f %14.0f%n", "JPA DTO projection", projection[0] / 1000, projection[1]);
+        System.out.printf("%-28s %12.2f %14.0f%n", "read model", held[0] / 1000, held[1]);
+        System.out.printf("%-28s %12.2f %14.0f%n%n", "read model via service", served[0] / 1000, served[1]);
+
+        assertThat(cached).hasSize(TOOLS + USERS);
+        assertThat(toolService.getToolById(4242L))
+                .isEqualTo(transactionTemplate.execute(status -> toolsRepository.findDtoById(4242L).orElseThrow()));
+        assertThat(served[0] * 5).isLessThan(projection[0]);
+        assertThat(served[1] * 4).isLessThan(projection[1]);
+    }
+
+    /**
+     * @return nanoseconds and bytes allocated per read, over random ids
+     */
+    private double[] measure(LongFunction<ToolDto> read) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Random random = new Random(42);
+        for (int i = 0; i < WARMUP; i++) {
+            read.apply(random.nextInt(TOOLS) + 1);
+        }
+
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (read.apply(random.nextInt(TOOLS) + 1) == null) {
+                throw new AssertionError("Seeded tool not found");
+            }
+        }
+        double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        return new double[]{nanos, (double) (threads.getCurrentThreadAllocatedBytes() - bytes) / ITERATIONS};
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
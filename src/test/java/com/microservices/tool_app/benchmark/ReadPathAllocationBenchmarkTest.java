@@ -0,0 +1,84 @@
+package com.microservices.tool_app.benchmark;
+
+import com.microservices.tool_app.mapper.ToolMapper;
+import com.microservices.tool_app.repository.ToolsRepository;
+import com.microservices.tool_app.support.SeedData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares bytes allocated per call for entity-then-map reads against DTO projection reads.
+ * Run with: mvn test -Dtest=ReadPathAllocationBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReadPathAllocationBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private ToolsRepository toolsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        SeedData.insert(jdbcTemplate, 1, ROWS);
+    }
+
+    @Test
+    void compareEntityAndProjectionReads() {
+        Supplier<?> entityList = () -> transactionTemplate.execute(status ->
+                toolsRepository.findAll().stream().map(ToolMapper::mapToToolsDto).toList());
+        Supplier<?> projectionList = () -> transactionTemplate.execute(status -> toolsRepository.findAllDtos());
+        Supplier<?> entitySingle = () -> transactionTemplate.execute(status ->
+                toolsRepository.findById(42L).map(ToolMapper::mapToToolsDto).orElse(null));
+        Supplier<?> projectionSingle = () -> transactionTemplate.execute(status ->
+                toolsRepository.findDtoById(42L).orElse(null));
+
+        long entityListBytes = measure(entityList);
+        long projectionListBytes = measure(projectionList);
+        long entitySingleBytes = measure(entitySingle);
+        long projectionSingleBytes = measure(projectionSingle);
+
+        System.out.printf("%n%-12s %22s %18s%n", "read path", "list 10k (KB/call)", "by id (KB/call)");
+        System.out.printf("%-12s %22d %18.1f%n", "entity", entityListBytes / 1024, entitySingleBytes / 1024.0);
+        System.out.printf("%-12s %22d %18.1f%n%n", "projection", projectionListBytes / 1024,
+                projectionSingleBytes / 1024.0);
+
+        assertThat(projectionList.get()).isEqualTo(entityList.get());
+        assertThat(projectionSingle.get()).isEqualTo(entitySingle.get());
+    }
+
+    private long measure(Supplier<?> call) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+
+        long start = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - start) / ITERATIONS;
+    }
+}
@@ -0,0 +1,87 @@
+package com.microservices.tool_app.benchmark;
+
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.service.IToolService;
+import com.microservices.tool_app.service_impl.ToolIndexer;
+import com.microservices.tool_app.support.SeedData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reports transactions, statements, flushes and allocated bytes per service call.
+ * Run with: mvn test -Dtest=ServiceTransactionBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ServiceTransactionBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private IToolService toolService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ToolIndexer toolIndexer;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() throws Exception {
+        SeedData.insert(jdbcTemplate, 1, ROWS);
+        toolIndexer.catchUpNow();
+    }
+
+    @Test
+    void reportPerCallCosts() {
+        System.out.printf("%n%-22s %8s %11s %8s %14s%n", "call", "tx/call", "stmts/call", "flushes", "KB/call");
+        report("getAllTools", () -> toolService.getAllTools());
+        report("getAllTools(page)", () -> toolService.getAllTools(500, 20, "toolName"));
+        report("getToolsByUserId", () -> toolService.getToolsByUserId(1L));
+        report("updateTool", () -> toolService.updateTool(new ToolDto(42L, "Renamed", "Hand Tool", 1L), null));
+        System.out.println();
+    }
+
+    private void report(String name, Runnable call) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+
+        statistics.clear();
+        long start = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - start;
+
+        System.out.printf("%-22s %8.1f %11.1f %8.1f %14.1f%n", name,
+                (double) statistics.getTransactionCount() / ITERATIONS,
+                (double) statistics.getPrepareStatementCount() / ITERATIONS,
+                (double) statistics.getFlushCount() / ITERATIONS,
+                allocated / 1024.0 / ITERATIONS);
+    }
+}
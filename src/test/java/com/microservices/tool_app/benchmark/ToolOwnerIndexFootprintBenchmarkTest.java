@@ -0,0 +1,105 @@
+package com.microservices.tool_app.benchmark;
+
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.index.ToolOwnerIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the heap held by {@link ToolOwnerIndex} against a boxed {@code HashMap<Long, List<Long>>}
+ * for 10M tools spread over 1M owners, and times lookups in each. Budget: the index may hold at
+ * most 32 bytes per tool once trimmed.
+ * Run with: mvn test -Dtest=ToolOwnerIndexFootprintBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ToolOwnerIndexFootprintBenchmarkTest {
+
+    private static final int TOOLS = 10_000_000;
+    private static final int OWNERS = 1_000_000;
+    private static final int PAGE = 5_000;
+    private static final int LOOKUPS = 1_000_000;
+    private static final long BUDGET_BYTES_PER_TOOL = 32;
+
+    @Test
+    void ownerIndexStaysWithinFootprintBudget() {
+        long before = usedHeap();
+        ToolOwnerIndex index = new ToolOwnerIndex();
+        // Applied in feed-sized pages, the way the indexer loads it at startup
+        List<ToolDto> page = new ArrayList<>(PAGE);
+        for (long toolId = 1; toolId <= TOOLS; toolId++) {
+            page.add(new ToolDto(toolId, null, null, ownerOf(toolId)));
+            if (page.size() == PAGE) {
+                index.apply(page, List.of());
+                page.clear();
+            }
+        }
+        index.trimToSize();
+        long indexHeap = usedHeap() - before;
+        long reported = index.footprintBytes();
+        double indexNanos = time(userId -> index.toolIdsOf(userId).length);
+
+        before = usedHeap();
+        Map<Long, List<Long>> boxed = new HashMap<>();
+        for (long toolId = 1; toolId <= TOOLS; toolId++) {
+            boxed.computeIfAbsent(ownerOf(toolId), userId -> new ArrayList<>()).add(toolId);
+        }
+        boxed.values().forEach(ids -> ((ArrayList<Long>) ids).trimToSize());
+        long boxedHeap = usedHeap() - before;
+        double boxedNanos = time(userId -> boxed.get(userId).size());
+
+        System.out.printf("%n%-22s %14s %12s %16s%n", "owner index", "heap (MB)", "B/tool", "lookup (ns)");
+        System.out.printf("%-22s %14d %12.1f %16.0f%n", "primitive arrays", indexHeap >> 20,
+                (double) indexHeap / TOOLS, indexNanos);
+        System.out.printf("%-22s %14d %12.1f %16s%n", "  footprintBytes()", reported >> 20,
+                (double) reported / TOOLS, "");
+        System.out.printf("%-22s %14d %12.1f %16.0f%n%n", "HashMap<Long,List>", boxedHeap >> 20,
+                (double) boxedHeap / TOOLS, boxedNanos);
+
+        assertThat(index.size()).isEqualTo(TOOLS);
+        assertThat(boxed).hasSize(OWNERS);
+        assertThat((double) indexHeap / TOOLS).isLessThanOrEqualTo(BUDGET_BYTES_PER_TOOL);
+    }
+
+    // Scattered so that owners' tools interleave, as they do when users add tools over time
+    private static long ownerOf(long toolId) {
+        return (toolId * 7_919) % OWNERS + 1;
+    }
+
+    private interface Lookup {
+        int toolCount(long userId);
+    }
+
+    private static double time(Lookup lookup) {
+        long[] userIds = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            userIds[i] = ThreadLocalRandom.current().nextLong(OWNERS) + 1;
+        }
+        long sink = 0;
+        for (long userId : userIds) {
+            sink += lookup.toolCount(userId);
+        }
+        long start = System.nanoTime();
+        for (long userId : userIds) {
+            sink += lookup.toolCount(userId);
+        }
+        double nanos = (double) (System.nanoTime() - start) / LOOKUPS;
+        assertThat(sink).isPositive();
+        return nanos;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
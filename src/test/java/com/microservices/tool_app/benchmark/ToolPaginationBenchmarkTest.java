@@ -0,0 +1,80 @@
+package com.microservices.tool_app.benchmark;
+
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.mapper.ToolCursorMapper;
+import com.microservices.tool_app.repository.ToolPageRow;
+import com.microservices.tool_app.repository.ToolSortField;
+import com.microservices.tool_app.service.IToolService;
+import com.microservices.tool_app.support.SeedData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares page 1 against page 10,000 for offset and cursor pagination.
+ * Run with: mvn test -Dtest=ToolPaginationBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ToolPaginationBenchmarkTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int ROWS = PAGE_SIZE * DEEP_PAGE;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private IToolService toolService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        SeedData.insert(jdbcTemplate, 1, ROWS);
+    }
+
+    @Test
+    void compareOffsetAndCursorPagination() {
+        // Cursor positioned on the last row of page 9,999 so the next page is page 10,000; the
+        // seeded ids run from 1, and that page is too large to fetch through the capped API
+        long lastBeforeDeepPage = (long) (DEEP_PAGE - 1) * PAGE_SIZE;
+        String deepCursor = ToolCursorMapper.mapToCursorToken(ToolSortField.TOOL_ID,
+                new ToolPageRow(new ToolDto(lastBeforeDeepPage, null, null, null), lastBeforeDeepPage));
+
+        double offsetFirst = measure(() -> toolService.getAllTools(0, PAGE_SIZE, "toolId"));
+        double offsetDeep = measure(() -> toolService.getAllTools(DEEP_PAGE - 1, PAGE_SIZE, "toolId"));
+        double cursorFirst = measure(() -> toolService.getAllTools(null, PAGE_SIZE, "toolId", false));
+        double cursorDeep = measure(() -> toolService.getAllTools(deepCursor, PAGE_SIZE, "toolId", false));
+
+        System.out.printf("%n%-8s %14s %18s%n", "mode", "page 1 (ms)", "page 10,000 (ms)");
+        System.out.printf("%-8s %14.3f %18.3f%n", "offset", offsetFirst, offsetDeep);
+        System.out.printf("%-8s %14.3f %18.3f%n%n", "cursor", cursorFirst, cursorDeep);
+
+        // Both modes must land on the same rows
+        assertThat(toolService.getAllTools(deepCursor, PAGE_SIZE, "toolId", false).getContent())
+                .isEqualTo(toolService.getAllTools(DEEP_PAGE - 1, PAGE_SIZE, "toolId").getContent());
+    }
+
+    private double measure(Supplier<?> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+}
@@ -2,29 +2,49 @@ package com.microservices.tool_app.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.constants.MetricsConstants;
 import com.microservices.tool_app.constants.ToolConstants;
+import com.microservices.tool_app.dto.BatchItemResultDto;
+import com.microservices.tool_app.dto.BatchResponseDto;
+import com.microservices.tool_app.dto.CursorPaginatedResponseDto;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
 import com.microservices.tool_app.dto.ToolDto;
 import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.entity.Tool;
 import com.microservices.tool_app.service.IToolService;
 import com.microservices.tool_app.service.IUserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ToolController.class)
+// The exception handler counts into the injected registry, which this slice does not configure
+@Import(SimpleMeterRegistry.class)
 class ToolControllerTest {
 
     @Autowired
@@ -39,6 +59,9 @@ class ToolControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void createTool_returns201_whenUserExists() throws Exception {
         ToolDto dto = new ToolDto();
@@ -88,6 +111,42 @@ class ToolControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("NOT_FOUND"));
     }
 
+    @Test
+    void createTools_returns201_whenEveryItemIsCreated() throws Exception {
+        ToolDto dto = new ToolDto();
+        dto.setToolName("Hammer");
+        dto.setToolType("Hand Tool");
+        dto.setUserId(10L);
+
+        when(toolService.createTools(anyList())).thenReturn(new BatchResponseDto(1, 0, List.of(
+                new BatchItemResultDto(0, 1L, BaseConstants.STATUS_201, ToolConstants.MESSAGE_201))));
+
+        mockMvc.perform(post("/api/tools/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(dto))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].toolId").value(1L));
+    }
+
+    @Test
+    void createTools_returns207_whenSomeItemsFail() throws Exception {
+        ToolDto dto = new ToolDto();
+        dto.setToolName("Hammer");
+        dto.setToolType("Hand Tool");
+        dto.setUserId(99L);
+
+        when(toolService.createTools(anyList())).thenReturn(new BatchResponseDto(0, 1, List.of(
+                new BatchItemResultDto(0, null, BaseConstants.STATUS_404, ToolConstants.MESSAGE_404_USER))));
+
+        mockMvc.perform(post("/api/tools/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(dto))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].statusCode").value(BaseConstants.STATUS_404));
+    }
+
     @Test
     void getAllTools_returnsList() throws Exception {
         ToolDto tool = new ToolDto();
@@ -104,6 +163,39 @@ class ToolControllerTest {
                 .andExpect(jsonPath("$[0].toolName").value("Saw"));
     }
 
+    @Test
+    void exportTools_streamsNdjson() throws Exception {
+        ToolDto saw = new ToolDto();
+        saw.setToolId(1L);
+        saw.setToolName("Saw");
+        saw.setToolType("Hand Tool");
+        saw.setUserId(10L);
+
+        ToolDto drill = new ToolDto();
+        drill.setToolId(2L);
+        drill.setToolName("Drill");
+        drill.setToolType("Power Tool");
+        drill.setUserId(10L);
+
+        doAnswer(invocation -> {
+            Consumer<ToolDto> consumer = invocation.getArgument(0);
+            consumer.accept(saw);
+            consumer.accept(drill);
+            return null;
+        }).when(toolService).streamAllTools(any());
+
+        MvcResult result = mockMvc.perform(get("/api/tools/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(saw) + "\n"
+                                + objectMapper.writeValueAsString(drill) + "\n"));
+    }
+
     @Test
     void getAllToolsPaginated_returnsPaginatedResponse() throws Exception {
         ToolDto tool = new ToolDto();
@@ -123,6 +215,38 @@ class ToolControllerTest {
                 .andExpect(jsonPath("$.pageSize").value(1));
     }
 
+    @Test
+    void getAllToolsByCursor_returnsCursorPage() throws Exception {
+        ToolDto tool = new ToolDto();
+        tool.setToolId(1L);
+        tool.setToolName("Drill");
+        tool.setToolType("Power Tool");
+        tool.setUserId(10L);
+
+        when(toolService.getAllTools(isNull(), eq(1), eq("toolName"), eq(false)))
+                .thenReturn(new CursorPaginatedResponseDto<>(List.of(tool), 1, "abc", null, false));
+
+        mockMvc.perform(get("/api/tools/paginated/cursor?size=1&sortBy=toolName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].toolId").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.lastPage").value(false));
+    }
+
+    @Test
+    void getAllToolsByCursor_returns400_forInvalidCursor() throws Exception {
+        when(toolService.getAllTools(eq("bad"), anyInt(), anyString(), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+        Counter handled = meterRegistry.counter(MetricsConstants.HANDLED_EXCEPTIONS,
+                "exception", "IllegalArgumentException");
+        double before = handled.count();
+
+        mockMvc.perform(get("/api/tools/paginated/cursor?cursor=bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid cursor"));
+        assertThat(handled.count()).isEqualTo(before + 1);
+    }
+
     @Test
     void getToolsForUser_returnsList() throws Exception {
         ToolDto tool = new ToolDto();
@@ -138,6 +262,58 @@ class ToolControllerTest {
                 .andExpect(jsonPath("$[0].toolId").value(1L));
     }
 
+    @Test
+    void searchTools_passesFiltersAndDefaultLimit() throws Exception {
+        when(toolService.searchTools("ham", "Hand Tool", null, ToolConstants.SEARCH_DEFAULT_LIMIT))
+                .thenReturn(List.of(new ToolDto(1L, "Hammer", "Hand Tool", 10L)));
+
+        mockMvc.perform(get("/api/tools/search").param("q", "ham").param("type", "Hand Tool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].toolId").value(1L));
+    }
+
+    @Test
+    void searchTools_returns400_whenQueryTooShort() throws Exception {
+        when(toolService.searchTools(eq("ha"), isNull(), isNull(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Search text must be at least 3 characters"));
+
+        mockMvc.perform(get("/api/tools/search").param("q", "ha"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getToolsByIds_returnsItemsAndMissingIds() throws Exception {
+        when(toolService.getToolsByIds(List.of(1L, 99L))).thenReturn(new MultiGetResponseDto<>(
+                List.of(new ToolDto(1L, "Hammer", "Hand Tool", 10L)), List.of(99L)));
+
+        mockMvc.perform(get("/api/tools").param("ids", "1,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].toolId").value(1L))
+                .andExpect(jsonPath("$.missingIds[0]").value(99L));
+    }
+
+    @Test
+    void lookupTools_acceptsIdsInBody() throws Exception {
+        when(toolService.getToolsByIds(List.of(1L, 2L))).thenReturn(new MultiGetResponseDto<>(
+                List.of(new ToolDto(1L, "Hammer", "Hand Tool", 10L), new ToolDto(2L, "Saw", "Hand Tool", 10L)),
+                List.of()));
+
+        mockMvc.perform(post("/api/tools/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.missingIds").isEmpty());
+    }
+
+    @Test
+    void getToolsByIds_returns400_whenTooManyIds() throws Exception {
+        when(toolService.getToolsByIds(anyList())).thenThrow(new IllegalArgumentException("At most 1000 ids per request"));
+
+        mockMvc.perform(get("/api/tools").param("ids", "1,2"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getToolById_returnsTool() throws Exception {
         ToolDto tool = new ToolDto();
@@ -153,6 +329,35 @@ class ToolControllerTest {
                 .andExpect(jsonPath("$.toolId").value(1L));
     }
 
+    @Test
+    void getToolById_returnsVersionAsStrongETag() throws Exception {
+        when(toolService.getToolById(1L)).thenReturn(new ToolDto(1L, "Hammer", "Hand Tool", 10L, 3L));
+
+        mockMvc.perform(get("/api/tools/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void getToolById_returns304WithoutBody_whenIfNoneMatchIsCurrent() throws Exception {
+        when(toolService.getToolById(1L)).thenReturn(new ToolDto(1L, "Hammer", "Hand Tool", 10L, 3L));
+
+        mockMvc.perform(get("/api/tools/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllTools_returns304_whenChangeSequenceUnchanged() throws Exception {
+        when(toolService.getToolsChangeCount()).thenReturn(42L);
+
+        mockMvc.perform(get("/api/tools").header(HttpHeaders.IF_NONE_MATCH, "\"42\""))
+                .andExpect(status().isNotModified());
+
+        verify(toolService, never()).getAllTools();
+    }
+
     @Test
     void getToolById_throws404_whenNotFound() throws Exception {
         when(toolService.getToolById(99L)).thenReturn(null);
@@ -170,7 +375,7 @@ class ToolControllerTest {
         dto.setToolType("Hand Tool");
         dto.setUserId(10L);
 
-        when(toolService.updateTool(any(ToolDto.class))).thenReturn(true);
+        when(toolService.updateTool(any(ToolDto.class), isNull())).thenReturn(true);
 
         String json = objectMapper.writeValueAsString(dto);
 
@@ -190,7 +395,7 @@ class ToolControllerTest {
         dto.setToolType("Hand Tool");
         dto.setUserId(10L);
 
-        when(toolService.updateTool(any(ToolDto.class))).thenReturn(false);
+        when(toolService.updateTool(any(ToolDto.class), isNull())).thenReturn(false);
 
         String json = objectMapper.writeValueAsString(dto);
 
@@ -201,6 +406,39 @@ class ToolControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("NOT_FOUND"));
     }
 
+    @Test
+    void updateTool_passesIfMatchVersionToService() throws Exception {
+        when(toolService.updateTool(any(ToolDto.class), eq(3L))).thenReturn(true);
+
+        mockMvc.perform(put("/api/tools")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(1L, "Hammer", "Hand Tool", 10L))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateTool_returns412_forWeakIfMatch() throws Exception {
+        mockMvc.perform(put("/api/tools")
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(1L, "Hammer", "Hand Tool", 10L))))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(toolService, never()).updateTool(any(), any());
+    }
+
+    @Test
+    void updateTool_returns409_whenConcurrentUpdateWins() throws Exception {
+        when(toolService.updateTool(any(ToolDto.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Tool.class, 1L));
+
+        mockMvc.perform(put("/api/tools")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ToolDto(1L, "Hammer", "Hand Tool", 10L))))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void deleteTool_returns200_whenDeleted() throws Exception {
         when(toolService.deleteTool(1L)).thenReturn(true);
@@ -3,24 +3,38 @@ package com.microservices.tool_app.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.tool_app.constants.BaseConstants;
 import com.microservices.tool_app.constants.UserConstants;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
+import com.microservices.tool_app.dto.ToolDto;
 import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.dto.UserSummaryDto;
+import com.microservices.tool_app.exceptions.PreconditionFailedException;
 import com.microservices.tool_app.service.IUserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+// The exception handler counts into the injected registry, which this slice does not configure
+@Import(SimpleMeterRegistry.class)
 class UserControllerTest {
 
     @Autowired
@@ -60,6 +74,20 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.statusMsg").value(UserConstants.MESSAGE_201));
     }
 
+    @Test
+    void createUser_returns409WhenEmailAlreadyExists() throws Exception {
+        UserDto inputDto = buildValidUser();
+        inputDto.setUserId(null);
+
+        when(userService.createUser(any(UserDto.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_users_email"));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDto)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void getUsers_returnsList() throws Exception {
         when(userService.getAllUsers()).thenReturn(List.of(buildValidUser()));
@@ -70,6 +98,37 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].name").value("John Doe"));
     }
 
+    @Test
+    void exportUsers_streamsNdjson() throws Exception {
+        UserDto user = buildValidUser();
+
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(user);
+            return null;
+        }).when(userService).streamAllUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(user) + "\n"));
+    }
+
+    @Test
+    void getUsersByIds_returnsItemsAndMissingIds() throws Exception {
+        when(userService.getUsersByIds(List.of(1L, 99L)))
+                .thenReturn(new MultiGetResponseDto<>(List.of(buildValidUser()), List.of(99L)));
+
+        mockMvc.perform(get("/api/users").param("ids", "1", "99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email").value(buildValidUser().getEmail()))
+                .andExpect(jsonPath("$.missingIds[0]").value(99L));
+    }
+
     @Test
     void getUserById_returnsUser() throws Exception {
         when(userService.getUserById(1L)).thenReturn(buildValidUser());
@@ -136,11 +195,33 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"));
     }
 
+    @Test
+    void getUserSummary_returnsUserToolsAndTypeCounts() throws Exception {
+        when(userService.getUserSummary(1L)).thenReturn(new UserSummaryDto(1L, "John Doe", "john@example.com",
+                LocalDate.of(1990, 1, 1), List.of(new ToolDto(5L, "Hammer", "Hand Tool", 1L)),
+                Map.of("Hand Tool", 1L)));
+
+        mockMvc.perform(get("/api/users/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dateOfBirth").value("1990-01-01"))
+                .andExpect(jsonPath("$.tools[0].toolName").value("Hammer"))
+                .andExpect(jsonPath("$.toolTypeCounts['Hand Tool']").value(1));
+    }
+
+    @Test
+    void getUserSummary_throws404_whenNotFound() throws Exception {
+        when(userService.getUserSummary(99L)).thenReturn(null);
+
+        mockMvc.perform(get("/api/users/99/summary"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("NOT_FOUND"));
+    }
+
     @Test
     void updateUserDetails_returns200_whenUpdated() throws Exception {
         UserDto dto = buildValidUser();
 
-        when(userService.updateUser(eq(1L), any(UserDto.class))).thenReturn(true);
+        when(userService.updateUser(eq(1L), any(UserDto.class), isNull())).thenReturn(true);
 
         String json = objectMapper.writeValueAsString(dto);
 
@@ -152,11 +233,24 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.statusMsg").value(UserConstants.MESSAGE_200_UPDATE));
     }
 
+    @Test
+    void updateUserDetails_returns412_whenIfMatchIsStale() throws Exception {
+        when(userService.updateUser(eq(1L), any(UserDto.class), eq(1L)))
+                .thenThrow(new PreconditionFailedException("User 1 has been modified since version 1"));
+
+        mockMvc.perform(put("/api/users/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildValidUser())))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+    }
+
     @Test
     void updateUserDetails_throws404_whenNotFound() throws Exception {
         UserDto dto = buildValidUser();
 
-        when(userService.updateUser(eq(99L), any(UserDto.class))).thenReturn(false);
+        when(userService.updateUser(eq(99L), any(UserDto.class), isNull())).thenReturn(false);
 
         String json = objectMapper.writeValueAsString(dto);
 
@@ -0,0 +1,95 @@
+package com.microservices.tool_app.index;
+
+import com.microservices.tool_app.dto.ToolDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ToolOwnerIndexTest {
+
+    private final ToolOwnerIndex index = new ToolOwnerIndex();
+
+    private static ToolDto tool(long id, long userId) {
+        return new ToolDto(id, "Tool " + id, "Hand Tool", userId);
+    }
+
+    @Test
+    void apply_keepsEachOwnersToolIdsSorted() {
+        index.apply(List.of(tool(5, 1), tool(2, 1), tool(9, 1), tool(3, 2), tool(7, 1)), List.of());
+
+        assertThat(index.toolIdsOf(1)).containsExactly(2, 5, 7, 9);
+        assertThat(index.toolIdsOf(2)).containsExactly(3);
+        assertThat(index.toolIdsOf(3)).isEmpty();
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void apply_movesReassignedToolsAndIgnoresRenames() {
+        index.apply(List.of(tool(1, 1), tool(2, 1), tool(3, 2)), List.of());
+        index.apply(List.of(tool(2, 2), tool(3, 2), new ToolDto(1L, "Renamed", "Power Tool", 1L)), List.of());
+
+        assertThat(index.toolIdsOf(1)).containsExactly(1);
+        assertThat(index.toolIdsOf(2)).containsExactly(2, 3);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void apply_dropsDeletedToolsAndOwnersLeftWithNone() {
+        index.apply(List.of(tool(1, 1), tool(2, 2)), List.of());
+        index.apply(List.of(), List.of(1L, 2L, 99L));
+
+        assertThat(index.toolIdsOf(1)).isEmpty();
+        assertThat(index.toolIdsOf(2)).isEmpty();
+        assertThat(index.size()).isZero();
+
+        index.apply(List.of(tool(1, 3)), List.of());
+        assertThat(index.toolIdsOf(3)).containsExactly(1);
+    }
+
+    @Test
+    void apply_survivesTableGrowthAndOwnerRemovalAcrossManyOwners() {
+        List<ToolDto> tools = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            tools.add(tool(id, id % 5_000 + 1));
+        }
+        index.apply(tools, List.of());
+
+        List<Long> deleted = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            // Owners with an even id lose every tool, exercising backward-shift deletion
+            if ((id % 5_000 + 1) % 2 == 0) {
+                deleted.add(id);
+            }
+        }
+        index.apply(List.of(), deleted);
+
+        for (long userId = 1; userId <= 5_000; userId++) {
+            long[] expected = userId % 2 == 0
+                    ? new long[0]
+                    : new long[]{userId - 1, userId + 4_999, userId + 9_999, userId + 14_999};
+            if (userId == 1) {
+                expected = new long[]{5_000, 10_000, 15_000, 20_000};
+            }
+            assertThat(index.toolIdsOf(userId)).as("user %d", userId).containsExactly(expected);
+        }
+        assertThat(index.size()).isEqualTo(10_000);
+    }
+
+    @Test
+    void footprintBytes_shrinksWhenSlackIsTrimmed() {
+        List<ToolDto> tools = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            tools.add(tool(id, 1));
+        }
+        index.apply(tools, List.of());
+        long untrimmed = index.footprintBytes();
+
+        index.trimToSize();
+
+        assertThat(index.footprintBytes()).isLessThanOrEqualTo(untrimmed);
+        assertThat(index.toolIdsOf(1)).hasSize(1_000);
+    }
+}
@@ -0,0 +1,102 @@
+package com.microservices.tool_app.index;
+
+import com.microservices.tool_app.dto.ToolDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ToolSearchIndexTest {
+
+    private final ToolSearchIndex index = new ToolSearchIndex();
+
+    private static ToolDto tool(long id, String name, String type, long userId) {
+        return new ToolDto(id, name, type, userId);
+    }
+
+    private List<Long> ids(String text, String type, Long userId) {
+        return index.search(text, type, userId, 50).stream().map(ToolDto::getToolId).toList();
+    }
+
+    @Test
+    void search_matchesSubstringsOfNameOrTypeIgnoringCase() {
+        index.apply(List.of(
+                tool(1, "Cordless Drill 512", "Power Tool", 10),
+                tool(2, "Drill Bit Set", "Hand Tool", 10),
+                tool(3, "Hammer", "Hand Tool", 11)), List.of());
+
+        assertThat(ids("DRILL", null, null)).containsExactly(2L, 1L);
+        assertThat(ids("less", null, null)).containsExactly(1L);
+        assertThat(ids("hand", null, null)).containsExactly(2L, 3L);
+        assertThat(ids("saw", null, null)).isEmpty();
+    }
+
+    @Test
+    void search_rejectsFalsePositivesFromScatteredTrigrams() {
+        // Holds every trigram of "abcd" ("abc", "bcd") without the substring itself
+        index.apply(List.of(tool(1, "abc-bcd", "x", 10)), List.of());
+
+        assertThat(ids("abcd", null, null)).isEmpty();
+        assertThat(ids("c-b", null, null)).containsExactly(1L);
+    }
+
+    @Test
+    void search_filtersByTypeAndOwner() {
+        index.apply(List.of(
+                tool(1, "Claw Hammer", "Hand Tool", 10),
+                tool(2, "Rotary Hammer", "Power Tool", 10),
+                tool(3, "Hammer", "Hand Tool", 11)), List.of());
+
+        assertThat(ids("hammer", "hand tool", null)).containsExactly(3L, 1L);
+        assertThat(ids("hammer", null, 10L)).containsExactly(1L, 2L);
+        assertThat(ids(null, "Hand Tool", 11L)).containsExactly(3L);
+        assertThat(ids(null, null, 12L)).isEmpty();
+    }
+
+    @Test
+    void apply_replacesUpdatedToolsAndDropsDeletedOnes() {
+        index.apply(List.of(tool(1, "Hammer", "Hand Tool", 10), tool(2, "Saw", "Hand Tool", 10)), List.of());
+        index.apply(List.of(tool(1, "Mallet", "Hand Tool", 11)), List.of(2L));
+
+        assertThat(ids("ham", null, null)).isEmpty();
+        assertThat(ids("mallet", null, 11L)).containsExactly(1L);
+        assertThat(ids(null, null, 10L)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_compactionKeepsLiveTools() {
+        for (int round = 0; round < 5; round++) {
+            List<ToolDto> tools = new ArrayList<>();
+            for (long id = 1; id <= 1_000; id++) {
+                tools.add(tool(id, "Wrench " + round, "Hand Tool", id % 7));
+            }
+            index.apply(tools, List.of());
+        }
+
+        assertThat(index.size()).isEqualTo(1_000);
+        assertThat(index.search("wrench 4", null, null, 2_000)).hasSize(1_000);
+        assertThat(index.search("wrench 3", null, null, 2_000)).isEmpty();
+        assertThat(index.search(null, null, 3L, 2_000)).hasSize(143);
+    }
+
+    @Test
+    void search_returnsPrefixMatchesFirstUpToLimit() {
+        index.apply(List.of(
+                tool(1, "Mini Saw", "Hand Tool", 10),
+                tool(2, "Saw Horse", "Hand Tool", 10),
+                tool(3, "Circular Saw", "Power Tool", 10)), List.of());
+
+        assertThat(index.search("saw", null, null, 2)).extracting(ToolDto::getToolId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_rejectsShortOrMissingCriteria() {
+        assertThatThrownBy(() -> index.search("ab", null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search(" ", null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
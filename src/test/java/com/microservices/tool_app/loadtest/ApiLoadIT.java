@@ -0,0 +1,293 @@
+package com.microservices.tool_app.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.UserDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-loop load test over a real HTTP port. Requests are sent on a fixed schedule at the
+ * target rate whatever the server's response time, picking a scenario by weight from the
+ * user/tool workflows. Latency histograms are written to target/loadtest.
+ * Run with: mvn verify -Dit.test=ApiLoadIT -Dloadtest=true
+ *           [-Dloadtest.rps=200 -Dloadtest.durationSeconds=60 -Dloadtest.warmupSeconds=10]
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=warn"
+})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ApiLoadIT {
+
+    private static final int RPS = Integer.getInteger("loadtest.rps", 100);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 10);
+    private static final Path REPORT_DIR = Path.of(System.getProperty("loadtest.reportDir", "target/loadtest"));
+    private static final int SEED_USERS = 50;
+    private static final int SEED_TOOLS_PER_USER = 10;
+    private static final int BATCH_SIZE = 10;
+    private static final double MAX_ERROR_RATIO = 0.01;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final IdPool userIds = new IdPool();
+    private final IdPool toolIds = new IdPool();
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    private record Scenario(String endpoint, int weight, Supplier<HttpRequest> request,
+                            Consumer<HttpResponse<String>> onSuccess) {
+    }
+
+    @Test
+    void replayWeightedWorkflowsAtTargetRate() throws Exception {
+        seed();
+
+        List<Scenario> scenarios = scenarios();
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        LatencyReport report = new LatencyReport();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RPS;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Scenario scenario = pick(scenarios, totalWeight);
+            HttpRequest request = scenario.request().get();
+            if (request == null) {
+                // Nothing to read, update or delete yet; create instead so the schedule holds
+                scenario = scenarios.get(0);
+                request = scenario.request().get();
+            }
+
+            Scenario sent = scenario;
+            boolean measured = intended >= measureFrom;
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                // Latency from the scheduled send time, not the actual one (coordinated omission)
+                long latency = System.nanoTime() - intended;
+                boolean error = failure != null || response.statusCode() >= 500;
+                if (measured) {
+                    report.record(sent.endpoint(), latency, error);
+                }
+                if (failure == null && response.statusCode() < 300 && sent.onSuccess() != null) {
+                    sent.onSuccess().accept(response);
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("targetRequestsPerSecond", RPS);
+        settings.put("warmupSeconds", WARMUP_SECONDS);
+        settings.put("scenarioWeights", scenarios.stream()
+                .collect(LinkedHashMap::new, (map, s) -> map.put(s.endpoint(), s.weight()), Map::putAll));
+        report.write(REPORT_DIR, settings, DURATION_SECONDS);
+
+        assertThat(report.totalCount()).isPositive();
+        assertThat((double) report.totalErrors() / report.totalCount()).isLessThan(MAX_ERROR_RATIO);
+    }
+
+    /**
+     * The first scenario must always produce a request; it stands in when a pool is empty.
+     */
+    private List<Scenario> scenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("POST /api/tools", 8,
+                () -> post("/api/tools", tool(userIds.random())),
+                response -> toolIds.add(idFromLocation(response))));
+        scenarios.add(new Scenario("POST /api/tools/batch", 2,
+                () -> post("/api/tools/batch", batch(userIds.random())),
+                this::collectBatchIds));
+        scenarios.add(new Scenario("POST /api/users", 3,
+                () -> post("/api/users", user()),
+                response -> userIds.add(idFromLocation(response))));
+        scenarios.add(new Scenario("GET /api/tools/{id}", 25,
+                () -> toolIds.isEmpty() ? null : get("/api/tools/" + toolIds.random()), null));
+        scenarios.add(new Scenario("GET /api/users/{id}/tools", 15,
+                () -> get("/api/users/" + userIds.random() + "/tools"), null));
+        scenarios.add(new Scenario("GET /api/tools/paginated", 15,
+                () -> get("/api/tools/paginated?page=" + ThreadLocalRandom.current().nextInt(10) + "&size=20"), null));
+        scenarios.add(new Scenario("GET /api/tools/paginated/cursor", 15,
+                () -> get("/api/tools/paginated/cursor?size=20&sortBy=toolName"), null));
+        scenarios.add(new Scenario("PUT /api/tools", 10,
+                () -> {
+                    Long toolId = toolIds.random();
+                    if (toolId == null) {
+                        return null;
+                    }
+                    ToolDto dto = tool(userIds.random());
+                    dto.setToolId(toolId);
+                    return send("PUT", "/api/tools", dto);
+                }, null));
+        scenarios.add(new Scenario("DELETE /api/tools/{id}", 7,
+                () -> {
+                    Long toolId = toolIds.take();
+                    return toolId == null ? null : send("DELETE", "/api/tools/" + toolId, null);
+                }, null));
+        return scenarios;
+    }
+
+    private void seed() throws Exception {
+        for (int i = 0; i < SEED_USERS; i++) {
+            HttpResponse<String> created = client.send(post("/api/users", user()), HttpResponse.BodyHandlers.ofString());
+            long userId = idFromLocation(created);
+            userIds.add(userId);
+
+            List<ToolDto> tools = new ArrayList<>();
+            for (int t = 0; t < SEED_TOOLS_PER_USER; t++) {
+                tools.add(tool(userId));
+            }
+            collectBatchIds(client.send(post("/api/tools/batch", tools), HttpResponse.BodyHandlers.ofString()));
+        }
+    }
+
+    private Scenario pick(List<Scenario> scenarios, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private UserDto user() {
+        long n = emailSequence.incrementAndGet();
+        return new UserDto(null, "Load User " + n, "load" + n + "@example.com", LocalDate.of(1990, 1, 1));
+    }
+
+    private ToolDto tool(Long userId) {
+        return new ToolDto(null, "Tool " + ThreadLocalRandom.current().nextInt(100_000), "Hand Tool", userId);
+    }
+
+    private List<ToolDto> batch(Long userId) {
+        List<ToolDto> tools = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            tools.add(tool(userId));
+        }
+        return tools;
+    }
+
+    private void collectBatchIds(HttpResponse<String> response) {
+        try {
+            for (JsonNode result : objectMapper.readTree(response.body()).path("results")) {
+                if (result.hasNonNull("toolId")) {
+                    toolIds.add(result.get("toolId").asLong());
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable batch response", e);
+        }
+    }
+
+    private long idFromLocation(HttpResponse<String> response) {
+        String location = response.headers().firstValue("Location")
+                .orElseThrow(() -> new IllegalStateException("Location header missing"));
+        return Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+    }
+
+    private HttpRequest get(String path) {
+        return send("GET", path, null);
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return send("POST", path, body);
+    }
+
+    private HttpRequest send(String method, String path, Object body) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .method(method, publisher)
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not build request for " + path, e);
+        }
+    }
+
+    /**
+     * Ids known to exist. Deletes take an id out before the request is sent so two deletes
+     * never race for the same tool; reads may still hit an id that is being deleted.
+     */
+    private static final class IdPool {
+
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized boolean isEmpty() {
+            return ids.isEmpty();
+        }
+
+        synchronized Long random() {
+            return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        synchronized Long take() {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            Long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+    }
+}
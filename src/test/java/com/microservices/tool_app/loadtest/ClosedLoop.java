@@ -0,0 +1,62 @@
+package com.microservices.tool_app.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Drives a fixed number of concurrent clients, each keeping exactly one request in flight: a
+ * completed response immediately sends that client's next request. Unlike the open-loop
+ * {@link ApiLoadIT}, throughput here is whatever the server sustains at that concurrency.
+ */
+final class ClosedLoop {
+
+    private final HttpClient client;
+    private final Supplier<HttpRequest> request;
+    private final String key;
+    private final LatencyReport report;
+    private final long measureFrom;
+    private final long end;
+    private final CountDownLatch finished;
+
+    private ClosedLoop(HttpClient client, int clients, Supplier<HttpRequest> request, String key,
+                       LatencyReport report, int warmupSeconds, int durationSeconds) {
+        this.client = client;
+        this.request = request;
+        this.key = key;
+        this.report = report;
+        this.measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        this.end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        this.finished = new CountDownLatch(clients);
+    }
+
+    /**
+     * Runs {@code clients} loops for the warmup plus the measured duration and records the
+     * measured part under {@code key}. Responses of 5xx and transport failures count as errors.
+     */
+    static void run(HttpClient client, int clients, Supplier<HttpRequest> request, String key,
+                    LatencyReport report, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        ClosedLoop loop = new ClosedLoop(client, clients, request, key, report, warmupSeconds, durationSeconds);
+        for (int i = 0; i < clients; i++) {
+            loop.next();
+        }
+        loop.finished.await(warmupSeconds + durationSeconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private void next() {
+        long start = System.nanoTime();
+        if (start >= end) {
+            finished.countDown();
+            return;
+        }
+        client.sendAsync(request.get(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (start >= measureFrom) {
+                report.record(key, System.nanoTime() - start, failure != null || response.statusCode() >= 500);
+            }
+            next();
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.microservices.tool_app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts for one load run. Latencies are measured
+ * from each request's scheduled start, so stalls in the server or the generator show up in the
+ * tail instead of silently lowering the send rate (coordinated omission).
+ */
+class LatencyReport {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final long startedAtMillis = System.currentTimeMillis();
+
+    void record(String endpoint, long latencyNanos, boolean error) {
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3))
+                .recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        if (error) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    long totalCount() {
+        return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Writes summary.json (percentiles in ms per endpoint), one .hgrm percentile distribution per
+     * endpoint, and latency.hlog, which HdrHistogram's log tools can diff across builds.
+     */
+    void write(Path directory, Map<String, Object> runSettings, double durationSeconds) throws IOException {
+        Files.createDirectories(directory);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        histograms.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            Histogram histogram = entry.getValue();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.getTotalCount());
+            stats.put("errors", errors.getOrDefault(entry.getKey(), new LongAdder()).sum());
+            stats.put("throughputPerSecond", histogram.getTotalCount() / durationSeconds);
+            stats.put("p50Ms", histogram.getValueAtPercentile(50) / NANOS_PER_MILLI);
+            stats.put("p90Ms", histogram.getValueAtPercentile(90) / NANOS_PER_MILLI);
+            stats.put("p99Ms", histogram.getValueAtPercentile(99) / NANOS_PER_MILLI);
+            stats.put("p999Ms", histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI);
+            stats.put("maxMs", histogram.getMaxValue() / NANOS_PER_MILLI);
+            endpoints.put(entry.getKey(), stats);
+        });
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("finishedAt", Instant.now().toString());
+        summary.put("settings", runSettings);
+        summary.put("durationSeconds", durationSeconds);
+        summary.put("achievedRequestsPerSecond", totalCount() / durationSeconds);
+        summary.put("endpoints", endpoints);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), summary);
+
+        try (PrintStream log = new PrintStream(directory.resolve("latency.hlog").toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputStartTime(startedAtMillis);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                Histogram histogram = entry.getValue().copy();
+                histogram.setTag(entry.getKey().replaceAll("[^A-Za-z0-9_]", "_"));
+                histogram.setStartTimeStamp(startedAtMillis);
+                histogram.setEndTimeStamp(System.currentTimeMillis());
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9_]", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(directory.resolve(fileName).toFile())) {
+                entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+}
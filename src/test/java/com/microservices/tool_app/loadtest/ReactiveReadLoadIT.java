@@ -0,0 +1,102 @@
+package com.microservices.tool_app.loadtest;
+
+import com.microservices.tool_app.service_impl.ToolIndexer;
+import com.microservices.tool_app.support.SeedData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Closed-loop comparison of each read endpoint in the MVC controllers against its R2DBC-backed
+ * counterpart under {@code /api/reactive}, at the same client concurrency. Entity caches and
+ * admission control are off so both paths reach the database and neither sheds load.
+ * Histograms are written to target/loadtest/reactive-read.
+ * Run with: mvn verify -Dit.test=ReactiveReadLoadIT -Dloadtest=true
+ *           [-Dloadtest.clients=2000 -Dloadtest.durationSeconds=20 -Dloadtest.warmupSeconds=5]
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.cache.type=none",
+        "admission.enabled=false",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=10000",
+        "logging.level.root=warn"
+})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ReactiveReadLoadIT {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2_000);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private static final Path REPORT_DIR = Path.of(System.getProperty("loadtest.reportDir", "target/loadtest"))
+            .resolve("reactive-read");
+    private static final int SEED_USERS = 100;
+    private static final int SEED_TOOLS_PER_USER = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ToolIndexer toolIndexer;
+
+    @Test
+    void compareMvcAndReactiveReadEndpoints() throws Exception {
+        SeedData.insert(jdbcTemplate, SEED_USERS, SEED_TOOLS_PER_USER);
+        toolIndexer.catchUpNow();
+
+        Map<String, IntFunction<String>> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /tools", id -> "/tools");
+        endpoints.put("GET /tools/{id}", id -> "/tools/" + id * SEED_TOOLS_PER_USER);
+        endpoints.put("GET /users/{id}", id -> "/users/" + id);
+        endpoints.put("GET /users/{id}/tools", id -> "/users/" + id + "/tools");
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        LatencyReport report = new LatencyReport();
+        for (Map.Entry<String, IntFunction<String>> endpoint : endpoints.entrySet()) {
+            // Alternate so JIT warmup and heap growth don't favour whichever path runs second
+            for (String prefix : new String[]{"/api", "/api/reactive"}) {
+                ClosedLoop.run(client, CLIENTS, () -> get(prefix + endpoint.getValue().apply(randomUserId())),
+                        endpoint.getKey() + (prefix.endsWith("reactive") ? " (reactive)" : " (mvc)"),
+                        report, WARMUP_SECONDS, DURATION_SECONDS);
+            }
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("clients", CLIENTS);
+        settings.put("warmupSeconds", WARMUP_SECONDS);
+        report.write(REPORT_DIR, settings, DURATION_SECONDS);
+
+        assertThat(report.totalCount()).isPositive();
+    }
+
+    private int randomUserId() {
+        return ThreadLocalRandom.current().nextInt(1, SEED_USERS + 1);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.microservices.tool_app.loadtest;
+
+import com.microservices.tool_app.ToolAppApplication;
+import com.microservices.tool_app.service_impl.ToolIndexer;
+import com.microservices.tool_app.support.SeedData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Closed-loop comparison of platform and virtual request threads. Each of 1k and then 10k
+ * clients keeps one request in flight against an uncached, database-backed endpoint, so the
+ * request threads compete for the database bulkhead. Virtual-thread runs need a Java 21 runtime
+ * and are skipped on older JVMs. Histograms are written to target/loadtest/thread-model.
+ * Run with: mvn verify -Dit.test=ThreadModelLoadIT -Dloadtest=true
+ *           [-Dloadtest.durationSeconds=30 -Dloadtest.warmupSeconds=10]
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ThreadModelLoadIT {
+
+    private static final int[] CLIENTS = {1_000, 10_000};
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 10);
+    private static final Path REPORT_DIR = Path.of(System.getProperty("loadtest.reportDir", "target/loadtest"))
+            .resolve("thread-model");
+    private static final int SEED_USERS = 200;
+    private static final int SEED_TOOLS_PER_USER = 20;
+
+    @Test
+    void comparePlatformAndVirtualRequestThreads() throws Exception {
+        LatencyReport report = new LatencyReport();
+        List<String> modes = new ArrayList<>(List.of("platform"));
+        if (Runtime.version().feature() >= 21) {
+            modes.add("virtual");
+        } else {
+            System.out.println("Virtual threads need Java 21; running platform threads only");
+        }
+
+        for (String mode : modes) {
+            for (int clients : CLIENTS) {
+                measure(mode, clients, report);
+            }
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("clients", CLIENTS);
+        settings.put("warmupSeconds", WARMUP_SECONDS);
+        settings.put("javaVersion", Runtime.version().toString());
+        report.write(REPORT_DIR, settings, DURATION_SECONDS);
+
+        assertThat(report.totalCount()).isPositive();
+    }
+
+    private void measure(String mode, int clients, LatencyReport report) throws InterruptedException, ExecutionException {
+        try (ConfigurableApplicationContext context = start("virtual".equals(mode), clients)) {
+            SeedData.insert(context.getBean(JdbcTemplate.class), SEED_USERS, SEED_TOOLS_PER_USER);
+            context.getBean(ToolIndexer.class).catchUpNow();
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            ClosedLoop.run(client, clients, () -> userTools(port), mode + " threads, " + clients + " clients",
+                    report, WARMUP_SECONDS, DURATION_SECONDS);
+        }
+    }
+
+    private HttpRequest userTools(int port) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/"
+                        + ThreadLocalRandom.current().nextInt(1, SEED_USERS + 1) + "/tools"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads, int clients) {
+        return new SpringApplicationBuilder(ToolAppApplication.class)
+                // Command-line style so these win over any application.properties on the classpath.
+                // Connection limits are raised and admission control is off so the thread model,
+                // not Tomcat's acceptor or load shedding, is what differs.
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        // Both modes behind the same bulkhead, which otherwise follows the thread model
+                        "--db.bulkhead.enabled=true",
+                        "--server.tomcat.max-connections=" + (clients + 1_000),
+                        "--server.tomcat.accept-count=" + clients,
+                        "--admission.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=warn");
+    }
+}
@@ -0,0 +1,73 @@
+package com.microservices.tool_app.readmodel;
+
+import com.microservices.tool_app.dto.ToolDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ToolRowStoreTest {
+
+    private final ToolRowStore store = new ToolRowStore();
+
+    private static ToolDto tool(long id, String name, long version) {
+        return new ToolDto(id, name, "Power Tool", 7L, version);
+    }
+
+    @Test
+    void get_returnsWhatWasPut() {
+        store.put(List.of(tool(1, "Cordless Drill", 0), new ToolDto(5_000L, "Mörtelkelle", "Hand Tool", 8L, 3L)));
+
+        assertThat(store.get(1)).isEqualTo(tool(1, "Cordless Drill", 0));
+        assertThat(store.get(5_000)).isEqualTo(new ToolDto(5_000L, "Mörtelkelle", "Hand Tool", 8L, 3L));
+        assertThat(store.get(2)).isNull();
+        assertThat(store.get(1_000_000)).isNull();
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void put_ignoresOlderVersions() {
+        store.put(tool(1, "Drill", 2));
+        store.put(tool(1, "Older Drill", 1));
+
+        assertThat(store.get(1).getToolName()).isEqualTo("Drill");
+
+        store.put(tool(1, "Newer Drill", 3));
+        assertThat(store.get(1).getToolName()).isEqualTo("Newer Drill");
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void delete_isFinalEvenBeforeTheRowArrives() {
+        store.put(tool(1, "Drill", 0));
+        store.delete(List.of(1L, 2L));
+        store.put(List.of(tool(1, "Drill", 5), tool(2, "Saw", 0)));
+
+        assertThat(store.get(1)).isNull();
+        assertThat(store.get(2)).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void put_encodesEachTypeOnce() {
+        store.put(List.of(new ToolDto(1L, "Drill", new String("Power Tool"), 7L, 0L),
+                new ToolDto(2L, "Saw", new String("Power Tool"), 7L, 0L)));
+
+        assertThat(store.typeCount()).isEqualTo(1);
+        assertThat(store.get(1).getToolType()).isSameAs(store.get(2).getToolType());
+    }
+
+    @Test
+    void put_keepsNamesThroughCompaction() {
+        store.put(tool(1, "Kept", 0));
+        for (long version = 0; version < 30_000; version++) {
+            store.put(tool(2, "Renamed " + "x".repeat(80) + version, version));
+        }
+
+        assertThat(store.get(1).getToolName()).isEqualTo("Kept");
+        assertThat(store.get(2).getToolName()).endsWith("29999");
+        // Without compaction the 2.8 MB of names written would take three 1 MB chunks
+        assertThat(store.footprintBytes()).isLessThan(2 * RowStore.PAGE_SIZE * 28L + (2 << 20));
+    }
+}
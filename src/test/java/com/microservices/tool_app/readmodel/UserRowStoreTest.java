@@ -0,0 +1,35 @@
+package com.microservices.tool_app.readmodel;
+
+import com.microservices.tool_app.dto.UserDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UserRowStoreTest {
+
+    private final UserRowStore store = new UserRowStore();
+
+    @Test
+    void get_returnsWhatWasPut() {
+        UserDto user = new UserDto(42L, "Zoë Ångström", "zoe@example.com", LocalDate.of(1899, 12, 31), 0L);
+        store.put(user);
+
+        assertThat(store.get(42)).isEqualTo(user);
+        assertThat(store.get(43)).isNull();
+    }
+
+    @Test
+    void put_replacesOnNewerVersionAndDeleteRemoves() {
+        store.put(new UserDto(1L, "John", "john@example.com", LocalDate.of(1990, 1, 1), 0L));
+        store.put(new UserDto(1L, "John Doe", "doe@example.com", LocalDate.of(1990, 1, 2), 1L));
+
+        assertThat(store.get(1)).isEqualTo(new UserDto(1L, "John Doe", "doe@example.com", LocalDate.of(1990, 1, 2), 1L));
+
+        store.delete(List.of(1L));
+        assertThat(store.get(1)).isNull();
+        assertThat(store.size()).isZero();
+    }
+}
@@ -0,0 +1,71 @@
+package com.microservices.tool_app.service_impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CacheInvalidationsTest {
+
+    private final CacheInvalidations invalidations = new CacheInvalidations();
+    private final ConcurrentMapCache target = new ConcurrentMapCache("tools");
+    private final Cache cache = new TransactionAwareCacheDecorator(target);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void putUnlessInvalidated_waitsForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        long stamp = invalidations.stamp("tools");
+
+        invalidations.putUnlessInvalidated("tools", stamp, cache, 1L, "Hammer");
+
+        assertThat(target.get(1L)).isNull();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(target.get(1L, String.class)).isEqualTo("Hammer");
+    }
+
+    @Test
+    void putUnlessInvalidated_dropsALoadThatAWriteOvertook() {
+        long stamp = invalidations.stamp("tools");
+        invalidations.evictAfterCommit("tools", cache, 2L);
+
+        invalidations.putUnlessInvalidated("tools", stamp, cache, 1L, "Hammer");
+
+        assertThat(target.get(1L)).isNull();
+    }
+
+    @Test
+    void evictAfterCommit_waitsForTheCommit() {
+        target.put(1L, "Hammer");
+        TransactionSynchronizationManager.initSynchronization();
+        long stamp = invalidations.stamp("tools");
+
+        invalidations.evictAllAfterCommit("tools", cache, new long[]{1L});
+
+        assertThat(target.get(1L, String.class)).isEqualTo("Hammer");
+        assertThat(invalidations.stamp("tools")).isEqualTo(stamp);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(target.get(1L)).isNull();
+        assertThat(invalidations.stamp("tools")).isGreaterThan(stamp);
+    }
+
+    @Test
+    void countersArePerCache() {
+        long stamp = invalidations.stamp("users");
+
+        invalidations.evictAfterCommit("tools", cache, 1L);
+
+        assertThat(invalidations.stamp("users")).isEqualTo(stamp);
+    }
+}
@@ -0,0 +1,128 @@
+package com.microservices.tool_app.service_impl;
+
+import com.microservices.tool_app.constants.MetricsConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SingleFlight<Long, String> singleFlight;
+
+    @BeforeEach
+    void setup() {
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private String blockingLoad(String value) throws InterruptedException {
+        loads.incrementAndGet();
+        loading.countDown();
+        release.await(5, TimeUnit.SECONDS);
+        if (value == null) {
+            throw new IllegalStateException("load failed");
+        }
+        return value;
+    }
+
+    private Future<String> startBlockedLoad(String value) throws Exception {
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            try {
+                return blockingLoad(value);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        return leader;
+    }
+
+    private List<Future<String>> leaderWithFollowers(String value) throws Exception {
+        List<Future<String>> calls = new ArrayList<>();
+        calls.add(startBlockedLoad(value));
+
+        for (int i = 0; i < FOLLOWERS; i++) {
+            calls.add(executor.submit(() -> singleFlight.execute(1L, () -> "unexpected second load")));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collapsedCount() < FOLLOWERS && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        return calls;
+    }
+
+    private double collapsedCount() {
+        return meterRegistry.get(MetricsConstants.COALESCED_LOOKUPS)
+                .tags("lookup", "test", "outcome", "collapsed").counter().count();
+    }
+
+    @Test
+    void execute_concurrentCallsForSameKeyShareOneLoad() throws Exception {
+        List<Future<String>> calls = leaderWithFollowers("Hammer");
+
+        for (Future<String> call : calls) {
+            assertThat(call.get(5, TimeUnit.SECONDS)).isEqualTo("Hammer");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(collapsedCount()).isEqualTo(FOLLOWERS);
+        assertThat(meterRegistry.get(MetricsConstants.COALESCED_LOOKUPS)
+                .tags("lookup", "test", "outcome", "executed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_leaderFailurePropagatesToEveryFollower() throws Exception {
+        List<Future<String>> calls = leaderWithFollowers(null);
+
+        for (Future<String> call : calls) {
+            assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("load failed");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_loadsAgainOnceThePreviousLoadHasFinished() {
+        assertThat(singleFlight.execute(1L, () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.execute(1L, () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    void execute_insideTransaction_neverJoinsAnotherLoad() throws Exception {
+        startBlockedLoad("leader");
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(singleFlight.execute(1L, () -> "own read")).isEqualTo("own read");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            release.countDown();
+        }
+    }
+}
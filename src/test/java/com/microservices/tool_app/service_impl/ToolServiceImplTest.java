@@ -1,21 +1,53 @@
 package com.microservices.tool_app.service_impl;
 
+import com.microservices.tool_app.constants.BaseConstants;
+import com.microservices.tool_app.constants.CacheConstants;
+import com.microservices.tool_app.constants.ToolConstants;
+import com.microservices.tool_app.dto.BatchResponseDto;
+import com.microservices.tool_app.dto.ChangeSetDto;
+import com.microservices.tool_app.dto.CursorPaginatedResponseDto;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
 import com.microservices.tool_app.dto.ToolDto;
+import com.microservices.tool_app.dto.ToolFacetsDto;
+import com.microservices.tool_app.entity.Tombstone;
 import com.microservices.tool_app.entity.Tool;
 import com.microservices.tool_app.entity.User;
+import com.microservices.tool_app.exceptions.PreconditionFailedException;
+import com.microservices.tool_app.mapper.ChangeTokenMapper;
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.ChangeToken;
+import com.microservices.tool_app.repository.TombstonesRepository;
+import com.microservices.tool_app.repository.ToolChangeRow;
+import com.microservices.tool_app.repository.ToolCursor;
+import com.microservices.tool_app.repository.ToolPageRow;
+import com.microservices.tool_app.repository.ToolSortField;
+import com.microservices.tool_app.repository.ToolTypeDictionary;
 import com.microservices.tool_app.repository.ToolsRepository;
 import com.microservices.tool_app.repository.UsersRepository;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +61,39 @@ class ToolServiceImplTest {
     @Mock
     private UsersRepository usersRepository;
 
+    @Mock
+    private ChangeSequences changeSequences;
+
+    @Mock
+    private TombstonesRepository tombstonesRepository;
+
+    @Mock
+    private ToolTypeDictionary toolTypes;
+
+    @Mock
+    private ToolIndexer toolIndexer;
+
+    @Mock
+    private ReadModel readModel;
+
+    @Mock
+    private ToolCounts toolCounts;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Spy
+    private CacheInvalidations cacheInvalidations = new CacheInvalidations();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ToolServiceImpl toolService;
 
@@ -61,7 +126,9 @@ class ToolServiceImplTest {
     // ---------------------------------------------------------
     @Test
     void createTool_savesToolSuccessfully() {
+        String canonicalType = new String("Hand Tool");
         when(usersRepository.findById(10L)).thenReturn(Optional.of(user));
+        when(toolTypes.resolve("Hand Tool")).thenReturn(canonicalType);
 
         when(toolsRepository.save(any(Tool.class))).thenReturn(tool);
 
@@ -72,9 +139,10 @@ class ToolServiceImplTest {
 
         Tool saved = captor.getValue();
         assertThat(saved.getToolName()).isEqualTo("Hammer");
-        assertThat(saved.getToolType()).isEqualTo("Hand Tool");
+        assertThat(saved.getToolType()).isSameAs(canonicalType);
         assertThat(saved.getUser()).isEqualTo(user);
         assertThat(saved.getCreatedAt()).isNotNull();
+        verify(toolIndexer).publishAfterCommit();
     }
 
 
@@ -88,8 +156,42 @@ class ToolServiceImplTest {
     }
 
     @Test
-    void getAllTools_returnsMappedDtos() {
-        when(toolsRepository.findAll()).thenReturn(List.of(tool));
+    void createTools_looksUpUsersOnceAndReportsEachItem() {
+        ToolDto unknownUser = new ToolDto();
+        unknownUser.setToolName("Saw");
+        unknownUser.setToolType("Hand Tool");
+        unknownUser.setUserId(99L);
+
+        ToolDto missingName = new ToolDto();
+        missingName.setToolType("Hand Tool");
+        missingName.setUserId(10L);
+
+        when(usersRepository.findExistingUserIds(Set.of(10L, 99L))).thenReturn(Set.of(10L));
+        when(usersRepository.getReferenceById(10L)).thenReturn(user);
+
+        BatchResponseDto result = toolService.createTools(List.of(toolDto, unknownUser, missingName, toolDto));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getResults())
+                .extracting(item -> item.getIndex() + ":" + item.getStatusCode())
+                .containsExactly("0:201", "1:404", "2:400", "3:201");
+
+        verify(usersRepository, times(1)).findExistingUserIds(any());
+        verify(usersRepository, never()).findById(any());
+        verify(usersRepository, times(1)).getReferenceById(10L);
+        verify(entityManager, times(2)).persist(any(Tool.class));
+    }
+
+    @Test
+    void createTools_rejectsEmptyBatch() {
+        assertThatThrownBy(() -> toolService.createTools(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getAllTools_returnsProjectedDtos() {
+        when(toolsRepository.findAllDtos()).thenReturn(List.of(toolDto));
 
         List<ToolDto> result = toolService.getAllTools();
 
@@ -98,9 +200,9 @@ class ToolServiceImplTest {
     }
 
     @Test
-    void getAllToolsPaginated_returnsMappedPage() {
-        Page<Tool> page = new PageImpl<>(List.of(tool));
-        when(toolsRepository.findAll(any(Pageable.class))).thenReturn(page);
+    void getAllToolsPaginated_returnsProjectedPage() {
+        Page<ToolDto> page = new PageImpl<>(List.of(toolDto));
+        when(toolsRepository.findAllDtos(any(Pageable.class))).thenReturn(page);
 
         Page<ToolDto> result = toolService.getAllTools(0, 10, "toolId");
 
@@ -108,12 +210,102 @@ class ToolServiceImplTest {
         assertThat(result.getContent().get(0).getToolName()).isEqualTo("Hammer");
     }
 
+    @Test
+    void getAllToolsPaginated_sortsByTypeNameRatherThanKey() {
+        Page<ToolDto> page = new PageImpl<>(List.of(toolDto));
+        when(toolsRepository.findAllDtosOrderedByTypeName(PageRequest.of(1, 10))).thenReturn(page);
+
+        assertThat(toolService.getAllTools(1, 10, "toolType")).isSameAs(page);
+        verify(toolsRepository, never()).findAllDtos(any(Pageable.class));
+    }
+
+    @Test
+    void getAllToolsByCursor_returnsNextCursorWhenMoreRowsExist() {
+        ToolDto second = new ToolDto(2L, "Saw", "Hand Tool", 10L);
+
+        when(toolsRepository.findPageAfter(ToolSortField.TOOL_NAME, null, 2))
+                .thenReturn(List.of(new ToolPageRow(toolDto, "Hammer"), new ToolPageRow(second, "Saw")));
+
+        CursorPaginatedResponseDto<ToolDto> result = toolService.getAllTools(null, 1, "toolName", false);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isLastPage()).isFalse();
+        assertThat(result.getNextCursor()).isNotBlank();
+        assertThat(result.getTotalElements()).isNull();
+        verify(toolsRepository, never()).count();
+
+        // The returned cursor seeks past the last row of this page
+        toolService.getAllTools(result.getNextCursor(), 1, "toolName", true);
+
+        verify(toolsRepository).findPageAfter(ToolSortField.TOOL_NAME, new ToolCursor("Hammer", 1L), 2);
+        verify(toolsRepository).count();
+    }
+
+    @Test
+    void getAllToolsByCursor_marksLastPage() {
+        when(toolsRepository.findPageAfter(ToolSortField.TOOL_ID, null, 11))
+                .thenReturn(List.of(new ToolPageRow(toolDto, 1L)));
+
+        CursorPaginatedResponseDto<ToolDto> result = toolService.getAllTools(null, 10, "toolId", false);
+
+        assertThat(result.isLastPage()).isTrue();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getAllToolsByCursor_rejectsPageSizeOutOfRange() {
+        assertThatThrownBy(() -> toolService.getAllTools(null, 0, "toolId", false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> toolService.getAllTools(null, Integer.MAX_VALUE, "toolId", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 1 and " + ToolConstants.MAX_PAGE_SIZE);
+
+        verifyNoInteractions(toolsRepository);
+    }
+
+    @Test
+    void getAllToolsByCursor_rejectsUnknownSortField() {
+        assertThatThrownBy(() -> toolService.getAllTools(null, 10, "user", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported sort field");
+    }
+
+    @Test
+    void getAllToolsByCursor_rejectsCursorFromAnotherSortField() {
+        ToolPageRow row = new ToolPageRow(toolDto, 1L);
+        when(toolsRepository.findPageAfter(ToolSortField.TOOL_ID, null, 2)).thenReturn(List.of(row, row));
+
+        String cursor = toolService.getAllTools(null, 1, "toolId", false).getNextCursor();
+
+        assertThatThrownBy(() -> toolService.getAllTools(cursor, 1, "toolName", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sortBy=toolId");
+    }
+
+    @Test
+    void getAllToolsByCursor_rejectsGarbageCursor() {
+        assertThatThrownBy(() -> toolService.getAllTools("not a cursor!", 10, "toolId", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void streamAllTools_passesEveryRowToConsumer() {
+        when(toolsRepository.streamAllDtos()).thenReturn(IntStream.range(0, 3).mapToObj(i -> toolDto));
+
+        List<ToolDto> streamed = new ArrayList<>();
+        toolService.streamAllTools(streamed::add);
+
+        assertThat(streamed).hasSize(3);
+        assertThat(streamed.get(0).getToolName()).isEqualTo("Hammer");
+    }
+
     // ---------------------------------------------------------
     // GET TOOL BY ID
     // ---------------------------------------------------------
     @Test
     void getToolById_returnsDtoWhenFound() {
-        when(toolsRepository.findById(1L)).thenReturn(Optional.of(tool));
+        when(toolsRepository.findDtoById(1L)).thenReturn(Optional.of(toolDto));
 
         ToolDto result = toolService.getToolById(1L);
 
@@ -121,21 +313,80 @@ class ToolServiceImplTest {
         assertThat(result.getToolName()).isEqualTo("Hammer");
     }
 
+    @Test
+    void getToolById_dropsItsPutWhenAWriteCommittedDuringTheLoad() {
+        when(cacheManager.getCache(CacheConstants.TOOLS)).thenReturn(cache);
+        when(toolsRepository.findDtoById(1L)).thenAnswer(invocation -> {
+            // An update commits, and evicts, while this reader is still loading the old row
+            cacheInvalidations.evictAfterCommit(CacheConstants.TOOLS, cache, 1L);
+            return Optional.of(toolDto);
+        });
+
+        assertThat(toolService.getToolById(1L)).isSameAs(toolDto);
+
+        InOrder order = inOrder(cache);
+        order.verify(cache).evict(1L);
+        order.verify(cache).put(1L, toolDto);
+        order.verify(cache).evict(1L);
+    }
+
     @Test
     void getToolById_returnsNullWhenNotFound() {
-        when(toolsRepository.findById(1L)).thenReturn(Optional.empty());
+        when(toolsRepository.findDtoById(1L)).thenReturn(Optional.empty());
 
         ToolDto result = toolService.getToolById(1L);
 
         assertThat(result).isNull();
     }
 
+    // ---------------------------------------------------------
+    // GET TOOLS BY IDS
+    // ---------------------------------------------------------
+    @Test
+    void getToolsByIds_servesCacheHitsAndLoadsMissesInOneQuery() {
+        ToolDto cached = new ToolDto(3L, "Saw", "Hand Tool", 10L);
+        ToolDto loaded = new ToolDto(1L, "Hammer", "Hand Tool", 10L);
+        when(cacheManager.getCache(CacheConstants.TOOLS)).thenReturn(cache);
+        when(cache.get(3L, ToolDto.class)).thenReturn(cached);
+        when(toolsRepository.findDtosByIdIn(List.of(1L, 2L))).thenReturn(List.of(loaded));
+
+        MultiGetResponseDto<ToolDto> result = toolService.getToolsByIds(List.of(3L, 1L, 2L, 3L));
+
+        assertThat(result.getItems()).containsExactly(cached, loaded);
+        assertThat(result.getMissingIds()).containsExactly(2L);
+        verify(toolsRepository, times(1)).findDtosByIdIn(anyCollection());
+        verify(cache).put(1L, loaded);
+    }
+
+    @Test
+    void getToolsByIds_loadsMissesInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, BaseConstants.MULTI_GET_CHUNK_SIZE + 1).boxed().toList();
+        when(cacheManager.getCache(CacheConstants.TOOLS)).thenReturn(cache);
+        when(toolsRepository.findDtosByIdIn(anyCollection())).thenReturn(List.of());
+
+        MultiGetResponseDto<ToolDto> result = toolService.getToolsByIds(ids);
+
+        verify(toolsRepository, times(2)).findDtosByIdIn(anyCollection());
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getMissingIds()).isEqualTo(ids);
+    }
+
+    @Test
+    void getToolsByIds_rejectsMoreThanMaxIds() {
+        List<Long> ids = LongStream.rangeClosed(1, BaseConstants.MULTI_GET_MAX_IDS + 1).boxed().toList();
+
+        assertThatThrownBy(() -> toolService.getToolsByIds(ids))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(toolsRepository);
+    }
+
     // ---------------------------------------------------------
     // GET TOOLS BY USER ID
     // ---------------------------------------------------------
     @Test
-    void getToolsByUserId_returnsMappedList() {
-        when(toolsRepository.findByUser_UserId(10L)).thenReturn(List.of(tool));
+    void getToolsByUserId_queriesTableWhileIndexTrailsCommits() {
+        when(toolIndexer.toolIdsOf(10L)).thenReturn(null);
+        when(toolsRepository.findDtosByUserId(10L)).thenReturn(List.of(toolDto));
 
         List<ToolDto> result = toolService.getToolsByUserId(10L);
 
@@ -143,6 +394,44 @@ class ToolServiceImplTest {
         assertThat(result.get(0).getToolName()).isEqualTo("Hammer");
     }
 
+    @Test
+    void getToolsByUserId_resolvesIndexedIdsFromCacheThenOneQueryWithoutCachingIt() {
+        ToolDto cached = new ToolDto(1L, "Hammer", "Hand Tool", 10L);
+        ToolDto loaded = new ToolDto(3L, "Saw", "Hand Tool", 10L);
+        when(toolIndexer.toolIdsOf(10L)).thenReturn(new long[]{1L, 3L});
+        when(cacheManager.getCache(CacheConstants.TOOLS)).thenReturn(cache);
+        when(cache.get(1L, ToolDto.class)).thenReturn(cached);
+        when(toolsRepository.findDtosByIdIn(List.of(3L))).thenReturn(List.of(loaded));
+
+        List<ToolDto> result = toolService.getToolsByUserId(10L);
+
+        assertThat(result).containsExactly(cached, loaded);
+        verify(cache, never()).put(any(), any());
+        verify(toolsRepository, never()).findDtosByUserId(any());
+    }
+
+    @Test
+    void getToolsByUserId_loadsWholeListingByOwnerWhenMostIdsMiss() {
+        ToolDto cached = new ToolDto(1L, "Hammer", "Hand Tool", 10L);
+        List<ToolDto> listing = List.of(cached, new ToolDto(2L, "Saw", "Hand Tool", 10L),
+                new ToolDto(3L, "Drill", "Power Tool", 10L));
+        when(toolIndexer.toolIdsOf(10L)).thenReturn(new long[]{1L, 2L, 3L});
+        when(cacheManager.getCache(CacheConstants.TOOLS)).thenReturn(cache);
+        when(cache.get(1L, ToolDto.class)).thenReturn(cached);
+        when(toolsRepository.findDtosByUserId(10L)).thenReturn(listing);
+
+        assertThat(toolService.getToolsByUserId(10L)).isEqualTo(listing);
+        verify(toolsRepository, never()).findDtosByIdIn(any());
+    }
+
+    @Test
+    void getToolsByUserId_returnsEmptyForUserWithoutIndexedTools() {
+        when(toolIndexer.toolIdsOf(10L)).thenReturn(new long[0]);
+
+        assertThat(toolService.getToolsByUserId(10L)).isEmpty();
+        verifyNoInteractions(toolsRepository);
+    }
+
     // ---------------------------------------------------------
     // UPDATE TOOL
     // ---------------------------------------------------------
@@ -151,17 +440,55 @@ class ToolServiceImplTest {
         when(toolsRepository.findById(1L)).thenReturn(Optional.of(tool));
         when(usersRepository.findById(10L)).thenReturn(Optional.of(user));
 
-        boolean result = toolService.updateTool(toolDto);
+        boolean result = toolService.updateTool(toolDto, null);
 
         assertThat(result).isTrue();
         verify(toolsRepository).save(any(Tool.class));
+        verify(changeSequences).next(ChangeSequences.TOOLS);
+    }
+
+    @Test
+    void updateTool_movesCountsToNewTypeAndOwner() {
+        User newOwner = new User();
+        newOwner.setUserId(11L);
+        toolDto.setToolType("Power Tool");
+        toolDto.setUserId(11L);
+        when(toolsRepository.findById(1L)).thenReturn(Optional.of(tool));
+        when(usersRepository.findById(11L)).thenReturn(Optional.of(newOwner));
+        when(toolTypes.resolve("Power Tool")).thenReturn("Power Tool");
+        when(changeSequences.next(ChangeSequences.TOOLS)).thenReturn(6L);
+
+        toolService.updateTool(toolDto, null);
+
+        verify(toolCounts).moveAfterCommit(6L, "Hand Tool", 10L, "Power Tool", 11L);
+    }
+
+    @Test
+    void updateTool_matchingExpectedVersion_updates() {
+        tool.setVersion(3L);
+        when(toolsRepository.findById(1L)).thenReturn(Optional.of(tool));
+        when(usersRepository.findById(10L)).thenReturn(Optional.of(user));
+
+        assertThat(toolService.updateTool(toolDto, 3L)).isTrue();
+        verify(toolsRepository).save(tool);
+    }
+
+    @Test
+    void updateTool_staleExpectedVersion_throwsWithoutSaving() {
+        tool.setVersion(4L);
+        when(toolsRepository.findById(1L)).thenReturn(Optional.of(tool));
+
+        assertThatThrownBy(() -> toolService.updateTool(toolDto, 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(toolsRepository, never()).save(any());
+        verifyNoInteractions(changeSequences);
     }
 
     @Test
     void updateTool_returnsFalseWhenToolNotFound() {
         when(toolsRepository.findById(1L)).thenReturn(Optional.empty());
 
-        boolean result = toolService.updateTool(toolDto);
+        boolean result = toolService.updateTool(toolDto, null);
 
         assertThat(result).isFalse();
         verify(toolsRepository, never()).save(any());
@@ -172,7 +499,7 @@ class ToolServiceImplTest {
         when(toolsRepository.findById(1L)).thenReturn(Optional.of(tool));
         when(usersRepository.findById(10L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> toolService.updateTool(toolDto))
+        assertThatThrownBy(() -> toolService.updateTool(toolDto, null))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("User not found");
     }
@@ -182,21 +509,97 @@ class ToolServiceImplTest {
     // ---------------------------------------------------------
     @Test
     void deleteTool_returnsTrueWhenDeleted() {
-        when(toolsRepository.existsById(1L)).thenReturn(true);
+        when(toolsRepository.findById(1L)).thenReturn(Optional.of(tool));
+        when(changeSequences.next(ChangeSequences.TOOLS)).thenReturn(7L);
 
         boolean result = toolService.deleteTool(1L);
 
         assertThat(result).isTrue();
-        verify(toolsRepository).deleteById(1L);
+        verify(toolsRepository).delete(tool);
+        verify(tombstonesRepository).insert(ChangeSequences.TOOLS, 1L, 7L);
+        verify(toolIndexer).publishAfterCommit();
+        verify(toolCounts).removeAfterCommit(7L, "Hand Tool", 10L);
+    }
+
+    // ---------------------------------------------------------
+    // FACETS
+    // ---------------------------------------------------------
+    @Test
+    void getToolFacets_readsCounters() {
+        when(toolCounts.total()).thenReturn(3L);
+        when(toolCounts.byType()).thenReturn(Map.of("Hand Tool", 2L, "Power Tool", 1L));
+
+        ToolFacetsDto facets = toolService.getToolFacets();
+
+        assertThat(facets.getTotalTools()).isEqualTo(3L);
+        assertThat(facets.getToolTypeCounts()).containsEntry("Hand Tool", 2L).containsEntry("Power Tool", 1L);
+        verifyNoInteractions(toolsRepository);
+    }
+
+    // ---------------------------------------------------------
+    // SEARCH
+    // ---------------------------------------------------------
+    @Test
+    void searchTools_delegatesToIndex() {
+        List<ToolDto> matches = List.of(new ToolDto(1L, "Hammer", "Hand Tool", 10L));
+        when(toolIndexer.search("ham", null, 10L, 20)).thenReturn(matches);
+
+        assertThat(toolService.searchTools("ham", null, 10L, 20)).isEqualTo(matches);
+    }
+
+    @Test
+    void searchTools_rejectsLimitAboveMax() {
+        assertThatThrownBy(() -> toolService.searchTools("ham", null, null, ToolConstants.SEARCH_MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(toolIndexer);
+    }
+
+    // ---------------------------------------------------------
+    // DELTA SYNC
+    // ---------------------------------------------------------
+    @Test
+    void getToolChanges_mergesUpsertsAndTombstonesInSequenceOrder() {
+        when(changeSequences.completed(ChangeSequences.TOOLS)).thenReturn(9L);
+        when(toolsRepository.findChangesAfter(eq(-1L), eq(-1L), eq(9L), any(Limit.class))).thenReturn(List.of(
+                new ToolChangeRow(3L, 7L, "Hammer", "Hand Tool", 10L, 0L),
+                new ToolChangeRow(8L, 2L, "Saw", "Hand Tool", 10L, 1L)));
+        when(tombstonesRepository.findChangesAfter(eq(ChangeSequences.TOOLS), eq(-1L), eq(-1L), eq(9L),
+                any(Limit.class))).thenReturn(List.of(new Tombstone(1L, "tools", 5L, 5L, LocalDateTime.now())));
+
+        ChangeSetDto<ToolDto> firstPage = toolService.getToolChanges(null, 2);
+
+        assertThat(firstPage.getUpserts()).extracting(ToolDto::getToolId).containsExactly(7L);
+        assertThat(firstPage.getDeletedIds()).containsExactly(5L);
+        assertThat(firstPage.isHasMore()).isTrue();
+
+        // The token resumes after the tombstone at (5, 5)
+        when(toolsRepository.findChangesAfter(eq(5L), eq(5L), eq(9L), any(Limit.class))).thenReturn(List.of(
+                new ToolChangeRow(8L, 2L, "Saw", "Hand Tool", 10L, 1L)));
+
+        ChangeSetDto<ToolDto> secondPage = toolService.getToolChanges(firstPage.getNextToken(), 2);
+
+        assertThat(secondPage.getUpserts()).extracting(ToolDto::getToolId).containsExactly(2L);
+        assertThat(secondPage.getDeletedIds()).isEmpty();
+        assertThat(secondPage.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getToolChanges_rejectsTokenIssuedForAnotherTable() {
+        String usersToken = ChangeTokenMapper.mapToToken(ChangeSequences.USERS, new ChangeToken(1, 1));
+
+        assertThatThrownBy(() -> toolService.getToolChanges(usersToken, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("users");
     }
 
     @Test
     void deleteTool_returnsFalseWhenNotFound() {
-        when(toolsRepository.existsById(1L)).thenReturn(false);
+        when(toolsRepository.findById(1L)).thenReturn(Optional.empty());
 
         boolean result = toolService.deleteTool(1L);
 
         assertThat(result).isFalse();
-        verify(toolsRepository, never()).deleteById(any());
+        verify(toolsRepository, never()).delete(any());
+        verifyNoInteractions(toolCounts);
     }
 }
@@ -1,22 +1,42 @@
 package com.microservices.tool_app.service_impl;
 
+import com.microservices.tool_app.constants.CacheConstants;
+import com.microservices.tool_app.dto.MultiGetResponseDto;
+import com.microservices.tool_app.dto.ToolDto;
 import com.microservices.tool_app.dto.UserDto;
+import com.microservices.tool_app.dto.UserSummaryDto;
 import com.microservices.tool_app.entity.User;
+import com.microservices.tool_app.exceptions.PreconditionFailedException;
+import com.microservices.tool_app.repository.ChangeSequences;
+import com.microservices.tool_app.repository.DeletedToolRow;
+import com.microservices.tool_app.repository.TombstonesRepository;
+import com.microservices.tool_app.repository.ToolsRepository;
+import com.microservices.tool_app.repository.UserToolRow;
 import com.microservices.tool_app.repository.UsersRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +45,36 @@ class UserServiceImplTest {
     @Mock
     private UsersRepository usersRepository;
 
+    @Mock
+    private ToolsRepository toolsRepository;
+
+    @Mock
+    private ChangeSequences changeSequences;
+
+    @Mock
+    private TombstonesRepository tombstonesRepository;
+
+    @Mock
+    private ToolIndexer toolIndexer;
+
+    @Mock
+    private ReadModel readModel;
+
+    @Mock
+    private ToolCounts toolCounts;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Spy
+    private CacheInvalidations cacheInvalidations = new CacheInvalidations();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -70,8 +120,8 @@ class UserServiceImplTest {
     // GET ALL USERS
     // ---------------------------------------------------------
     @Test
-    void getAllUsers_returnsMappedDtos() {
-        when(usersRepository.findAll()).thenReturn(List.of(user));
+    void getAllUsers_returnsProjectedDtos() {
+        when(usersRepository.findAllDtos()).thenReturn(List.of(userDto));
 
         List<UserDto> result = userService.getAllUsers();
 
@@ -79,13 +129,24 @@ class UserServiceImplTest {
         assertThat(result.get(0).getName()).isEqualTo("John Doe");
     }
 
+    @Test
+    void streamAllUsers_passesEveryRowToConsumer() {
+        when(usersRepository.streamAllDtos()).thenReturn(Stream.of(userDto));
+
+        List<UserDto> streamed = new ArrayList<>();
+        userService.streamAllUsers(streamed::add);
+
+        assertThat(streamed).hasSize(1);
+        assertThat(streamed.get(0).getEmail()).isEqualTo("john@example.com");
+    }
+
     // ---------------------------------------------------------
     // GET PAGINATED USERS
     // ---------------------------------------------------------
     @Test
-    void getAllUsersPaginated_returnsMappedPage() {
-        Page<User> page = new PageImpl<>(List.of(user));
-        when(usersRepository.findAll(any(Pageable.class))).thenReturn(page);
+    void getAllUsersPaginated_returnsProjectedPage() {
+        Page<UserDto> page = new PageImpl<>(List.of(userDto));
+        when(usersRepository.findAllDtos(any(Pageable.class))).thenReturn(page);
 
         Page<UserDto> result = userService.getAllUsers(0, 10, "userId");
 
@@ -98,7 +159,7 @@ class UserServiceImplTest {
     // ---------------------------------------------------------
     @Test
     void getUserById_returnsDtoWhenFound() {
-        when(usersRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(usersRepository.findDtoById(1L)).thenReturn(Optional.of(userDto));
 
         UserDto result = userService.getUserById(1L);
 
@@ -106,9 +167,35 @@ class UserServiceImplTest {
         assertThat(result.getName()).isEqualTo("John Doe");
     }
 
+    @Test
+    void getUserById_keepsItsPutWhenNoWriteCommittedDuringTheLoad() {
+        when(cacheManager.getCache(CacheConstants.USERS)).thenReturn(cache);
+        when(usersRepository.findDtoById(1L)).thenReturn(Optional.of(userDto));
+
+        userService.getUserById(1L);
+
+        verify(cache).put(1L, userDto);
+        verify(cache, never()).evict(any());
+    }
+
+    @Test
+    void getUserById_dropsItsPutWhenAWriteCommittedDuringTheLoad() {
+        when(cacheManager.getCache(CacheConstants.USERS)).thenReturn(cache);
+        when(usersRepository.findDtoById(1L)).thenAnswer(invocation -> {
+            cacheInvalidations.evictAfterCommit(CacheConstants.USERS, cache, 1L);
+            return Optional.of(userDto);
+        });
+
+        userService.getUserById(1L);
+
+        InOrder order = inOrder(cache);
+        order.verify(cache).put(1L, userDto);
+        order.verify(cache).evict(1L);
+    }
+
     @Test
     void getUserById_returnsNullWhenNotFound() {
-        when(usersRepository.findById(1L)).thenReturn(Optional.empty());
+        when(usersRepository.findDtoById(1L)).thenReturn(Optional.empty());
 
         UserDto result = userService.getUserById(1L);
 
@@ -118,9 +205,72 @@ class UserServiceImplTest {
     // ---------------------------------------------------------
     // GET USER BY EMAIL
     // ---------------------------------------------------------
+    @Test
+    void getUsersByIds_keepsRequestOrderAndReportsMissingIds() {
+        UserDto second = new UserDto(2L, "Jane Doe", "jane@example.com", LocalDate.of(1991, 2, 2));
+        when(cacheManager.getCache(CacheConstants.USERS)).thenReturn(cache);
+        when(usersRepository.findDtosByIdIn(List.of(2L, 99L, 1L))).thenReturn(List.of(userDto, second));
+
+        MultiGetResponseDto<UserDto> result = userService.getUsersByIds(List.of(2L, 99L, 1L));
+
+        assertThat(result.getItems()).containsExactly(second, userDto);
+        assertThat(result.getMissingIds()).containsExactly(99L);
+    }
+
+    // ---------------------------------------------------------
+    // USER SUMMARIES
+    // ---------------------------------------------------------
+    @Test
+    void getUserSummary_buildsToolsAndTypeCountsFromJoinedRows() {
+        LocalDate dob = LocalDate.of(1990, 1, 1);
+        when(usersRepository.findWithToolsById(1L)).thenReturn(List.of(
+                new UserToolRow(1L, "John Doe", "john@example.com", dob, 5L, "Hammer", "Hand Tool"),
+                new UserToolRow(1L, "John Doe", "john@example.com", dob, 6L, "Drill", "Power Tool"),
+                new UserToolRow(1L, "John Doe", "john@example.com", dob, 7L, "Saw", "Hand Tool")));
+
+        UserSummaryDto result = userService.getUserSummary(1L);
+
+        assertThat(result.getEmail()).isEqualTo("john@example.com");
+        assertThat(result.getTools()).extracting(ToolDto::getToolId).containsExactly(5L, 6L, 7L);
+        assertThat(result.getToolTypeCounts()).containsExactly(entry("Hand Tool", 2L), entry("Power Tool", 1L));
+        verifyNoInteractions(toolsRepository);
+    }
+
+    @Test
+    void getUserSummary_userWithoutTools_hasEmptyToolsAndCounts() {
+        when(usersRepository.findWithToolsById(1L)).thenReturn(List.of(
+                new UserToolRow(1L, "John Doe", "john@example.com", LocalDate.of(1990, 1, 1), null, null, null)));
+
+        UserSummaryDto result = userService.getUserSummary(1L);
+
+        assertThat(result.getTools()).isEmpty();
+        assertThat(result.getToolTypeCounts()).isEmpty();
+    }
+
+    @Test
+    void getUserSummary_returnsNullWhenUserMissing() {
+        when(usersRepository.findWithToolsById(99L)).thenReturn(List.of());
+
+        assertThat(userService.getUserSummary(99L)).isNull();
+    }
+
+    @Test
+    void getUserSummaries_loadsToolsForWholePageInOneQuery() {
+        UserDto second = new UserDto(2L, "Jane Doe", "jane@example.com", LocalDate.of(1991, 2, 2));
+        when(usersRepository.findAllDtos(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(userDto, second)));
+        when(toolsRepository.findDtosByUserIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new ToolDto(5L, "Hammer", "Hand Tool", 1L)));
+
+        Page<UserSummaryDto> result = userService.getUserSummaries(0, 10, "userId");
+
+        assertThat(result.getContent().get(0).getToolTypeCounts()).containsExactly(entry("Hand Tool", 1L));
+        assertThat(result.getContent().get(1).getTools()).isEmpty();
+        verify(toolsRepository, times(1)).findDtosByUserIdIn(anyCollection());
+    }
+
     @Test
     void getUserByEmail_returnsDtoWhenFound() {
-        when(usersRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(usersRepository.findDtoByEmail("john@example.com")).thenReturn(Optional.of(userDto));
 
         UserDto result = userService.getUserByEmail("john@example.com");
 
@@ -128,9 +278,33 @@ class UserServiceImplTest {
         assertThat(result.getEmail()).isEqualTo("john@example.com");
     }
 
+    @Test
+    void getUserByEmail_servesCachedUserWithoutQuerying() {
+        when(cacheManager.getCache(CacheConstants.USERS_BY_EMAIL)).thenReturn(cache);
+        when(cache.get("john@example.com", UserDto.class)).thenReturn(userDto);
+
+        assertThat(userService.getUserByEmail("john@example.com")).isSameAs(userDto);
+        verifyNoInteractions(usersRepository);
+    }
+
+    @Test
+    void getUserByEmail_dropsItsPutWhenAWriteCommittedDuringTheLoad() {
+        when(cacheManager.getCache(CacheConstants.USERS_BY_EMAIL)).thenReturn(cache);
+        when(usersRepository.findDtoByEmail("john@example.com")).thenAnswer(invocation -> {
+            cacheInvalidations.evictAfterCommit(CacheConstants.USERS_BY_EMAIL, cache, "john@example.com");
+            return Optional.of(userDto);
+        });
+
+        userService.getUserByEmail("john@example.com");
+
+        InOrder order = inOrder(cache);
+        order.verify(cache).put("john@example.com", userDto);
+        order.verify(cache).evict("john@example.com");
+    }
+
     @Test
     void getUserByEmail_returnsNullWhenNotFound() {
-        when(usersRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+        when(usersRepository.findDtoByEmail("missing@example.com")).thenReturn(Optional.empty());
 
         UserDto result = userService.getUserByEmail("missing@example.com");
 
@@ -141,9 +315,9 @@ class UserServiceImplTest {
     // GET USERS BY DOB RANGE
     // ---------------------------------------------------------
     @Test
-    void getUsersByDOBRange_returnsMappedList() {
-        when(usersRepository.findByDateOfBirthBetween(any(), any()))
-                .thenReturn(List.of(user));
+    void getUsersByDOBRange_returnsProjectedList() {
+        when(usersRepository.findDtosByDateOfBirthBetween(any(), any()))
+                .thenReturn(List.of(userDto));
 
         List<UserDto> result = userService.getUsersByDOBRange(
                 LocalDate.of(1980, 1, 1),
@@ -161,43 +335,112 @@ class UserServiceImplTest {
     void updateUser_returnsTrueWhenUpdated() {
         when(usersRepository.findById(1L)).thenReturn(Optional.of(user));
 
-        boolean result = userService.updateUser(1L, userDto);
+        boolean result = userService.updateUser(1L, userDto, null);
 
         assertThat(result).isTrue();
         verify(usersRepository).save(any(User.class));
     }
 
+    @Test
+    void updateUser_evictsUserAndPreviousEmailFromCache() {
+        Cache usersCache = mock(Cache.class);
+        when(usersRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(cacheManager.getCache(CacheConstants.USERS)).thenReturn(usersCache);
+        when(cacheManager.getCache(CacheConstants.USERS_BY_EMAIL)).thenReturn(cache);
+
+        userDto.setEmail("johnny@example.com");
+        userService.updateUser(1L, userDto, null);
+
+        verify(usersCache).evict(1L);
+        verify(cache).evict("john@example.com");
+    }
+
     @Test
     void updateUser_returnsFalseWhenNotFound() {
         when(usersRepository.findById(1L)).thenReturn(Optional.empty());
 
-        boolean result = userService.updateUser(1L, userDto);
+        boolean result = userService.updateUser(1L, userDto, null);
 
         assertThat(result).isFalse();
         verify(usersRepository, never()).save(any());
     }
 
+    @Test
+    void updateUser_staleExpectedVersion_throwsWithoutSaving() {
+        user.setVersion(2L);
+        when(usersRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> userService.updateUser(1L, userDto, 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(usersRepository, never()).save(any());
+    }
+
     // ---------------------------------------------------------
     // DELETE USER
     // ---------------------------------------------------------
     @Test
-    void deleteUser_returnsTrueWhenDeleted() {
-        when(usersRepository.existsById(1L)).thenReturn(true);
+    void deleteUser_removesToolsThenUserInBulk() {
+        when(usersRepository.findEmailById(1L)).thenReturn(Optional.of("john@example.com"));
+        when(toolsRepository.deleteByUserIdReturning(1L)).thenReturn(List.of());
 
         boolean result = userService.deleteUser(1L);
 
         assertThat(result).isTrue();
-        verify(usersRepository).deleteById(1L);
+        InOrder inOrder = inOrder(tombstonesRepository, toolsRepository, usersRepository);
+        inOrder.verify(tombstonesRepository).insert(eq(ChangeSequences.USERS), eq(1L), anyLong());
+        inOrder.verify(toolsRepository).deleteByUserIdReturning(1L);
+        inOrder.verify(usersRepository).deleteByIdInBulk(1L);
+        verify(usersRepository, never()).findById(any());
+        verify(tombstonesRepository, never()).insertAll(any(), any(), anyLong());
+    }
+
+    @Test
+    void deleteUser_tombstonesCountsAndEvictsExactlyTheToolsItDeleted() {
+        Cache usersCache = mock(Cache.class);
+        Cache toolsCache = mock(Cache.class);
+        when(usersRepository.findEmailById(1L)).thenReturn(Optional.of("john@example.com"));
+        when(toolsRepository.deleteByUserIdReturning(1L)).thenReturn(List.of(
+                new DeletedToolRow(5L, "Hand Tool"), new DeletedToolRow(6L, "Hand Tool")));
+        when(changeSequences.next(ChangeSequences.USERS)).thenReturn(7L);
+        when(changeSequences.next(ChangeSequences.TOOLS)).thenReturn(8L);
+        when(cacheManager.getCache(CacheConstants.USERS)).thenReturn(usersCache);
+        when(cacheManager.getCache(CacheConstants.USERS_BY_EMAIL)).thenReturn(cache);
+        when(cacheManager.getCache(CacheConstants.TOOLS)).thenReturn(toolsCache);
+
+        userService.deleteUser(1L);
+
+        verify(usersCache).evict(1L);
+        verify(cache).evict("john@example.com");
+        verify(toolsCache).evict(5L);
+        verify(toolsCache).evict(6L);
+        verify(tombstonesRepository).insertAll(eq(ChangeSequences.TOOLS), aryEq(new Long[]{5L, 6L}), eq(8L));
+        verify(readModel).deleteUserAfterCommit(eq(1L), aryEq(new long[]{5L, 6L}));
+        verify(toolIndexer).publishAfterCommit();
+        verify(toolCounts).removeUserAfterCommit(8L, 1L, Map.of("Hand Tool", 2L));
+        verify(toolIndexer, never()).toolIdsOf(anyLong());
+    }
+
+    @Test
+    void withToolCount_copiesTheUser() {
+        UserDto cached = new UserDto(1L, "John", "john@example.com", LocalDate.of(1990, 1, 1), 2L);
+        when(toolCounts.ofUser(1L)).thenReturn(4L);
+
+        UserDto counted = userService.withToolCount(cached);
+
+        assertThat(counted.getToolCount()).isEqualTo(4L);
+        assertThat(counted.getVersion()).isEqualTo(2L);
+        assertThat(cached.getToolCount()).isNull();
     }
 
     @Test
     void deleteUser_returnsFalseWhenNotFound() {
-        when(usersRepository.existsById(1L)).thenReturn(false);
+        when(usersRepository.findEmailById(1L)).thenReturn(Optional.empty());
 
         boolean result = userService.deleteUser(1L);
 
         assertThat(result).isFalse();
-        verify(usersRepository, never()).deleteById(any());
+        verify(toolsRepository, never()).deleteByUserIdReturning(any());
+        verify(usersRepository, never()).deleteByIdInBulk(any());
     }
 
     // ---------------------------------------------------------
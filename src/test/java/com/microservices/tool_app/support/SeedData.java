@@ -0,0 +1,59 @@
+package com.microservices.tool_app.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts users 1..{@code users}, each owning {@code toolsPerUser} tools with consecutive ids
+ * starting at 1, alternately Hand Tool and Power Tool, straight through JDBC. The rows are
+ * stamped with a fresh change sequence per table, as the dataset generator does, so delta sync
+ * and the read model see them. Callers then run {@code ToolIndexer.catchUpNow()} so the
+ * in-memory tool indexes include the rows, and whatever else the test reads from memory:
+ * {@code ToolCounts.reconcile()}, {@code ReadModel.catchUp()}.
+ */
+public final class SeedData {
+
+    // Rows per JDBC batch, so a million-row seed is never held in memory at once
+    private static final int BATCH_SIZE = 10_000;
+
+    private SeedData() {}
+
+    public static void insert(JdbcTemplate jdbcTemplate, int users, int toolsPerUser) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long userId = 1; userId <= users; userId++) {
+            batch.add(new Object[]{userId, "Load User " + userId, "load" + userId + "@example.com",
+                    Date.valueOf(LocalDate.of(1990, 1, 1))});
+            if (batch.size() == BATCH_SIZE || userId == users) {
+                jdbcTemplate.batchUpdate("insert into users (user_id, name, email, date_of_birth) values (?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        long tools = (long) users * toolsPerUser;
+        for (long toolId = 1; toolId <= tools; toolId++) {
+            long t = (toolId - 1) % toolsPerUser;
+            batch.add(new Object[]{toolId, (toolId - 1) / toolsPerUser + 1, "Tool " + toolId,
+                    t % 2 == 0 ? "Hand Tool" : "Power Tool", Timestamp.valueOf(createdAt.plusMinutes(toolId))});
+            if (batch.size() == BATCH_SIZE || toolId == tools) {
+                jdbcTemplate.batchUpdate("insert into tools (tool_id, user_id, tool_name, tool_type_id, created_at) "
+                        + "values (?, ?, ?, (select tool_type_id from tool_types where name = ?), ?)", batch);
+                batch.clear();
+            }
+        }
+        stampChangeSeq(jdbcTemplate, "users");
+        stampChangeSeq(jdbcTemplate, "tools");
+    }
+
+    private static void stampChangeSeq(JdbcTemplate jdbcTemplate, String table) {
+        Long changeSeq = jdbcTemplate.queryForObject("select next value for " + table + "_change_seq", Long.class);
+        jdbcTemplate.update("update " + table + " set change_seq = ? where change_seq = 0", changeSeq);
+    }
+}